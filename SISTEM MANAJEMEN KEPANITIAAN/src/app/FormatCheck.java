@@ -0,0 +1,137 @@
+package app;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDate;
+import java.util.*;
+import model.*;
+import model.DataStorage.StorageFormat;
+
+/**
+ * Pemeriksaan migrasi file format lama.
+ *
+ * <pre>
+ * java app.FormatCheck
+ * </pre>
+ *
+ * <ol>
+ *     <li>Data lama: file <code>accounts.txt</code>, <code>anggota.txt</code>, dan
+ *         <code>divisi.txt</code> dengan baris tanpa escape dimuat dengan isi yang
+ *         sama, lalu ditulis ulang persis seperti aslinya.</li>
+ *     <li>Riwayat lama: <code>riwayat_admin.txt</code> dikonversi ke biner oleh
+ *         {@link RiwayatTool} (dijalankan di folder sementara sebagai proses
+ *         terpisah, karena riwayat selalu berada di <code>data/</code>), lalu
+ *         diekspor lagi ke teks dan dibandingkan dengan baris aslinya.</li>
+ * </ol>
+ *
+ * <p>Semua file dibuat di folder sementara; folder <code>data/</code> milik
+ * aplikasi tidak disentuh. Keluar dengan kode 1 bila ada pemeriksaan yang gagal.</p>
+ */
+public class FormatCheck {
+    private static int failures;
+
+    public static void main(String[] args) throws Exception {
+        Path dir = Files.createTempDirectory("kepanitiaan-format");
+        try {
+            checkLegacyData(dir);
+            checkLegacyRiwayat(dir);
+        } finally {
+            deleteTree(dir);
+        }
+        if (failures > 0) {
+            System.out.println(failures + " pemeriksaan gagal.");
+            System.exit(1);
+        }
+        System.out.println("Semua pemeriksaan format OK.");
+    }
+
+    private static void checkLegacyData(Path dir) throws IOException {
+        List<String> accounts = Arrays.asList("ADMIN,admin,admin123,Admin Utama", "MEMBER,user1,user123,User Contoh,U1");
+        List<String> anggota = Arrays.asList("U1,User Contoh,Acara,08123456789", "U2,Budi Santoso,Konsumsi,0812");
+        List<String> divisi = Arrays.asList("DIV|Acara", "TASK|T1|Susun Rundown|Buat rundown acara||TODO",
+                "TASK|T2|Cari MC|Hubungi 3 kandidat|2025-03-01|IN_PROGRESS", "DIV|Konsumsi", "TASK|T3|Pesan katering|Untuk 200 orang|2025-03-10|DONE");
+        Files.write(dir.resolve("accounts.txt"), accounts, StandardCharsets.UTF_8);
+        Files.write(dir.resolve("anggota.txt"), anggota, StandardCharsets.UTF_8);
+        Files.write(dir.resolve("divisi.txt"), divisi, StandardCharsets.UTF_8);
+
+        DataStorage ds = DataStorage.loadExisting(dir, StorageFormat.TEXT);
+        Account member = ds.findAccountByUsername("user1");
+        check("akun lama", ds.getAccounts().size() == 2 && member instanceof Member
+                && "User Contoh".equals(member.getName()) && "U1".equals(((Member) member).getIdAnggota()));
+        Anggota budi = ds.findAnggotaById("U2");
+        check("anggota lama", ds.getAnggotaList().size() == 2 && budi != null && "Budi Santoso".equals(budi.getNama())
+                && "Konsumsi".equals(budi.getDivisi()) && "0812".equals(budi.getNoHp()));
+        Tugas t1 = ds.findTugasById("T1"), t2 = ds.findTugasById("T2");
+        check("tugas lama", ds.getDivisiList().size() == 2 && t1 != null && t1.getDeadline() == null
+                && "Buat rundown acara".equals(t1.getDeskripsi()) && t2 != null
+                && LocalDate.of(2025, 3, 1).equals(t2.getDeadline()) && t2.getStatus() == Tugas.Status.IN_PROGRESS
+                && "Konsumsi".equals(ds.findDivisiOfTugas("T3").getNama()));
+
+        check("ekspor data lama", ds.exportText());
+        check("accounts.txt tidak berubah", accounts.equals(Files.readAllLines(dir.resolve("accounts.txt"), StandardCharsets.UTF_8)));
+        check("anggota.txt tidak berubah", anggota.equals(Files.readAllLines(dir.resolve("anggota.txt"), StandardCharsets.UTF_8)));
+        check("divisi.txt tidak berubah", divisi.equals(Files.readAllLines(dir.resolve("divisi.txt"), StandardCharsets.UTF_8)));
+        System.out.println("Data lama: accounts/anggota/divisi tanpa escape diperiksa.");
+    }
+
+    private static void checkLegacyRiwayat(Path dir) throws IOException, InterruptedException {
+        Path work = Files.createDirectory(dir.resolve("riwayat"));
+        Path data = Files.createDirectory(work.resolve("data"));
+        List<String> legacy = Arrays.asList(
+                "2024-05-01 10:00:00|admin|ADD_ANGGOTA,U2,Budi Santoso",
+                "2024-05-01 10:05:00|admin|ADD_DIVISI,Konsumsi",
+                "2024-05-02 08:30:00|admin|LOGIN",
+                "2024-05-02 09:00:00|admin|catatan bebas tanpa jenis");
+        Files.write(data.resolve("riwayat_admin.txt"), legacy, StandardCharsets.UTF_8);
+
+        check("RiwayatTool convert", run(work, "convert") == 0);
+        check("riwayat_admin.bin dibuat", Files.exists(data.resolve("riwayat_admin.bin")));
+        check("riwayat_admin.txt.bak disimpan", Files.exists(data.resolve("riwayat_admin.txt.bak"))
+                && !Files.exists(data.resolve("riwayat_admin.txt")));
+        check("RiwayatTool export-admin", run(work, "export-admin", "hasil.txt") == 0);
+        List<String> out = Files.exists(work.resolve("hasil.txt"))
+                ? Files.readAllLines(work.resolve("hasil.txt"), StandardCharsets.UTF_8) : Collections.emptyList();
+        check("isi riwayat sama dengan file lama", legacy.equals(out));
+        if (!legacy.equals(out)) for (String l : out) System.out.println("  hasil: " + l);
+        System.out.println("Riwayat lama: " + legacy.size() + " baris dikonversi dan dibandingkan.");
+    }
+
+    /**
+     * Menjalankan {@link RiwayatTool} di folder kerja lain dengan classpath yang sama.
+     */
+    private static int run(Path workDir, String... args) throws IOException, InterruptedException {
+        List<String> cmd = new ArrayList<>(Arrays.asList(
+                Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", absoluteClasspath(), RiwayatTool.class.getName()));
+        cmd.addAll(Arrays.asList(args));
+        Process p = new ProcessBuilder(cmd).directory(workDir.toFile()).inheritIO().start();
+        return p.waitFor();
+    }
+
+    private static String absoluteClasspath() {
+        StringJoiner cp = new StringJoiner(File.pathSeparator);
+        for (String e : System.getProperty("java.class.path").split(File.pathSeparator))
+            cp.add(Paths.get(e).toAbsolutePath().toString());
+        return cp.toString();
+    }
+
+    private static void check(String name, boolean ok) {
+        if (ok) return;
+        failures++;
+        System.out.println("GAGAL: " + name);
+    }
+
+    private static void deleteTree(Path root) throws IOException {
+        List<Path> all = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(root)) {
+            for (Path f : files) all.add(f);
+        }
+        for (Path f : all) {
+            if (Files.isDirectory(f)) deleteTree(f);
+            else Files.delete(f);
+        }
+        Files.delete(root);
+    }
+}
@@ -0,0 +1,119 @@
+package app;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDate;
+import java.util.*;
+import model.Anggota;
+import model.DataStorage;
+import model.DataStorage.StorageFormat;
+import model.Divisi;
+import model.Tugas;
+
+/**
+ * Benchmark pemuatan file teks: loader paralel (memory-mapped + ForkJoin)
+ * dibandingkan dengan BufferedReader biasa.
+ *
+ * <pre>
+ * java app.LoadBenchmark [jumlahTugas] [jumlahPutaran]
+ * </pre>
+ *
+ * <p>Data dibuat di folder sementara (bukan <code>data/</code>): satu akun,
+ * anggota sebanyak sepersepuluh jumlah tugas, dan <code>divisi.txt</code>
+ * berisi 100 divisi dengan tugas dibagi rata. Setiap putaran memuat folder
+ * itu lewat {@link DataStorage#loadExisting(Path, StorageFormat)} dua kali,
+ * sekali dengan loader paralel dan sekali tanpa, lalu memastikan isi hasil
+ * keduanya sama. Waktu mencakup seluruh loadAll (parse dan indeks).</p>
+ */
+public class LoadBenchmark {
+    public static void main(String[] args) throws IOException {
+        int tugas = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        Path dir = Files.createTempDirectory("kepanitiaan-load");
+        try {
+            generate(dir, tugas);
+            System.out.printf("divisi.txt %,d byte, anggota.txt %,d byte, %,d tugas%n",
+                    Files.size(dir.resolve("divisi.txt")), Files.size(dir.resolve("anggota.txt")), tugas);
+
+            long[] seq = new long[rounds], par = new long[rounds];
+            String expected = null;
+            for (int r = -1; r < rounds; r++) { // putaran -1 = pemanasan JIT
+                for (boolean parallel : new boolean[]{false, true}) {
+                    System.setProperty("kepanitiaan.parallelLoad", parallel ? "0" : Long.toString(Long.MAX_VALUE));
+                    System.gc();
+                    long t0 = System.nanoTime();
+                    DataStorage ds = DataStorage.loadExisting(dir, StorageFormat.TEXT);
+                    long ns = System.nanoTime() - t0;
+                    String digest = digest(ds);
+                    if (expected == null) expected = digest;
+                    else if (!expected.equals(digest)) throw new IllegalStateException("hasil loader berbeda (" + (parallel ? "paralel" : "sekuensial") + ")");
+                    if (r >= 0) (parallel ? par : seq)[r] = ns;
+                }
+            }
+            Arrays.sort(seq);
+            Arrays.sort(par);
+            long s = seq[rounds / 2], p = par[rounds / 2];
+            System.out.printf("BufferedReader : %,8d ms (median %d putaran)%n", s / 1_000_000, rounds);
+            System.out.printf("Paralel (mmap) : %,8d ms (median %d putaran, %d core)%n", p / 1_000_000, rounds,
+                    Runtime.getRuntime().availableProcessors());
+            System.out.printf("Percepatan     : %.2fx%n", (double) s / p);
+        } finally {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+                for (Path f : files) Files.deleteIfExists(f);
+            }
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    /**
+     * Menulis accounts.txt, anggota.txt, dan divisi.txt ke folder.
+     *
+     * @param dir folder tujuan
+     * @param tugas jumlah tugas
+     * @throws IOException jika gagal menulis
+     */
+    private static void generate(Path dir, int tugas) throws IOException {
+        int divisi = 100;
+        Random rnd = new Random(42);
+        Files.write(dir.resolve("accounts.txt"), Collections.singletonList("ADMIN,admin,admin123,Admin Utama"), StandardCharsets.UTF_8);
+        try (BufferedWriter w = Files.newBufferedWriter(dir.resolve("anggota.txt"), StandardCharsets.UTF_8)) {
+            for (int i = 0; i < Math.max(1, tugas / 10); i++) {
+                w.write(new Anggota("A" + i, "Anggota " + i, "Divisi " + (i % divisi), "08" + (100000000 + i)).toString());
+                w.newLine();
+            }
+        }
+        Tugas.Status[] st = Tugas.Status.values();
+        LocalDate base = LocalDate.of(2025, 1, 1);
+        try (BufferedWriter w = Files.newBufferedWriter(dir.resolve("divisi.txt"), StandardCharsets.UTF_8)) {
+            for (int d = 0; d < divisi; d++) {
+                w.write("DIV|Divisi " + d);
+                w.newLine();
+                for (int i = d; i < tugas; i += divisi) {
+                    Tugas t = new Tugas("T" + i, "Tugas " + i + " persiapan acara",
+                            "Deskripsi tugas nomor " + i + ", koordinasi | rapat");
+                    if (rnd.nextBoolean()) t.setDeadline(base.plusDays(rnd.nextInt(365)));
+                    t.setStatus(st[rnd.nextInt(st.length)]);
+                    w.write("TASK|" + t);
+                    w.newLine();
+                }
+            }
+        }
+    }
+
+    /**
+     * @param ds data yang sudah dimuat
+     * @return ringkasan isi data untuk membandingkan hasil kedua loader
+     */
+    private static String digest(DataStorage ds) {
+        long h = 17;
+        int count = 0;
+        for (Anggota a : ds.getAnggotaList()) h = h * 31 + a.toString().hashCode();
+        for (Divisi d : ds.getDivisiList()) {
+            h = h * 31 + d.getNama().hashCode();
+            for (Tugas t : d.getTugasList()) { h = h * 31 + t.toString().hashCode(); count++; }
+        }
+        return ds.getAnggotaList().size() + "/" + ds.getDivisiList().size() + "/" + count + "/" + Long.toHexString(h);
+    }
+}
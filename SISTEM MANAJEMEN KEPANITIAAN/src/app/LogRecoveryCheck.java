@@ -0,0 +1,183 @@
+package app;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import model.AsyncLogAppender;
+import model.RiwayatAdmin;
+import model.RiwayatPager;
+
+/**
+ * Pemeriksaan pemulihan file riwayat biner saat dibuka ulang.
+ *
+ * <pre>
+ * java app.LogRecoveryCheck
+ * </pre>
+ *
+ * <ol>
+ *     <li>Record rusak di tengah: isi satu record di tengah
+ *         <code>riwayat_admin.bin</code> dirusak dan ekor file diberi potongan
+ *         record yang belum selesai. Setelah dibuka ulang, hanya potongan ekor
+ *         yang dibuang; record rusak dilewati dan semua record sesudahnya tetap
+ *         terbaca, baik lewat {@link RiwayatAdmin#getAll()} maupun lewat pager
+ *         (dibaca dari belakang).</li>
+ *     <li>Bingkai rusak di tengah: penanda panjang penutup sebuah record
+ *         dirusak. File tidak boleh dipotong saat dibuka ulang.</li>
+ * </ol>
+ *
+ * <p>Riwayat selalu berada di <code>data/</code>, jadi setiap langkah dijalankan
+ * sebagai proses terpisah di folder sementara; folder <code>data/</code> milik
+ * aplikasi tidak disentuh. Keluar dengan kode 1 bila ada pemeriksaan yang gagal.</p>
+ */
+public class LogRecoveryCheck {
+    private static final int EVENTS = 30, CORRUPT = 10;
+    private static int failures;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0) { step(args[0]); return; }
+        Path dir = Files.createTempDirectory("kepanitiaan-log");
+        try {
+            checkCorruptRecord(Files.createDirectory(dir.resolve("record")));
+            checkCorruptFrame(Files.createDirectory(dir.resolve("frame")));
+        } finally {
+            deleteTree(dir);
+        }
+        if (failures > 0) {
+            System.out.println(failures + " pemeriksaan gagal.");
+            System.exit(1);
+        }
+        System.out.println("Semua pemeriksaan pemulihan log OK.");
+    }
+
+    private static void checkCorruptRecord(Path work) throws IOException, InterruptedException {
+        check("menulis riwayat", run(work, "write") == 0);
+        Path log = work.resolve("data").resolve("riwayat_admin.bin");
+        List<long[]> frames = frames(log);
+        check("jumlah record awal", frames.size() == EVENTS);
+        if (frames.size() != EVENTS) return;
+        long size = Files.size(log);
+
+        // panjang nama pelaku dibuat tidak wajar (varint 2^28-1) sehingga isi record tidak bisa dibaca
+        byte[] bytes = Files.readAllBytes(log);
+        int actorLen = (int) frames.get(CORRUPT)[0] + 4 + 8 + 1;
+        bytes[actorLen] = (byte) 0xFF; bytes[actorLen + 1] = (byte) 0xFF; bytes[actorLen + 2] = (byte) 0xFF; bytes[actorLen + 3] = 0x7F;
+        // ekor: potongan record pertama, seolah aplikasi berhenti saat menulis
+        byte[] torn = Arrays.copyOfRange(bytes, 0, 6);
+        Files.write(log, bytes);
+        Files.write(log, torn, StandardOpenOption.APPEND);
+
+        check("membaca riwayat", run(work, "read") == 0);
+        check("hanya ekor terpotong yang dibuang", Files.size(log) == size);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < EVENTS; i++) if (i != CORRUPT) expected.add("E" + i);
+        List<String> all = eventsOf(work.resolve("all.txt")), pager = eventsOf(work.resolve("pager.txt"));
+        Collections.reverse(pager);
+        check("getAll melewati record rusak: " + all, expected.equals(all));
+        check("pager melewati record rusak: " + pager, expected.equals(pager));
+        System.out.println("Record rusak di tengah: " + all.size() + " dari " + EVENTS + " record tetap terbaca.");
+    }
+
+    private static void checkCorruptFrame(Path work) throws IOException, InterruptedException {
+        check("menulis riwayat", run(work, "write") == 0);
+        Path log = work.resolve("data").resolve("riwayat_admin.bin");
+        List<long[]> frames = frames(log);
+        if (frames.size() != EVENTS) { check("jumlah record awal", false); return; }
+        byte[] bytes = Files.readAllBytes(log);
+        long[] f = frames.get(CORRUPT);
+        int trailer = (int) (f[0] + f[1] - 4);
+        bytes[trailer] ^= 0x55;
+        Files.write(log, bytes);
+
+        check("membaca riwayat", run(work, "read") == 0);
+        check("file dengan bingkai rusak tidak dipotong", Arrays.equals(bytes, Files.readAllBytes(log)));
+        System.out.println("Bingkai rusak di tengah: " + bytes.length + " byte diperiksa.");
+    }
+
+    /**
+     * Langkah di proses anak (folder kerja = folder sementara).
+     *
+     * @param name <code>write</code> atau <code>read</code>
+     */
+    private static void step(String name) throws IOException {
+        RiwayatAdmin r = new RiwayatAdmin();
+        if (name.equals("write")) {
+            for (int i = 0; i < EVENTS; i++) r.add("admin", "E" + i);
+            r.flush();
+        } else {
+            Files.write(Paths.get("all.txt"), r.getAll(), StandardCharsets.UTF_8);
+            try (RiwayatPager p = r.openPager(EVENTS * 2)) {
+                Files.write(Paths.get("pager.txt"), p.latest(), StandardCharsets.UTF_8);
+            }
+        }
+        AsyncLogAppender.closeAll();
+    }
+
+    /**
+     * @param log file riwayat biner
+     * @return posisi dan panjang setiap record utuh (int len | payload | int len)
+     */
+    private static List<long[]> frames(Path log) throws IOException {
+        ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(log));
+        List<long[]> out = new ArrayList<>();
+        while (buf.remaining() >= 8) {
+            int start = buf.position(), len = buf.getInt();
+            if (len < 0 || len + 4 > buf.remaining()) break;
+            buf.position(buf.position() + len);
+            if (buf.getInt() != len) break;
+            out.add(new long[]{start, len + 8});
+        }
+        return out;
+    }
+
+    /**
+     * @param file hasil langkah <code>read</code>
+     * @return teks event setiap baris (bagian setelah pelaku)
+     */
+    private static List<String> eventsOf(Path file) throws IOException {
+        List<String> out = new ArrayList<>();
+        if (!Files.exists(file)) return out;
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            String[] p = line.split("\\|", 3);
+            out.add(p.length == 3 ? p[2] : line);
+        }
+        return out;
+    }
+
+    /**
+     * Menjalankan kelas ini dengan satu langkah di folder kerja lain dengan classpath yang sama.
+     */
+    private static int run(Path workDir, String step) throws IOException, InterruptedException {
+        List<String> cmd = Arrays.asList(Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", absoluteClasspath(), LogRecoveryCheck.class.getName(), step);
+        Process p = new ProcessBuilder(cmd).directory(workDir.toFile()).inheritIO().start();
+        return p.waitFor();
+    }
+
+    private static String absoluteClasspath() {
+        StringJoiner cp = new StringJoiner(File.pathSeparator);
+        for (String e : System.getProperty("java.class.path").split(File.pathSeparator))
+            cp.add(Paths.get(e).toAbsolutePath().toString());
+        return cp.toString();
+    }
+
+    private static void check(String name, boolean ok) {
+        if (ok) return;
+        failures++;
+        System.out.println("GAGAL: " + name);
+    }
+
+    private static void deleteTree(Path root) throws IOException {
+        List<Path> all = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(root)) {
+            for (Path f : files) all.add(f);
+        }
+        for (Path f : all) {
+            if (Files.isDirectory(f)) deleteTree(f);
+            else Files.delete(f);
+        }
+        Files.delete(root);
+    }
+}
@@ -0,0 +1,44 @@
+package app;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import model.AsyncLogAppender;
+import model.RiwayatAdmin;
+import model.RiwayatMember;
+
+/**
+ * Alat bantu untuk file riwayat biner di folder <code>data/</code>.
+ *
+ * <pre>
+ * java app.RiwayatTool convert               (riwayat_*.txt lama -> riwayat_*.bin)
+ * java app.RiwayatTool export-admin &lt;file&gt;   (riwayat_admin.bin -> teks)
+ * </pre>
+ */
+public class RiwayatTool {
+    public static void main(String[] args) {
+        String cmd = args.length > 0 ? args[0] : "";
+        switch (cmd) {
+            case "convert": {
+                // konversi berjalan saat kelas riwayat dimuat
+                new RiwayatAdmin();
+                new RiwayatMember();
+                System.out.println("File riwayat teks lama sudah dikonversi.");
+                break;
+            }
+            case "export-admin": {
+                if (args.length < 2) { System.out.println("Penggunaan: java app.RiwayatTool export-admin <file>"); break; }
+                try {
+                    Files.write(Paths.get(args[1]), new RiwayatAdmin().getAll(), StandardCharsets.UTF_8);
+                    System.out.println("Riwayat admin ditulis ke " + args[1] + ".");
+                } catch (IOException e) {
+                    System.err.println("export riwayat: " + e.getMessage());
+                }
+                break;
+            }
+            default:
+                System.out.println("Penggunaan: java app.RiwayatTool <convert|export-admin <file>>");
+        }
+        AsyncLogAppender.closeAll();
+    }
+}
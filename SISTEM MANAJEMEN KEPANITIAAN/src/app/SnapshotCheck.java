@@ -0,0 +1,178 @@
+package app;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.time.LocalDate;
+import java.util.*;
+import model.*;
+import model.DataStorage.StorageFormat;
+
+/**
+ * Pemeriksaan round-trip dan benchmark throughput <code>snapshot.bin</code>
+ * terhadap format teks.
+ *
+ * <pre>
+ * java app.SnapshotCheck [jumlahAnggota] [jumlahTugas] [jumlahPutaran]
+ * </pre>
+ *
+ * <p>Data contoh (termasuk teks dengan <code>,</code>, <code>|</code>,
+ * backslash, baris baru, huruf non-ASCII, tugas tanpa deadline, dan semua
+ * status) ditulis ke folder sementara sebagai file teks. Data itu dimuat,
+ * disimpan sebagai snapshot, dimuat kembali dari snapshot, lalu dibandingkan
+ * per field dengan hasil muatan teks. Snapshot kemudian diekspor lagi ke teks
+ * dan dibandingkan sekali lagi. Setelah itu waktu simpan dan muat kedua format
+ * dicetak. Keluar dengan kode 1 bila ada field yang berbeda.</p>
+ */
+public class SnapshotCheck {
+    public static void main(String[] args) throws IOException {
+        int anggota = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int tugas = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+        Path dir = Files.createTempDirectory("kepanitiaan-snapshot");
+        try {
+            generate(dir, anggota, tugas);
+
+            DataStorage text = DataStorage.loadExisting(dir, StorageFormat.TEXT);
+            if (!text.exportSnapshot()) throw new IOException("snapshot gagal ditulis");
+            DataStorage binary = DataStorage.loadExisting(dir, StorageFormat.BINARY);
+            List<String> diff = compare(text, binary);
+            if (!binary.exportText()) throw new IOException("file teks gagal ditulis");
+            diff.addAll(compare(text, DataStorage.loadExisting(dir, StorageFormat.TEXT)));
+            if (!diff.isEmpty()) {
+                for (String d : diff.subList(0, Math.min(20, diff.size()))) System.out.println("BEDA " + d);
+                System.out.println(diff.size() + " field berbeda.");
+                System.exit(1);
+            }
+            System.out.printf("Round-trip OK: %,d akun, %,d anggota, %,d divisi, %,d tugas%n",
+                    text.getAccounts().size(), text.getAnggotaList().size(), text.getDivisiList().size(), countTugas(text));
+
+            long textBytes = Files.size(dir.resolve("accounts.txt")) + Files.size(dir.resolve("anggota.txt")) + Files.size(dir.resolve("divisi.txt"));
+            long binBytes = Files.size(dir.resolve("snapshot.bin"));
+            long[] saveText = new long[rounds], saveBin = new long[rounds], loadText = new long[rounds], loadBin = new long[rounds];
+            for (int r = -1; r < rounds; r++) { // putaran -1 = pemanasan JIT
+                long t0 = System.nanoTime();
+                text.exportText();
+                long t1 = System.nanoTime();
+                text.exportSnapshot();
+                long t2 = System.nanoTime();
+                DataStorage.loadExisting(dir, StorageFormat.TEXT);
+                long t3 = System.nanoTime();
+                DataStorage.loadExisting(dir, StorageFormat.BINARY);
+                long t4 = System.nanoTime();
+                if (r < 0) continue;
+                saveText[r] = t1 - t0; saveBin[r] = t2 - t1; loadText[r] = t3 - t2; loadBin[r] = t4 - t3;
+            }
+            System.out.printf("Ukuran : teks %,d byte, snapshot %,d byte%n", textBytes, binBytes);
+            print("Simpan teks    ", saveText, textBytes);
+            print("Simpan snapshot", saveBin, binBytes);
+            print("Muat teks      ", loadText, textBytes);
+            print("Muat snapshot  ", loadBin, binBytes);
+            System.out.println("(waktu muat mencakup pembuatan indeks DataStorage)");
+        } finally {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+                for (Path f : files) Files.deleteIfExists(f);
+            }
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    /**
+     * Membuat data contoh lewat DataStorage lalu menulisnya sebagai file teks.
+     *
+     * @param dir folder tujuan
+     * @param anggota jumlah anggota
+     * @param tugas jumlah tugas
+     * @throws IOException jika gagal menulis
+     */
+    private static void generate(Path dir, int anggota, int tugas) throws IOException {
+        for (String f : new String[]{"accounts.txt", "anggota.txt", "divisi.txt"}) Files.createFile(dir.resolve(f));
+        DataStorage ds = DataStorage.loadExisting(dir, StorageFormat.TEXT);
+        String[] names = {"Acara", "Konsumsi, Logistik", "Humas | Publikasi", "Dana\\Usaha", "Dékorasi"};
+        for (String n : names) ds.addDivisi(new Divisi(n));
+        ds.addAccount(new Admin("admin", "p,a|s\\s", "Admin, Utama"));
+        Random rnd = new Random(7);
+        for (int i = 0; i < anggota; i++) {
+            String div = i % 7 == 6 ? "Tanpa Divisi" : names[i % names.length];
+            ds.addAnggota(new Anggota("A" + i, "Anggota " + i + (i % 3 == 0 ? ", Jr." : "") + (i % 5 == 0 ? " | Ketua" : ""), div, "08" + i));
+            if (i % 10 == 0) ds.addAccount(new Member("user" + i, "pw" + i, "Anggota " + i, "A" + i));
+        }
+        Tugas.Status[] st = Tugas.Status.values();
+        List<Divisi> divisi = ds.getDivisiList();
+        for (int i = 0; i < tugas; i++) {
+            Tugas t = new Tugas("T" + i, "Tugas " + i + (i % 4 == 0 ? ", penting" : ""),
+                    i % 9 == 0 ? "Baris satu\nbaris dua | pipa \\ garis miring" : "Deskripsi " + i);
+            divisi.get(i % divisi.size()).addTugas(t);
+            if (rnd.nextInt(3) > 0) t.setDeadline(LocalDate.of(2025, 1, 1).plusDays(rnd.nextInt(400)));
+            t.setStatus(st[i % st.length]);
+        }
+        if (!ds.exportText()) throw new IOException("data contoh gagal ditulis");
+    }
+
+    /**
+     * Membandingkan isi dua DataStorage field per field.
+     *
+     * @param a data acuan
+     * @param b data pembanding
+     * @return daftar perbedaan (kosong jika sama)
+     */
+    private static List<String> compare(DataStorage a, DataStorage b) {
+        List<String> diff = new ArrayList<>();
+        List<Account> acA = a.getAccounts(), acB = b.getAccounts();
+        check(diff, "jumlah akun", acA.size(), acB.size());
+        for (int i = 0; i < Math.min(acA.size(), acB.size()); i++) {
+            Account x = acA.get(i), y = acB.get(i);
+            String p = "akun[" + i + "].";
+            check(diff, p + "role", x.getRole(), y.getRole());
+            check(diff, p + "username", x.getUsername(), y.getUsername());
+            check(diff, p + "password", x.getPassword(), y.getPassword());
+            check(diff, p + "name", x.getName(), y.getName());
+            if (x instanceof Member && y instanceof Member)
+                check(diff, p + "idAnggota", ((Member) x).getIdAnggota(), ((Member) y).getIdAnggota());
+        }
+        List<Anggota> agA = a.getAnggotaList(), agB = b.getAnggotaList();
+        check(diff, "jumlah anggota", agA.size(), agB.size());
+        for (int i = 0; i < Math.min(agA.size(), agB.size()); i++) {
+            Anggota x = agA.get(i), y = agB.get(i);
+            String p = "anggota[" + i + "].";
+            check(diff, p + "id", x.getId(), y.getId());
+            check(diff, p + "nama", x.getNama(), y.getNama());
+            check(diff, p + "divisi", x.getDivisi(), y.getDivisi());
+            check(diff, p + "noHp", x.getNoHp(), y.getNoHp());
+        }
+        List<Divisi> dA = a.getDivisiList(), dB = b.getDivisiList();
+        check(diff, "jumlah divisi", dA.size(), dB.size());
+        for (int i = 0; i < Math.min(dA.size(), dB.size()); i++) {
+            Divisi x = dA.get(i), y = dB.get(i);
+            check(diff, "divisi[" + i + "].nama", x.getNama(), y.getNama());
+            List<Tugas> tA = x.getTugasList(), tB = y.getTugasList();
+            check(diff, "divisi[" + i + "].jumlah tugas", tA.size(), tB.size());
+            for (int j = 0; j < Math.min(tA.size(), tB.size()); j++) {
+                Tugas s = tA.get(j), t = tB.get(j);
+                String p = "divisi[" + i + "].tugas[" + j + "].";
+                check(diff, p + "id", s.getId(), t.getId());
+                check(diff, p + "judul", s.getJudul(), t.getJudul());
+                check(diff, p + "deskripsi", s.getDeskripsi(), t.getDeskripsi());
+                check(diff, p + "deadline", s.getDeadline(), t.getDeadline());
+                check(diff, p + "status", s.getStatus(), t.getStatus());
+            }
+        }
+        return diff;
+    }
+
+    private static void check(List<String> diff, String field, Object expected, Object actual) {
+        if (!Objects.equals(expected, actual)) diff.add(field + ": " + expected + " != " + actual);
+    }
+
+    private static int countTugas(DataStorage ds) {
+        int n = 0;
+        for (Divisi d : ds.getDivisiList()) n += d.getTugasList().size();
+        return n;
+    }
+
+    private static void print(String label, long[] ns, long bytes) {
+        long[] sorted = ns.clone();
+        Arrays.sort(sorted);
+        long median = sorted[sorted.length / 2];
+        System.out.printf("%s: %,7d ms  %,8.1f MB/s%n", label, median / 1_000_000, bytes / 1e6 / (median / 1e9));
+    }
+}
@@ -0,0 +1,41 @@
+package app;
+
+import java.nio.file.NoSuchFileException;
+import model.DataStorage;
+import model.DataStorage.StorageFormat;
+
+/**
+ * Alat bantu konversi format penyimpanan di folder <code>data/</code>.
+ *
+ * <pre>
+ * java app.SnapshotTool to-binary   (file teks  -> snapshot.bin)
+ * java app.SnapshotTool to-text     (snapshot.bin -> file teks)
+ * </pre>
+ *
+ * <p>Data sumber hanya dibaca lewat {@link DataStorage#loadExisting(StorageFormat)}:
+ * bila file sumber belum ada, konversi gagal tanpa membuat data default.</p>
+ */
+public class SnapshotTool {
+    public static void main(String[] args) {
+        String cmd = args.length > 0 ? args[0] : "";
+        try {
+            switch (cmd) {
+                case "to-binary": {
+                    if (!DataStorage.loadExisting(StorageFormat.TEXT).exportSnapshot()) System.exit(1);
+                    System.out.println("snapshot.bin ditulis dari file teks.");
+                    break;
+                }
+                case "to-text": {
+                    if (!DataStorage.loadExisting(StorageFormat.BINARY).exportText()) System.exit(1);
+                    System.out.println("File teks ditulis dari snapshot.bin.");
+                    break;
+                }
+                default:
+                    System.out.println("Penggunaan: java app.SnapshotTool <to-binary|to-text>");
+            }
+        } catch (NoSuchFileException e) {
+            System.err.println("File sumber tidak ditemukan: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
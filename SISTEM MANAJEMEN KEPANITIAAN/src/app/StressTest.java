@@ -0,0 +1,307 @@
+package app;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import model.*;
+
+/**
+ * Uji beban bersamaan untuk penguncian dan persistensi DataStorage.
+ *
+ * <pre>
+ * java app.StressTest [jumlahThread] [operasiPerThread] [durability]
+ * </pre>
+ *
+ * <p>Setiap langkah dijalankan sebagai proses terpisah di folder sementara,
+ * memakai instance Singleton {@link DataStorage#getInstance()} yang terhubung
+ * ke {@link EventBus} (subscriber WAL dan riwayat), sehingga folder
+ * <code>data/</code> milik aplikasi tidak disentuh. <code>durability</code>
+ * diteruskan sebagai system property <code>kepanitiaan.durability</code>
+ * (bawaan <code>group:20</code>; <code>sync</code> memaksa setiap record ke disk
+ * dan jauh lebih lambat).</p>
+ * <ol>
+ *     <li><code>stress</code>: beberapa thread penulis, masing-masing dengan
+ *         pelaku admin sendiri ({@link DataStorage#setActor(Account)}), menambah
+ *         anggota ({@link DataStorage#addAnggota(Anggota)}) dan mengubah status
+ *         tugas miliknya ({@link Tugas#setStatus(Tugas.Status)}). Sementara itu
+ *         thread pembaca menjalankan pencarian nama mirip, pencarian anggota,
+ *         view terurut, dan query status, dan satu thread bergantian memanggil
+ *         {@link DataStorage#flush()} dan {@link DataStorage#checkpoint()}
+ *         setiap {@value #FLUSH_INTERVAL_MS} ms.
+ *         Pembaca memeriksa bahwa view terurut selalu berisi seluruh tugas
+ *         dengan urutan status yang benar dan jumlah anggota tidak pernah
+ *         berkurang. Setelah semua thread selesai, <code>flush()</code>
+ *         dipanggil, jumlah di memori diperiksa, lalu proses dihentikan tanpa
+ *         checkpoint dan tanpa shutdown hook.</li>
+ *     <li><code>verify</code>: data dimuat ulang dari disk (file penyimpanan
+ *         dan WAL) lalu diperiksa tepat: setiap anggota yang ditambahkan,
+ *         jumlah anggota, tugas per status, isi view terurut, hasil pencarian
+ *         mirip, dan jumlah penambahan anggota per pelaku di riwayat.</li>
+ * </ol>
+ *
+ * <p>Keluar dengan kode 1 bila ada pemeriksaan yang gagal atau ada exception
+ * (termasuk {@link ConcurrentModificationException}) di thread mana pun.</p>
+ */
+public class StressTest {
+    private static final String[] NAMES = {"Budi Santoso", "Siti Rahmawati", "Andi Pratama", "Dewi Lestari"};
+    private static final int DIVISI = 5, TUGAS_PER_DIVISI = 200;
+    /** Jeda thread flusher di antara flush/checkpoint, seperti group commit */
+    private static final int FLUSH_INTERVAL_MS = 10;
+    private static final Tugas.Status[] STATUS = Tugas.Status.values();
+
+    private static final Queue<String> failures = new ConcurrentLinkedQueue<>();
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && (args[0].equals("stress") || args[0].equals("verify"))) {
+            int threads = Integer.parseInt(args[1]), ops = Integer.parseInt(args[2]);
+            if (args[0].equals("stress")) stress(threads, ops); else verify(threads, ops);
+            int n = 0;
+            for (String f : failures) if (n++ < 20) System.out.println("GAGAL: " + f);
+            Runtime.getRuntime().halt(failures.isEmpty() ? 0 : 1);
+        }
+        String threads = args.length > 0 ? args[0] : "4", ops = args.length > 1 ? args[1] : "5000";
+        String durability = args.length > 2 ? args[2] : "group:20";
+        Path dir = Files.createTempDirectory("kepanitiaan-stress");
+        int failed = 0;
+        try {
+            for (String step : new String[]{"stress", "verify"}) {
+                int rc = run(dir, durability, step, threads, ops);
+                if (rc != 0) { failed++; System.out.println("GAGAL: langkah " + step + " (kode " + rc + ")"); }
+            }
+        } finally {
+            deleteTree(dir);
+        }
+        if (failed > 0) {
+            System.out.println(failed + " langkah gagal.");
+            System.exit(1);
+        }
+        System.out.println("Stress test OK.");
+    }
+
+    /**
+     * Langkah <code>stress</code> (di proses anak).
+     */
+    private static void stress(int threads, int ops) throws IOException, InterruptedException {
+        DataStorage ds = DataStorage.getInstance();
+        int seededAnggota = ds.getAnggotaList().size();
+        List<Tugas> tugas = new ArrayList<>();
+        for (int d = 0; d < DIVISI; d++) {
+            Divisi div = new Divisi("Stress " + d);
+            ds.addDivisi(div);
+            for (int i = 0; i < TUGAS_PER_DIVISI; i++) {
+                Tugas t = new Tugas(tugasId(d, i), "Tugas " + i + " divisi " + d, "Deskripsi " + i);
+                div.addTugas(t);
+                tugas.add(t);
+            }
+        }
+        int total = tugas.size(), allTugas = countSorted(ds);
+
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicLong reads = new AtomicLong(), flushes = new AtomicLong(), checkpoints = new AtomicLong();
+        List<Thread> writers = new ArrayList<>(), others = new ArrayList<>();
+
+        for (int w = 0; w < threads; w++) {
+            int id = w;
+            writers.add(worker("writer-" + w, start, () -> {
+                ds.setActor(new Admin(actorOf(id), "rahasia", "Penguji " + id));
+                List<Tugas> own = new ArrayList<>();
+                for (int j = id; j < total; j += threads) own.add(tugas.get(j));
+                for (int i = 0; i < ops; i++) {
+                    ds.addAnggota(new Anggota(anggotaId(id, i), NAMES[i % NAMES.length] + " " + id + "x" + i,
+                            "Stress " + (i % DIVISI), "08" + i));
+                    if (!own.isEmpty()) own.get(i % own.size()).setStatus(STATUS[i % STATUS.length]);
+                }
+                // status akhir ditentukan oleh posisi tugas agar jumlah per status bisa dihitung
+                for (int j = id; j < total; j += threads) tugas.get(j).setStatus(STATUS[j % STATUS.length]);
+                ds.setActor(null);
+            }));
+        }
+        for (int r = 0; r < threads; r++) {
+            others.add(worker("reader-" + r, start, () -> {
+                int lastSize = 0;
+                TugasQuery.Order[] orders = {TugasQuery.Order.STATUS, TugasQuery.Order.JUDUL, TugasQuery.Order.DIVISI};
+                for (int i = 0; writing.get(); i++) {
+                    ds.searchAnggotaFuzzy("Santosa", 1);
+                    ds.searchAnggota("Rahma");
+                    int size = ds.getAnggotaList().size();
+                    if (size < lastSize) failures.add("jumlah anggota berkurang: " + lastSize + " -> " + size);
+                    lastSize = size;
+
+                    TugasQuery.Order order = orders[i % orders.length];
+                    int[] count = {0};
+                    Tugas.Status[] prev = {null};
+                    ds.forEachTugasSorted(order, t -> {
+                        count[0]++;
+                        if (order == TugasQuery.Order.STATUS && prev[0] != null && t.getStatus().compareTo(prev[0]) < 0)
+                            failures.add("view STATUS tidak urut: " + prev[0] + " sebelum " + t.getStatus());
+                        prev[0] = t.getStatus();
+                    });
+                    if (count[0] != allTugas) failures.add("view " + order + " berisi " + count[0] + " tugas, seharusnya " + allTugas);
+                    ds.queryTugas(new TugasQuery().status(STATUS[i % STATUS.length]).orderBy(TugasQuery.Order.JUDUL).limit(20));
+                    reads.incrementAndGet();
+                }
+            }));
+        }
+        others.add(worker("flusher", start, () -> {
+            for (int i = 0; writing.get(); i++) {
+                if (i % 2 == 0) {
+                    ds.flush();
+                    flushes.incrementAndGet();
+                } else {
+                    if (!ds.checkpoint()) failures.add("checkpoint gagal saat berjalan");
+                    checkpoints.incrementAndGet();
+                }
+                try { Thread.sleep(FLUSH_INTERVAL_MS); } catch (InterruptedException e) { return; }
+            }
+        }));
+
+        for (Thread t : writers) t.start();
+        for (Thread t : others) t.start();
+        long t0 = System.nanoTime();
+        start.countDown();
+        for (Thread t : writers) t.join();
+        writing.set(false);
+        for (Thread t : others) t.join();
+        ds.flush();
+        new RiwayatAdmin().flush();
+        long ms = (System.nanoTime() - t0) / 1_000_000;
+
+        int anggota = seededAnggota + threads * ops;
+        check("jumlah anggota", anggota, ds.getAnggotaList().size());
+        checkStressTugas(ds, "");
+        Properties expected = new Properties();
+        expected.setProperty("anggota", String.valueOf(anggota));
+        expected.setProperty("tugas", String.valueOf(allTugas));
+        for (Tugas.Status s : STATUS)
+            expected.setProperty(s.name(), String.valueOf(ds.queryTugas(new TugasQuery().status(s)).size()));
+        try (Writer w = Files.newBufferedWriter(Paths.get("expected.properties"), StandardCharsets.UTF_8)) {
+            expected.store(w, "hasil langkah stress");
+        }
+
+        System.out.printf("%d penulis x %,d operasi, %d pembaca, 1 flusher (%s): %,d ms%n", threads, ops, threads,
+                ds.getDurability(), ms);
+        System.out.printf("%,d anggota, %,d tugas, %,d putaran baca, %,d flush, %,d checkpoint%n",
+                anggota, allTugas, reads.get(), flushes.get(), checkpoints.get());
+    }
+
+    /**
+     * Langkah <code>verify</code> (di proses anak): data dimuat ulang dari disk.
+     */
+    private static void verify(int threads, int ops) throws IOException {
+        Properties expected = new Properties();
+        try (Reader r = Files.newBufferedReader(Paths.get("expected.properties"), StandardCharsets.UTF_8)) {
+            expected.load(r);
+        }
+        DataStorage ds = DataStorage.getInstance();
+        check("anggota setelah dimuat ulang", expected.getProperty("anggota"), String.valueOf(ds.getAnggotaList().size()));
+        int missing = 0;
+        for (int w = 0; w < threads; w++)
+            for (int i = 0; i < ops; i++) if (ds.findAnggotaById(anggotaId(w, i)) == null) missing++;
+        check("anggota tidak ditemukan lewat ID setelah dimuat ulang", 0, missing);
+        int santoso = 0;
+        for (Anggota a : ds.searchAnggotaFuzzy("Santosa", 1)) if (a.getId().startsWith("S")) santoso++;
+        check("hasil pencarian mirip \"Santosa\" setelah dimuat ulang", threads * ((ops + NAMES.length - 1) / NAMES.length), santoso);
+
+        for (Tugas.Status s : STATUS)
+            check("tugas berstatus " + s + " setelah dimuat ulang", expected.getProperty(s.name()),
+                    String.valueOf(ds.queryTugas(new TugasQuery().status(s)).size()));
+        check("isi view STATUS setelah dimuat ulang", expected.getProperty("tugas"), String.valueOf(countSorted(ds)));
+        checkStressTugas(ds, " setelah dimuat ulang");
+
+        ActivityStats stats = ActivityStats.getInstance();
+        LocalDate today = LocalDate.now();
+        for (int w = 0; w < threads; w++)
+            check("riwayat tambah anggota oleh " + actorOf(w), (long) ops,
+                    stats.count(actorOf(w), LogEvent.Type.ADD_ANGGOTA, today.minusDays(1), today.plusDays(1)));
+        System.out.printf("Dimuat ulang: %s anggota, %s tugas.%n", expected.getProperty("anggota"), expected.getProperty("tugas"));
+    }
+
+    /**
+     * Memeriksa status akhir setiap tugas uji (ditentukan oleh posisinya).
+     */
+    private static void checkStressTugas(DataStorage ds, String when) {
+        int wrong = 0;
+        Map<String, Tugas.Status> status = new HashMap<>();
+        for (Tugas.Status s : STATUS)
+            for (Tugas t : ds.queryTugas(new TugasQuery().status(s))) status.put(t.getId(), t.getStatus());
+        for (int d = 0; d < DIVISI; d++)
+            for (int i = 0; i < TUGAS_PER_DIVISI; i++) {
+                int j = d * TUGAS_PER_DIVISI + i;
+                if (status.get(tugasId(d, i)) != STATUS[j % STATUS.length]) wrong++;
+            }
+        check("tugas uji dengan status akhir salah" + when, 0, wrong);
+    }
+
+    private static int countSorted(DataStorage ds) {
+        int[] n = {0};
+        ds.forEachTugasSorted(TugasQuery.Order.STATUS, t -> n[0]++);
+        return n[0];
+    }
+
+    private static String anggotaId(int writer, int i) { return "S" + writer + "-" + i; }
+
+    private static String tugasId(int divisi, int i) { return "ST" + divisi + "-" + i; }
+
+    private static String actorOf(int writer) { return "stress" + writer; }
+
+    /**
+     * Membuat thread yang menunggu aba-aba mulai lalu menjalankan tugasnya;
+     * exception apa pun (termasuk {@link ConcurrentModificationException})
+     * dicatat sebagai kegagalan.
+     */
+    private static Thread worker(String name, CountDownLatch start, Runnable body) {
+        return new Thread(() -> {
+            try {
+                start.await();
+                body.run();
+            } catch (Throwable e) {
+                failures.add(name + ": " + e);
+                e.printStackTrace();
+            }
+        }, name);
+    }
+
+    private static void check(String name, Object expected, Object actual) {
+        if (!Objects.equals(expected, actual)) failures.add(name + ": " + expected + " != " + actual);
+    }
+
+    /**
+     * Menjalankan kelas ini dengan satu langkah di folder kerja lain dengan classpath yang sama.
+     */
+    private static int run(Path workDir, String durability, String... step) throws IOException, InterruptedException {
+        List<String> cmd = new ArrayList<>(Arrays.asList(Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                "-Dkepanitiaan.durability=" + durability, "-cp", absoluteClasspath(), StressTest.class.getName()));
+        cmd.addAll(Arrays.asList(step));
+        Process p = new ProcessBuilder(cmd).directory(workDir.toFile()).inheritIO().start();
+        return p.waitFor();
+    }
+
+    private static String absoluteClasspath() {
+        StringJoiner cp = new StringJoiner(File.pathSeparator);
+        for (String e : System.getProperty("java.class.path").split(File.pathSeparator))
+            cp.add(Paths.get(e).toAbsolutePath().toString());
+        return cp.toString();
+    }
+
+    private static void deleteTree(Path root) throws IOException {
+        List<Path> all = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(root)) {
+            for (Path f : files) all.add(f);
+        }
+        for (Path f : all) {
+            if (Files.isDirectory(f)) deleteTree(f);
+            else Files.delete(f);
+        }
+        Files.delete(root);
+    }
+}
@@ -0,0 +1,162 @@
+package app;
+
+import java.time.LocalDate;
+import java.util.*;
+import model.Anggota;
+import model.Tugas;
+
+/**
+ * Pemeriksaan round-trip escaping dan benchmark throughput parsing record teks:
+ * tokenizer record (dipakai {@link Anggota#fromString(String)} dan
+ * {@link Tugas#fromString(String)}) dibandingkan dengan parser lama berbasis
+ * <code>String.split</code>.
+ *
+ * <pre>
+ * java app.TokenizerCheck [jumlahBaris] [jumlahPutaran]
+ * </pre>
+ *
+ * <ol>
+ *     <li>Escaping: anggota dan tugas berisi <code>,</code>, <code>|</code>,
+ *         backslash (termasuk di akhir field), baris baru, dan huruf non-ASCII
+ *         ditulis lalu dibaca ulang tanpa berubah.</li>
+ *     <li>Kompatibilitas: baris tanpa karakter khusus diparse persis sama oleh
+ *         kedua parser.</li>
+ *     <li>Throughput: baris yang sama diparse berulang kali oleh kedua parser;
+ *         waktu median per putaran, baris per detik, dan MB/s dicetak.</li>
+ * </ol>
+ *
+ * <p>Keluar dengan kode 1 bila ada pemeriksaan yang gagal.</p>
+ */
+public class TokenizerCheck {
+    private static int failures;
+
+    public static void main(String[] args) {
+        int lines = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        checkEscaping();
+        String[] anggota = new String[lines], tugas = new String[lines];
+        generate(anggota, tugas);
+        checkCompatible(anggota, tugas);
+        if (failures > 0) {
+            System.out.println(failures + " pemeriksaan gagal.");
+            System.exit(1);
+        }
+        benchmark(anggota, tugas, rounds);
+    }
+
+    private static void checkEscaping() {
+        String[] samples = {"Judul, pakai | pipa", "a\\b", "akhir\\", "\\,\\|", "\\n bukan baris baru", "baris\nbaru\r\n",
+                "", "Dékorasi ✓", "|||,,,", "\\\\", ",awal", "akhir|"};
+        int n = 0;
+        for (String s : samples) {
+            Anggota a = Anggota.fromString(new Anggota("A," + s, s, s + "|div", s).toString());
+            check("anggota " + show(s), a != null && ("A," + s).equals(a.getId()) && s.equals(a.getNama())
+                    && (s + "|div").equals(a.getDivisi()) && s.equals(a.getNoHp()));
+            Tugas t = new Tugas("T|" + s, s, s + ", deskripsi");
+            t.setDeadline(LocalDate.of(2025, 2, 28));
+            t.setStatus(Tugas.Status.IN_PROGRESS);
+            Tugas u = Tugas.fromString(t.toString());
+            check("tugas " + show(s), u != null && t.getId().equals(u.getId()) && s.equals(u.getJudul())
+                    && t.getDeskripsi().equals(u.getDeskripsi()) && t.getDeadline().equals(u.getDeadline())
+                    && u.getStatus() == Tugas.Status.IN_PROGRESS);
+            n += 2;
+        }
+        System.out.println("Escaping: " + n + " record round-trip diperiksa.");
+    }
+
+    private static void checkCompatible(String[] anggota, String[] tugas) {
+        int bad = 0;
+        for (String line : anggota) {
+            Anggota x = Anggota.fromString(line), y = splitAnggota(line);
+            if (!Objects.equals(x.getId(), y.getId()) || !Objects.equals(x.getNama(), y.getNama())
+                    || !Objects.equals(x.getDivisi(), y.getDivisi()) || !Objects.equals(x.getNoHp(), y.getNoHp())) bad++;
+        }
+        for (String line : tugas) {
+            Tugas x = Tugas.fromString(line), y = splitTugas(line);
+            if (!Objects.equals(x.getId(), y.getId()) || !Objects.equals(x.getJudul(), y.getJudul())
+                    || !Objects.equals(x.getDeskripsi(), y.getDeskripsi()) || !Objects.equals(x.getDeadline(), y.getDeadline())
+                    || x.getStatus() != y.getStatus()) bad++;
+        }
+        check(bad + " baris diparse berbeda oleh kedua parser", bad == 0);
+        System.out.printf("Kompatibilitas: %,d baris tanpa escape diparse sama oleh kedua parser.%n", anggota.length + tugas.length);
+    }
+
+    private static void benchmark(String[] anggota, String[] tugas, int rounds) {
+        long bytes = 0;
+        for (String s : anggota) bytes += s.length();
+        for (String s : tugas) bytes += s.length();
+        long[] tok = new long[rounds], split = new long[rounds];
+        long sink = 0;
+        for (int r = -2; r < rounds; r++) { // dua putaran pertama = pemanasan JIT
+            long t0 = System.nanoTime();
+            for (String s : anggota) sink += Anggota.fromString(s).getNama().length();
+            for (String s : tugas) sink += Tugas.fromString(s).getStatus().ordinal();
+            long t1 = System.nanoTime();
+            for (String s : anggota) sink += splitAnggota(s).getNama().length();
+            for (String s : tugas) sink += splitTugas(s).getStatus().ordinal();
+            long t2 = System.nanoTime();
+            if (r < 0) continue;
+            tok[r] = t1 - t0;
+            split[r] = t2 - t1;
+        }
+        int n = anggota.length + tugas.length;
+        long a = print("RecordTokenizer", tok, n, bytes), b = print("String.split   ", split, n, bytes);
+        System.out.printf("Percepatan     : %.2fx (checksum %d)%n", (double) b / a, sink);
+    }
+
+    /**
+     * Parser anggota lama (sebelum tokenizer), dipakai sebagai pembanding.
+     */
+    private static Anggota splitAnggota(String s) {
+        String[] p = s.split(",", -1);
+        if (p.length < 4) return null;
+        return new Anggota(p[0], p[1], p[2], p[3]);
+    }
+
+    /**
+     * Parser tugas lama (sebelum tokenizer), dipakai sebagai pembanding.
+     */
+    private static Tugas splitTugas(String s) {
+        String[] p = s.split("\\|", -1);
+        if (p.length < 5) return null;
+        Tugas t = new Tugas(p[0], p[1], p[2]);
+        if (!p[3].isEmpty()) {
+            try { t.setDeadline(LocalDate.parse(p[3])); } catch (Exception ignored) {}
+        }
+        try { t.setStatus(Tugas.Status.valueOf(p[4])); } catch (Exception ex) { t.setStatus(Tugas.Status.TODO); }
+        return t;
+    }
+
+    /**
+     * Mengisi baris anggota dan tugas tanpa karakter khusus (format yang bisa dibaca kedua parser).
+     */
+    private static void generate(String[] anggota, String[] tugas) {
+        Random rnd = new Random(10);
+        Tugas.Status[] st = Tugas.Status.values();
+        LocalDate base = LocalDate.of(2025, 1, 1);
+        for (int i = 0; i < anggota.length; i++) {
+            anggota[i] = new Anggota("A" + i, "Anggota Nomor " + i, "Divisi " + (i % 50), "08" + (100000000 + i)).toString();
+            Tugas t = new Tugas("T" + i, "Tugas " + i + " persiapan acara", "Deskripsi tugas nomor " + i + " untuk rapat koordinasi");
+            if (rnd.nextBoolean()) t.setDeadline(base.plusDays(rnd.nextInt(365)));
+            t.setStatus(st[rnd.nextInt(st.length)]);
+            tugas[i] = t.toString();
+        }
+    }
+
+    private static long print(String label, long[] ns, int lines, long chars) {
+        long[] sorted = ns.clone();
+        Arrays.sort(sorted);
+        long median = sorted[sorted.length / 2];
+        System.out.printf("%s: %,7d ms  %,6.0f ns/baris  %,7.1f MB/s%n", label, median / 1_000_000,
+                (double) median / lines, chars / 1e6 / (median / 1e9));
+        return median;
+    }
+
+    private static void check(String name, boolean ok) {
+        if (ok) return;
+        failures++;
+        System.out.println("GAGAL: " + name);
+    }
+
+    private static String show(String s) { return "\"" + s.replace("\n", "\\n").replace("\r", "\\r") + "\""; }
+}
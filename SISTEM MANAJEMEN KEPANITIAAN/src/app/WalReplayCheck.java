@@ -0,0 +1,127 @@
+package app;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import model.Anggota;
+import model.DataStorage;
+import model.Member;
+
+/**
+ * Pemeriksaan bahwa perubahan yang hanya tercatat di WAL tetap ada setelah
+ * aplikasi dimulai ulang dan checkpoint dijalankan.
+ *
+ * <pre>
+ * java app.WalReplayCheck
+ * </pre>
+ *
+ * <p>Setiap langkah dijalankan sebagai proses terpisah di folder sementara
+ * (DataStorage Singleton selalu memakai <code>data/</code> di folder kerja):</p>
+ * <ol>
+ *     <li><code>register</code>: akun baru ditambahkan, <code>flush()</code>,
+ *         lalu proses dihentikan tanpa checkpoint dan tanpa shutdown hook.</li>
+ *     <li><code>sync</code>: pada mode durabilitas SYNC, anggota baru
+ *         anggota ditambahkan satu per satu lalu proses langsung dihentikan
+ *         tanpa <code>flush()</code>; begitu mutator kembali, record WAL-nya
+ *         harus sudah ada di disk, termasuk untuk anggota terakhir.</li>
+ *     <li><code>checkpoint</code>: akun dan anggota harus muncul dari replay WAL, lalu
+ *         <code>checkpoint()</code> harus berhasil (WAL dikosongkan).</li>
+ *     <li><code>verify</code>: akun dan anggota harus tetap ada setelah dimuat dari file
+ *         yang ditulis checkpoint.</li>
+ * </ol>
+ *
+ * <p>Folder <code>data/</code> milik aplikasi tidak disentuh. Keluar dengan
+ * kode 1 bila ada langkah yang gagal.</p>
+ */
+public class WalReplayCheck {
+    private static final String USERNAME = "budi.replay";
+    private static final int SYNC_ANGGOTA = 200;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0) { Runtime.getRuntime().halt(step(args[0])); return; }
+        Path dir = Files.createTempDirectory("kepanitiaan-wal");
+        int failures = 0;
+        try {
+            for (String s : new String[]{"register", "sync", "checkpoint", "verify"}) {
+                int rc = run(dir, s);
+                if (rc != 0) { failures++; System.out.println("GAGAL: langkah " + s + " (kode " + rc + ")"); }
+            }
+        } finally {
+            deleteTree(dir);
+        }
+        if (failures > 0) {
+            System.out.println(failures + " langkah gagal.");
+            System.exit(1);
+        }
+        System.out.println("Akun dan anggota dari WAL bertahan setelah restart dan checkpoint.");
+    }
+
+    /**
+     * Menjalankan satu langkah di proses anak.
+     *
+     * @param name nama langkah
+     * @return kode keluar proses
+     */
+    private static int step(String name) {
+        DataStorage ds = DataStorage.getInstance();
+        switch (name) {
+            case "register":
+                ds.addAccount(new Member(USERNAME, "rahasia", "Budi Replay", "U-REPLAY"));
+                ds.flush();
+                return 0;
+            case "sync":
+                ds.setDurability(DataStorage.DurabilityMode.SYNC, 0);
+                for (int i = 0; i < SYNC_ANGGOTA; i++) ds.addAnggota(new Anggota("A-SYNC-" + i, "Sari Sync " + i, "Acara", "0812"));
+                return 0;
+            case "checkpoint":
+                if (ds.findAccountByUsername(USERNAME) == null) { System.out.println("akun tidak diputar ulang dari WAL"); return 2; }
+                if (missingSync(ds) > 0) { System.out.println(missingSync(ds) + " anggota mode SYNC tidak ada di WAL"); return 5; }
+                if (!ds.checkpoint()) { System.out.println("checkpoint gagal"); return 3; }
+                return 0;
+            case "verify":
+                if (ds.findAccountByUsername(USERNAME) == null) { System.out.println("akun hilang setelah checkpoint"); return 4; }
+                if (missingSync(ds) > 0) { System.out.println(missingSync(ds) + " anggota hilang setelah checkpoint"); return 6; }
+                return 0;
+            default:
+                System.out.println("langkah tidak dikenal: " + name);
+                return 9;
+        }
+    }
+
+    /** @return jumlah anggota dari langkah <code>sync</code> yang tidak ditemukan */
+    private static int missingSync(DataStorage ds) {
+        int missing = 0;
+        for (int i = 0; i < SYNC_ANGGOTA; i++) if (ds.findAnggotaById("A-SYNC-" + i) == null) missing++;
+        return missing;
+    }
+
+    /**
+     * Menjalankan kelas ini dengan satu langkah di folder kerja lain dengan classpath yang sama.
+     */
+    private static int run(Path workDir, String step) throws IOException, InterruptedException {
+        List<String> cmd = Arrays.asList(Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", absoluteClasspath(), WalReplayCheck.class.getName(), step);
+        Process p = new ProcessBuilder(cmd).directory(workDir.toFile()).inheritIO().start();
+        return p.waitFor();
+    }
+
+    private static String absoluteClasspath() {
+        StringJoiner cp = new StringJoiner(File.pathSeparator);
+        for (String e : System.getProperty("java.class.path").split(File.pathSeparator))
+            cp.add(Paths.get(e).toAbsolutePath().toString());
+        return cp.toString();
+    }
+
+    private static void deleteTree(Path root) throws IOException {
+        List<Path> all = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(root)) {
+            for (Path f : files) all.add(f);
+        }
+        for (Path f : all) {
+            if (Files.isDirectory(f)) deleteTree(f);
+            else Files.delete(f);
+        }
+        Files.delete(root);
+    }
+}
@@ -1,6 +1,8 @@
 package cli;
 
 import model.*;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 
 /**
@@ -8,9 +10,10 @@ import java.util.*;
  * <p>
  * Class ini yang menyediakan berbagai fitur manajemen admin seperti:
  * <ul>
- *     <li>Kelola data anggota (tambah, edit, hapus, lihat terurut, pencarian)</li>
- *     <li>Kelola divisi & tugas</li>
+ *     <li>Kelola data anggota (tambah, edit, hapus, lihat terurut, pencarian, pencarian nama mirip)</li>
+ *     <li>Kelola divisi & tugas (termasuk daftar tugas terlambat / segera jatuh tempo)</li>
  *     <li>Melihat riwayat aktivitas admin</li>
+ *     <li>Melihat statistik aktivitas admin & member per periode</li>
  *     <li>Menyimpan data ke penyimpanan permanen</li>
  * </ul>
  * Seluruh tampilan dibuat berbasis CLI (Command Line Interface) dengan border tabel.
@@ -29,6 +32,15 @@ public class AdminCLI {
     /** Riwayat aktivitas admin */
     private final RiwayatAdmin riwayAdmin = new RiwayatAdmin();
 
+    /** Jumlah baris riwayat per halaman */
+    private static final int RIWAYAT_PAGE_SIZE = 20;
+
+    /** Jumlah hasil maksimum pencarian nama mirip */
+    private static final int FUZZY_LIMIT = 20;
+
+    /** Jumlah baris per halaman untuk tabel anggota dan tugas */
+    private static final int TABLE_PAGE_SIZE = 25;
+
     // Warna CLI
     private final String RESET  = "\u001B[0m";
     private final String GREEN  = "\u001B[92m";
@@ -58,6 +70,9 @@ public class AdminCLI {
             System.out.println(CYAN + " [2] Kelola Divisi & Tugas" + RESET);
             System.out.println(CYAN + " [3] Lihat Riwayat Admin" + RESET);
             System.out.println(CYAN + " [4] Cari Anggota (by ID/Name)" + RESET);
+            System.out.println(CYAN + " [5] Statistik Aktivitas" + RESET);
+            System.out.println(CYAN + " [6] Tugas Terlambat & Deadline Dekat" + RESET);
+            System.out.println(CYAN + " [7] Cari Anggota (nama mirip / salah ketik)" + RESET);
             System.out.println(YELLOW + " [S] Simpan Data" + RESET);
             System.out.println(YELLOW + " [0] Logout" + RESET);
             System.out.println("------------------------------------------------------------");
@@ -69,11 +84,27 @@ public class AdminCLI {
                 case "2": kelolaDivisiTugas(); break;
                 case "3": viewRiwayatAdmin(); break;
                 case "4": cariAnggota(); break;
+                case "5": viewStatistik(); break;
+                case "6": viewDeadline(); break;
+                case "7": cariAnggotaFuzzy(); break;
                 case "S":
-                    ds.saveAll();
-                    System.out.println(GREEN + "Data disimpan." + RESET);
+                    try {
+                        ds.flush();
+                        riwayAdmin.flush();
+                        ActivityStats.getInstance().save();
+                        System.out.println(GREEN + "Data disimpan." + RESET);
+                    } catch (Exception ex) {
+                        System.out.println(YELLOW + "Gagal menyimpan data: " + ex.getMessage() + RESET);
+                    }
                     break;
                 case "0":
+                    try {
+                        ds.flush();
+                        riwayAdmin.flush();
+                    } catch (Exception ex) {
+                        System.out.println(YELLOW + "Gagal menyimpan data: " + ex.getMessage() + RESET);
+                        break;
+                    }
                     System.out.println(GREEN + "Logout Admin." + RESET);
                     return;
                 default:
@@ -144,9 +175,6 @@ public class AdminCLI {
         Anggota a = new Anggota(id, nama, div, hp);
         ds.addAnggota(a);
 
-        riwayAdmin.add(admin.getUsername(), "ADD_ANGGOTA," + id + "," + nama);
-        ds.saveAll();
-
         System.out.println(GREEN + "Anggota berhasil ditambahkan." + RESET);
 
         // auto tampilkan tabel setelah menambah
@@ -172,12 +200,7 @@ public class AdminCLI {
         System.out.print("No HP baru (" + a.getNoHp() + "): ");
         String hp = sc.nextLine().trim();
 
-        if (!nama.isEmpty()) a.setNama(nama);
-        if (!div.isEmpty()) a.setDivisi(div);
-        if (!hp.isEmpty()) a.setNoHp(hp);
-
-        riwayAdmin.add(admin.getUsername(), "EDIT_ANGGOTA," + id);
-        ds.saveAll();
+        ds.editAnggota(a, nama.isEmpty() ? null : nama, div.isEmpty() ? null : div, hp.isEmpty() ? null : hp);
 
         System.out.println(GREEN + "Data anggota berhasil diperbarui." + RESET);
     }
@@ -196,89 +219,110 @@ public class AdminCLI {
         }
 
         ds.removeAnggotaById(id);
-        riwayAdmin.add(admin.getUsername(), "DELETE_ANGGOTA," + id);
-        ds.saveAll();
 
         System.out.println(GREEN + "Anggota berhasil dihapus." + RESET);
     }
 
     /**
-     * Menampilkan semua anggota terurut berdasarkan divisi dalam bentuk tabel.
+     * Menampilkan semua anggota terurut berdasarkan divisi dalam bentuk tabel,
+     * per halaman. Hanya anggota pada halaman yang dibuka yang diurutkan.
      */
     private void lihatAnggotaTerurut() {
-        List<Anggota> list = new ArrayList<>(ds.getAnggotaList());
+        Map<String, List<Anggota>> groups = ds.getAnggotaPerDivisi();
 
-        if (list.isEmpty()) {
+        if (groups.isEmpty()) {
             System.out.println("(Tidak ada anggota)");
             return;
         }
 
-        list.sort(Comparator.comparing(Anggota::getDivisi, String.CASE_INSENSITIVE_ORDER)
-                .thenComparing(Anggota::getNama, String.CASE_INSENSITIVE_ORDER));
-
-        String currentDiv = "";
         int total = 0;
+        for (List<Anggota> g : groups.values()) total += g.size();
+
+        String line = "+------------+----------------------+--------------+\n";
+        TablePager<List<Anggota>, Anggota> pager = new TablePager<>(
+                new ArrayList<>(groups.values()), g -> g,
+                Comparator.comparing(Anggota::getNama, String.CASE_INSENSITIVE_ORDER).thenComparing(Anggota::getId),
+                (sb, g) -> {
+                    String div = g.isEmpty() || g.get(0).getDivisi() == null ? "" : g.get(0).getDivisi();
+                    sb.append("\nDIVISI : ").append(div.isEmpty() ? "(tidak diisi)" : div)
+                      .append(" (").append(g.size()).append(" anggota)\n")
+                      .append(line).append("| ID         | NAMA                 | NO HP        |\n").append(line);
+                },
+                (sb, a) -> sb.append(String.format("| %-10s | %-20s | %-12s |%n", a.getId(), a.getNama(), a.getNoHp())).append(line),
+                "(Tidak ada anggota)", TABLE_PAGE_SIZE);
+
+        browseTable("                DAFTAR ANGGOTA TERURUT DIVISI", pager,
+                GREEN + "Total anggota: " + total + RESET);
+    }
 
-        System.out.println("============================================================");
-        System.out.println("                DAFTAR ANGGOTA TERURUT DIVISI");
-        System.out.println("============================================================");
-
-        for (Anggota a : list) {
-            String div = a.getDivisi() == null ? "" : a.getDivisi();
-
-            if (!div.equalsIgnoreCase(currentDiv)) {
-                currentDiv = div;
+    /**
+     * Fitur pencarian anggota menggunakan ID atau nama (partial search).
+     * <p>Query minimal tiga karakter dijawab lewat indeks trigram di {@link DataStorage}.</p>
+     */
+    private void cariAnggota() {
+        System.out.print("Masukkan ID atau Nama (partial OK): ");
+        String q = sc.nextLine().trim().toLowerCase();
 
-                // hitung anggota per divisi
-                int count = 0;
-                for (Anggota x : list)
-                    if ((x.getDivisi()==null?"":x.getDivisi()).equalsIgnoreCase(currentDiv)) count++;
+        List<Anggota> found = ds.searchAnggota(q);
 
-                System.out.println();
-                System.out.println("DIVISI : " + (currentDiv.isEmpty() ? "(tidak diisi)" : currentDiv) +
-                        " (" + count + " anggota)");
-                System.out.println("+------------+----------------------+--------------+");
-                System.out.println("| ID         | NAMA                 | NO HP        |");
-                System.out.println("+------------+----------------------+--------------+");
+        if (found.isEmpty()) {
+            System.out.println(YELLOW + "Tidak ditemukan anggota dengan query: " + q + RESET);
+            List<Anggota> mirip = ds.searchAnggotaFuzzy(q, -1);
+            if (!mirip.isEmpty()) {
+                System.out.println("Mungkin maksud Anda:");
+                printAnggotaTable(mirip.subList(0, Math.min(5, mirip.size())));
             }
-
-            System.out.printf("| %-10s | %-20s | %-12s |%n",
-                    a.getId(), a.getNama(), a.getNoHp());
-            System.out.println("+------------+----------------------+--------------+");
-
-            total++;
+            return;
         }
 
-        System.out.println("\n------------------------------------------------------------");
-        System.out.println(GREEN + "Total anggota: " + total + RESET);
+        printAnggotaTable(found);
     }
 
     /**
-     * Fitur pencarian anggota menggunakan ID atau nama (partial search).
+     * Pencarian anggota berdasarkan nama yang mirip (toleran salah ketik).
+     * Jarak edit maksimum bisa diatur; kosong berarti otomatis sesuai panjang nama.
      */
-    private void cariAnggota() {
-        System.out.print("Masukkan ID atau Nama (partial OK): ");
-        String q = sc.nextLine().trim().toLowerCase();
-
-        List<Anggota> found = new ArrayList<>();
-        for (Anggota a : ds.getAnggotaList()) {
-            if (a.getId().toLowerCase().contains(q)
-                    || a.getNama().toLowerCase().contains(q)) {
+    private void cariAnggotaFuzzy() {
+        System.out.print("Masukkan nama (boleh salah ketik): ");
+        String q = sc.nextLine().trim();
+        if (q.isEmpty()) {
+            System.out.println(YELLOW + "Input kosong." + RESET);
+            return;
+        }
 
-                found.add(a);
+        System.out.print("Jarak edit maksimum (kosong = otomatis): ");
+        String in = sc.nextLine().trim();
+        int max = -1;
+        if (!in.isEmpty()) {
+            try {
+                max = Math.max(0, Integer.parseInt(in));
+            } catch (NumberFormatException e) {
+                System.out.println(YELLOW + "Input tidak valid." + RESET);
+                return;
             }
         }
 
+        List<Anggota> found = ds.searchAnggotaFuzzy(q, max);
         if (found.isEmpty()) {
-            System.out.println(YELLOW + "Tidak ditemukan anggota dengan query: " + q + RESET);
+            System.out.println(YELLOW + "Tidak ada nama yang mirip dengan: " + q + RESET);
             return;
         }
 
+        System.out.println("Hasil (paling mirip di atas, maks. " + FUZZY_LIMIT + "):");
+        printAnggotaTable(found.subList(0, Math.min(FUZZY_LIMIT, found.size())));
+    }
+
+    /**
+     * Mencetak tabel anggota (ID, nama, nomor HP).
+     *
+     * @param list anggota yang ditampilkan
+     */
+    private void printAnggotaTable(List<Anggota> list) {
         System.out.println("+------------+----------------------+--------------+");
         System.out.println("| ID         | NAMA                 | NO HP        |");
         System.out.println("+------------+----------------------+--------------+");
 
-        for (Anggota a : found) {
+        for (Anggota a : list) {
             System.out.printf("| %-10s | %-20s | %-12s |%n",
                     a.getId(), a.getNama(), a.getNoHp());
             System.out.println("+------------+----------------------+--------------+");
@@ -342,8 +386,6 @@ public class AdminCLI {
         }
 
         ds.addDivisi(new Divisi(dn));
-        riwayAdmin.add(admin.getUsername(), "ADD_DIVISI," + dn);
-        ds.saveAll();
 
         System.out.println(GREEN + "Divisi ditambahkan." + RESET);
     }
@@ -363,14 +405,27 @@ public class AdminCLI {
 
         System.out.print("ID Tugas: ");
         String tid = sc.nextLine().trim();
+        if (ds.findTugasById(tid) != null) {
+            System.out.println(YELLOW + "ID tugas sudah ada." + RESET);
+            return;
+        }
         System.out.print("Judul: ");
         String judul = sc.nextLine().trim();
         System.out.print("Deskripsi: ");
         String desc = sc.nextLine().trim();
+        System.out.print("Deadline (yyyy-mm-dd, kosong = tanpa deadline): ");
+        String dl = sc.nextLine().trim();
 
-        d.addTugas(new Tugas(tid, judul, desc));
-        riwayAdmin.add(admin.getUsername(), "ADD_TUGAS," + tid + "," + dn);
-        ds.saveAll();
+        Tugas t = new Tugas(tid, judul, desc);
+        if (!dl.isEmpty()) {
+            try {
+                t.setDeadline(LocalDate.parse(dl));
+            } catch (DateTimeParseException e) {
+                System.out.println(YELLOW + "Format tanggal tidak valid." + RESET);
+                return;
+            }
+        }
+        d.addTugas(t);
 
         System.out.println(GREEN + "Tugas ditambahkan ke divisi " + dn + RESET);
     }
@@ -391,66 +446,142 @@ public class AdminCLI {
         System.out.print("ID tugas yang ingin dihapus: ");
         String tid = sc.nextLine().trim();
 
-        boolean exists = false;
-        for (Tugas t : d.getTugasList()) {
-            if (t.getId().equals(tid)) { exists = true; break; }
-        }
-
-        if (!exists) {
+        if (ds.findDivisiOfTugas(tid) != d) {
             System.out.println(YELLOW + "Tugas tidak ditemukan di divisi tersebut." + RESET);
             return;
         }
 
         d.removeTugasById(tid);
-        riwayAdmin.add(admin.getUsername(), "DELETE_TUGAS," + tid + "," + dn);
-        ds.saveAll();
 
         System.out.println(GREEN + "Tugas dihapus." + RESET);
     }
 
     /**
-     * Menampilkan seluruh divisi dan tugas dalam format tabel.
+     * Menampilkan seluruh divisi dan tugas dalam format tabel, per halaman.
+     * Hanya tugas pada halaman yang dibuka yang diurutkan.
      */
     private void lihatDivisiTugas() {
         List<Divisi> list = new ArrayList<>(ds.getDivisiList());
         list.sort(Comparator.comparing(Divisi::getNama, String.CASE_INSENSITIVE_ORDER));
 
-        System.out.println("============================================================");
-        System.out.println("                    DAFTAR DIVISI & TUGAS");
-        System.out.println("============================================================");
-
         if (list.isEmpty()) {
+            System.out.println("============================================================");
             System.out.println("(Belum ada divisi)");
             System.out.println("============================================================");
             return;
         }
 
+        // salinan tugas per divisi, agar jumlah halaman tetap walaupun data diubah sesi lain
+        Map<Divisi, List<Tugas>> tugasOf = new HashMap<>();
+        int total = 0;
         for (Divisi d : list) {
-            System.out.printf("\nDIVISI: %s   (Total Tugas: %d)%n",
-                    d.getNama(), d.getTugasList().size());
-
-            System.out.println("+------------+------------------------------+------------+");
-            System.out.printf("| %-10s | %-28s | %-10s |%n",
-                    "ID Tugas", "Judul", "Status");
-            System.out.println("+------------+------------------------------+------------+");
-
-            if (d.getTugasList().isEmpty()) {
-                System.out.printf("| %-46s |%n", "(Tidak ada tugas)");
-                System.out.println("+------------+------------------------------+------------+");
-                continue;
-            }
+            List<Tugas> ts = d.getTugasList();
+            tugasOf.put(d, ts);
+            total += ts.size();
+        }
+
+        String line = "+------------+------------------------------+------------+\n";
+        TablePager<Divisi, Tugas> pager = new TablePager<>(
+                list, tugasOf::get, Comparator.comparing(Tugas::getId),
+                (sb, d) -> sb.append(String.format("%nDIVISI: %s   (Total Tugas: %d)%n", d.getNama(), tugasOf.get(d).size()))
+                             .append(line).append(String.format("| %-10s | %-28s | %-10s |%n", "ID Tugas", "Judul", "Status")).append(line),
+                (sb, t) -> sb.append(String.format("| %-10s | %-28s | %-10s |%n", t.getId(), truncate(t.getJudul(), 28), t.getStatus())).append(line),
+                String.format("| %-46s |%n", "(Tidak ada tugas)") + line.trim(), TABLE_PAGE_SIZE);
 
-            List<Tugas> tugasList = new ArrayList<>(d.getTugasList());
-            tugasList.sort(Comparator.comparing(Tugas::getId));
+        browseTable("                    DAFTAR DIVISI & TUGAS", pager,
+                GREEN + "Total divisi: " + list.size() + ", total tugas: " + total + RESET);
+    }
+
+    /**
+     * Menampilkan tabel per halaman dengan navigasi berikut/sebelumnya,
+     * lompat ke halaman tertentu, dan K baris teratas. Setiap halaman disusun
+     * dulu di {@link StringBuilder} lalu dicetak sekaligus.
+     *
+     * @param title  judul tabel
+     * @param pager  sumber halaman
+     * @param footer ringkasan di bawah tabel
+     */
+    private void browseTable(String title, TablePager<?, ?> pager, String footer) {
+        int page = 1;
+        String body = pager.page(page);
+        while (true) {
+            StringBuilder sb = new StringBuilder(body.length() + 512);
+            sb.append("============================================================\n")
+              .append(title).append('\n')
+              .append("============================================================\n")
+              .append(body)
+              .append("\n------------------------------------------------------------\n")
+              .append(footer).append('\n')
+              .append("Halaman ").append(page).append('/').append(pager.pages()).append('\n');
+            if (page < pager.pages()) sb.append(" [N] Berikutnya\n");
+            if (page > 1) sb.append(" [P] Sebelumnya\n");
+            sb.append(" [J] Lompat ke halaman\n [T] Tampilkan K teratas\n [0] Kembali\nPilih > ");
+            System.out.print(sb);
+            System.out.flush();
+
+            String o = sc.nextLine().trim().toUpperCase();
+            try {
+                if (o.equals("N") && page < pager.pages()) body = pager.page(++page);
+                else if (o.equals("P") && page > 1) body = pager.page(--page);
+                else if (o.equals("J")) {
+                    System.out.print("Halaman (1-" + pager.pages() + "): ");
+                    page = Math.max(1, Math.min(pager.pages(), Integer.parseInt(sc.nextLine().trim())));
+                    body = pager.page(page);
+                } else if (o.equals("T")) {
+                    System.out.print("Jumlah baris teratas: ");
+                    body = pager.range(0, Integer.parseInt(sc.nextLine().trim()));
+                } else if (o.equals("0") || o.isEmpty()) return;
+                else System.out.println(YELLOW + "Pilihan tidak valid." + RESET);
+            } catch (NumberFormatException e) {
+                System.out.println(YELLOW + "Input tidak valid." + RESET);
+            }
+        }
+    }
 
-            for (Tugas t : tugasList) {
-                System.out.printf("| %-10s | %-28s | %-10s |%n",
-                        t.getId(), truncate(t.getJudul(), 28), t.getStatus());
-                System.out.println("+------------+------------------------------+------------+");
+    /**
+     * Menampilkan tugas yang belum selesai dan sudah lewat deadline, lalu
+     * tugas yang jatuh tempo dalam beberapa hari ke depan (default 3 hari).
+     * Keduanya dibaca sebagai rentang tanggal dari indeks deadline.
+     */
+    private void viewDeadline() {
+        System.out.print("Jatuh tempo dalam berapa hari? (default 3): ");
+        String in = sc.nextLine().trim();
+        int days = 3;
+        if (!in.isEmpty()) {
+            try {
+                days = Math.max(0, Integer.parseInt(in));
+            } catch (NumberFormatException e) {
+                System.out.println(YELLOW + "Input tidak valid." + RESET);
+                return;
             }
         }
 
-        System.out.println("\n============================================================");
+        LocalDate today = LocalDate.now();
+        printDeadlineTable("TUGAS TERLAMBAT", ds.queryTugas(TugasQuery.overdue(today)));
+        printDeadlineTable("JATUH TEMPO " + days + " HARI KE DEPAN", ds.queryTugas(TugasQuery.dueWithin(today, days)));
+        pauseForBack();
+    }
+
+    /**
+     * Mencetak tabel tugas beserta deadline dan divisinya.
+     *
+     * @param judul judul tabel
+     * @param list  tugas yang ditampilkan
+     */
+    private void printDeadlineTable(String judul, List<Tugas> list) {
+        System.out.println();
+        System.out.println("==== " + judul + " (" + list.size() + ") ====");
+        System.out.println("+------------+-----------------+------------+------------------------------+-------------+");
+        System.out.printf("| %-10s | %-15s | %-10s | %-28s | %-11s |%n", "DEADLINE", "DIVISI", "ID", "JUDUL", "STATUS");
+        System.out.println("+------------+-----------------+------------+------------------------------+-------------+");
+        if (list.isEmpty()) System.out.printf("| %-86s |%n", "(Tidak ada tugas)");
+        for (Tugas t : list) {
+            Divisi d = ds.findDivisiOfTugas(t.getId());
+            System.out.printf("| %-10s | %-15s | %-10s | %-28s | %-11s |%n",
+                    t.getDeadline(), truncate(d == null ? "-" : d.getNama(), 15),
+                    truncate(t.getId(), 10), truncate(t.getJudul(), 28), t.getStatus());
+        }
+        System.out.println("+------------+-----------------+------------+------------------------------+-------------+");
     }
 
     /**
@@ -466,16 +597,88 @@ public class AdminCLI {
     }
 
     /**
-     * Menampilkan tabel riwayat aktivitas admin.
+     * Menampilkan tabel riwayat aktivitas admin per halaman,
+     * dimulai dari aktivitas terbaru.
      */
     private void viewRiwayatAdmin() {
+        try (RiwayatPager pager = riwayAdmin.openPager(RIWAYAT_PAGE_SIZE)) {
+            List<String> rows = pager.latest();
+            while (true) {
+                System.out.println();
+                System.out.println("------------------------------------------------------------");
+                System.out.println(TITLE + "                    RIWAYAT ADMIN                         " + RESET);
+                System.out.println("------------------------------------------------------------");
+
+                riwayAdmin.printTable(rows);
+
+                boolean older = pager.hasOlder(), newer = pager.hasNewer();
+                System.out.println("Halaman " + pager.getPage() + " (terbaru di atas)");
+                if (older) System.out.println(" [N] Lebih lama");
+                if (newer) System.out.println(" [P] Lebih baru");
+                System.out.println(" [0] Kembali");
+                System.out.print("Pilih > ");
+
+                String o = sc.nextLine().trim().toUpperCase();
+                if (o.equals("N") && older) rows = pager.older();
+                else if (o.equals("P") && newer) rows = pager.newer();
+                else if (o.equals("0") || o.isEmpty()) return;
+                else System.out.println(YELLOW + "Pilihan tidak valid." + RESET);
+            }
+        }
+    }
+
+    /**
+     * Menampilkan jumlah aktivitas per pelaku dan jenis event untuk periode
+     * yang dipilih (hari ini, 7 hari, atau 30 hari terakhir).
+     */
+    private void viewStatistik() {
         System.out.println();
         System.out.println("------------------------------------------------------------");
-        System.out.println(TITLE + "                    RIWAYAT ADMIN                         " + RESET);
+        System.out.println(TITLE + "                  STATISTIK AKTIVITAS                      " + RESET);
         System.out.println("------------------------------------------------------------");
+        System.out.println(" [1] Hari ini");
+        System.out.println(" [2] 7 hari terakhir");
+        System.out.println(" [3] 30 hari terakhir");
+        System.out.println(" [0] Kembali");
+        System.out.print("Pilih > ");
+
+        int days;
+        switch (sc.nextLine().trim()) {
+            case "1": days = 1; break;
+            case "2": days = 7; break;
+            case "3": days = 30; break;
+            case "0": case "": return;
+            default:
+                System.out.println(YELLOW + "Pilihan tidak valid." + RESET);
+                return;
+        }
 
-        riwayAdmin.printTable();
+        LocalDate to = LocalDate.now();
+        LocalDate from = to.minusDays(days - 1);
+        SortedMap<String, long[]> stats = ActivityStats.getInstance().countByActor(from, to);
 
+        System.out.println("Periode " + from + " s/d " + to);
+        if (stats.isEmpty()) {
+            System.out.println("(tidak ada aktivitas)");
+            pauseForBack();
+            return;
+        }
+
+        System.out.println("+--------------+------------------+--------+");
+        System.out.println("| PELAKU       | AKSI             | JUMLAH |");
+        System.out.println("+--------------+------------------+--------+");
+        long total = 0;
+        for (Map.Entry<String, long[]> e : stats.entrySet()) {
+            for (LogEvent.Type t : LogEvent.Type.values()) {
+                long n = e.getValue()[t.ordinal()];
+                if (n == 0) continue;
+                System.out.printf("| %-12s | %-16s | %6d |%n", truncate(e.getKey(), 12), t.name(), n);
+                total += n;
+            }
+        }
+        System.out.println("+--------------+------------------+--------+");
+        System.out.printf("| %-31s | %6d |%n", "TOTAL", total);
+        System.out.println("+--------------+------------------+--------+");
         pauseForBack();
     }
 
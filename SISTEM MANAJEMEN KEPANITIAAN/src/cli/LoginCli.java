@@ -49,7 +49,10 @@ public class LoginCLI {
                     case "2": memberLogin();  break;
                     case "3": registerMember(); break;
                     case "0":
-                        ds.saveAll();
+                        ds.flush();
+                        ds.checkpoint();
+                        AsyncLogAppender.closeAll();
+                        ActivityStats.getInstance().save();
                         System.out.println(GREEN + "Data disimpan. Keluar." + RESET);
                         System.exit(0);
                         break;
@@ -80,7 +83,8 @@ public class LoginCLI {
             return;
         }
 
-        new AdminCLI(a).start();
+        ds.setActor(a);
+        try { new AdminCLI(a).start(); } finally { ds.setActor(null); }
         ds.loadAll(); // reload data setelah kembali
     }
 
@@ -102,6 +106,7 @@ public class LoginCLI {
             return;
         }
 
-        new MemberCLI(m).start();
+        ds.setActor(m);
+        try { new MemberCLI(m).start(); } finally { ds.setActor(null); }
         ds.loadAll();
     }
@@ -2,6 +2,8 @@ package cli;
 
 import model.*;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 
 /**
@@ -13,9 +15,10 @@ import java.util.*;
  *     <li>Melihat daftar tugas divisi dalam bentuk tabel</li>
  *     <li>Update status tugas (IN_PROGRESS / DONE)</li>
  *     <li>Pencarian gabungan divisi & tugas (global)</li>
- *     <li>Filter tugas (status / divisi)</li>
+ *     <li>Filter tugas (status / divisi / gabungan, lewat {@link TugasQuery})</li>
  *     <li>Sortir tugas (status / nama tugas / divisi)</li>
  *     <li>Melihat riwayat aktivitas pribadi</li>
+ *     <li>Melihat tugas divisi yang terlambat / segera jatuh tempo</li>
  * </ul>
  *
  * <p>Menu utama menggunakan format ringkas (option 4 membuka submenu pencarian & filter).
@@ -54,6 +57,7 @@ public class MemberCLI {
      * [3] Update Status Tugas
      * [4] Menu Pencarian & Filter
      * [5] Lihat Riwayat
+     * [6] Tugas Terlambat & Deadline Dekat
      * [0] Logout
      * </pre>
      */
@@ -71,6 +75,7 @@ public class MemberCLI {
                 System.out.println(CYAN + " [3] Update Status Tugas" + RESET);
                 System.out.println(CYAN + " [4] Menu Pencarian & Filter" + RESET);
                 System.out.println(CYAN + " [5] Lihat Riwayat" + RESET);
+                System.out.println(CYAN + " [6] Tugas Terlambat & Deadline Dekat" + RESET);
                 System.out.println(YELLOW + " [0] Logout" + RESET);
                 System.out.println("------------------------------------------------------------");
                 System.out.print("Pilih > ");
@@ -82,7 +87,10 @@ public class MemberCLI {
                     case "3": updateStatus(); pauseForBack(); break;
                     case "4": menuPencarianFilter(); break;
                     case "5": lihatRiwayat(); pauseForBack(); break;
+                    case "6": lihatDeadline(); pauseForBack(); break;
                     case "0":
+                        ds.flush();
+                        riway.flush();
                         System.out.println(GREEN + "Logout." + RESET);
                         return;
                     default:
@@ -152,6 +160,32 @@ public class MemberCLI {
         }
     }
 
+    /**
+     * Menampilkan tugas divisi member yang belum selesai dan sudah lewat
+     * deadline, serta yang jatuh tempo dalam 3 hari ke depan.
+     */
+    private void lihatDeadline() {
+        Anggota a = ds.findAnggotaById(member.getIdAnggota());
+        Divisi d = a == null ? null : ds.findDivisiByName(a.getDivisi());
+        if (d == null) {
+            System.out.println(YELLOW + "(divisi tidak ditemukan)" + RESET);
+            return;
+        }
+
+        LocalDate today = LocalDate.now();
+        List<Tugas> overdue = ds.queryTugas(TugasQuery.overdue(today).divisi(d.getNama()));
+        List<Tugas> soon = ds.queryTugas(TugasQuery.dueWithin(today, 3).divisi(d.getNama()));
+
+        System.out.println("\n==== TUGAS TERLAMBAT - " + d.getNama() + " ====");
+        if (overdue.isEmpty()) System.out.println("(Tidak ada tugas terlambat)");
+        for (Tugas t : overdue) System.out.printf("%s | %s | %s | %s%n", t.getDeadline(), t.getId(), truncate(t.getJudul(), 40), t.getStatus());
+
+        System.out.println("\n==== JATUH TEMPO 3 HARI KE DEPAN ====");
+        if (soon.isEmpty()) System.out.println("(Tidak ada tugas)");
+        for (Tugas t : soon) System.out.printf("%s | %s | %s | %s%n", t.getDeadline(), t.getId(), truncate(t.getJudul(), 40), t.getStatus());
+        System.out.println("========================================");
+    }
+
     /**
      * Mengubah status tugas member.
      * Tugas hanya dapat diubah bila ID sesuai dan berada di divisi member.
@@ -172,30 +206,25 @@ public class MemberCLI {
             return;
         }
 
-        for (Tugas t : d.getTugasList()) {
-            if (t.getId().equals(tid)) {
-
-                System.out.println(" [1] IN_PROGRESS");
-                System.out.println(" [2] DONE");
-                System.out.print("Pilih > ");
-                String s = sc.nextLine().trim();
-
-                if ("1".equals(s)) t.setStatus(Tugas.Status.IN_PROGRESS);
-                else if ("2".equals(s)) t.setStatus(Tugas.Status.DONE);
-                else {
-                    System.out.println(YELLOW + "Pilihan tidak valid." + RESET);
-                    return;
-                }
+        Tugas t = ds.findTugasById(tid);
+        if (t == null || ds.findDivisiOfTugas(tid) != d) {
+            System.out.println(YELLOW + "Tugas tidak ditemukan." + RESET);
+            return;
+        }
 
-                riway.add(member.getIdAnggota(), "UPDATE_TUGAS," + tid + "," + member.getUsername());
-                ds.saveAll();
+        System.out.println(" [1] IN_PROGRESS");
+        System.out.println(" [2] DONE");
+        System.out.print("Pilih > ");
+        String s = sc.nextLine().trim();
 
-                System.out.println(GREEN + "Status tugas diperbarui." + RESET);
-                return;
-            }
+        if ("1".equals(s)) t.setStatus(Tugas.Status.IN_PROGRESS);
+        else if ("2".equals(s)) t.setStatus(Tugas.Status.DONE);
+        else {
+            System.out.println(YELLOW + "Pilihan tidak valid." + RESET);
+            return;
         }
 
-        System.out.println(YELLOW + "Tugas tidak ditemukan." + RESET);
+        System.out.println(GREEN + "Status tugas diperbarui." + RESET);
     }
 
     /**
@@ -254,6 +283,8 @@ public class MemberCLI {
      * - judul tugas
      * - deskripsi tugas
      *
+     * Setiap kata pada keyword dicocokkan sebagai awalan kata lewat indeks teks
+     * di {@link DataStorage}; hasil diurutkan dari yang paling relevan.
      * Hasil tugas menampilkan divisi asal tugas.
      */
     private void searchDivisiTugasMember() {
@@ -264,21 +295,11 @@ public class MemberCLI {
             return;
         }
 
-        List<Divisi> divMatches = new ArrayList<>();
+        List<Divisi> divMatches = ds.searchDivisi(q);
         List<String> tugasMatches = new ArrayList<>();
-
-        for (Divisi d : ds.getDivisiList()) {
-            if (d.getNama() != null && d.getNama().toLowerCase().contains(q)) {
-                divMatches.add(d);
-            }
-            for (Tugas t : d.getTugasList()) {
-                if ((t.getId()!=null && t.getId().toLowerCase().contains(q)) ||
-                        (t.getJudul()!=null && t.getJudul().toLowerCase().contains(q)) ||
-                        (t.getDeskripsi()!=null && t.getDeskripsi().toLowerCase().contains(q))) {
-
-                    tugasMatches.add(String.format("[%s] %s | %s", d.getNama(), t.getId(), t.getJudul()));
-                }
-            }
+        for (Tugas t : ds.searchTugas(q)) {
+            Divisi d = ds.findDivisiOfTugas(t.getId());
+            tugasMatches.add(String.format("[%s] %s | %s", d == null ? "-" : d.getNama(), t.getId(), t.getJudul()));
         }
 
         System.out.println("\n================== HASIL PENCARIAN ==================");
@@ -295,7 +316,8 @@ public class MemberCLI {
     /**
      * Menu filter tugas (default filters: status / divisi).
      *
-     * Menyajikan submenu untuk memilih jenis filter.
+     * Menyajikan submenu untuk memilih jenis filter. Semua filter dijalankan
+     * lewat {@link TugasQuery} sehingga kriteria bisa digabung.
      */
     private void filterTugas() {
         System.out.println();
@@ -304,6 +326,7 @@ public class MemberCLI {
         System.out.println("------------------------------------------------------------");
         System.out.println(" [1] Filter by Status (TODO/IN_PROGRESS/DONE)");
         System.out.println(" [2] Filter by Divisi");
+        System.out.println(" [3] Filter Gabungan (status + divisi + deadline + keyword)");
         System.out.println(" [0] Batal");
         System.out.println("------------------------------------------------------------");
         System.out.print("Pilih > ");
@@ -312,6 +335,7 @@ public class MemberCLI {
         switch (o) {
             case "1": filterByStatus(); break;
             case "2": filterByDivisi(); break;
+            case "3": filterGabungan(); break;
             default: System.out.println(YELLOW + "Operasi dibatalkan / pilihan tidak valid." + RESET);
         }
     }
@@ -326,18 +350,12 @@ public class MemberCLI {
         String s = sc.nextLine().trim().toUpperCase();
         if (s.isEmpty()) { System.out.println(YELLOW + "Input kosong." + RESET); return; }
 
-        List<String> out = new ArrayList<>();
-        for (Divisi d : ds.getDivisiList()) {
-            for (Tugas t : d.getTugasList()) {
-                if (t.getStatus() != null && t.getStatus().name().equalsIgnoreCase(s)) {
-                    out.add(String.format("[%s] %s | %s | %s", d.getNama(), t.getId(), t.getJudul(), t.getStatus()));
-                }
-            }
-        }
+        Tugas.Status st = parseStatus(s);
+        List<Tugas> out = st == null ? new ArrayList<>() : ds.queryTugas(new TugasQuery().status(st));
 
         System.out.println("\n==== HASIL FILTER STATUS: " + s + " ====");
         if (out.isEmpty()) System.out.println("(Tidak ada tugas dengan status tersebut)");
-        else out.forEach(System.out::println);
+        else printTugasRows(out);
         System.out.println("========================================");
     }
 
@@ -349,18 +367,58 @@ public class MemberCLI {
         String q = sc.nextLine().trim().toLowerCase();
         if (q.isEmpty()) { System.out.println(YELLOW + "Input kosong." + RESET); return; }
 
-        List<String> out = new ArrayList<>();
-        for (Divisi d : ds.getDivisiList()) {
-            if (d.getNama() != null && d.getNama().toLowerCase().contains(q)) {
-                for (Tugas t : d.getTugasList()) {
-                    out.add(String.format("[%s] %s | %s | %s", d.getNama(), t.getId(), t.getJudul(), t.getStatus()));
-                }
-            }
-        }
+        List<Tugas> out = ds.queryTugas(new TugasQuery().divisiContains(q));
 
         System.out.println("\n==== HASIL FILTER DIVISI: " + q + " ====");
         if (out.isEmpty()) System.out.println("(Tidak ada tugas pada divisi tersebut)");
-        else out.forEach(System.out::println);
+        else printTugasRows(out);
+        System.out.println("========================================");
+    }
+
+    /**
+     * Filter gabungan: setiap kriteria boleh dikosongkan (berarti "apa saja").
+     * Status bisa lebih dari satu, dipisah koma; deadline memakai format yyyy-mm-dd.
+     */
+    private void filterGabungan() {
+        TugasQuery query = new TugasQuery();
+
+        System.out.print("Status (mis. TODO,IN_PROGRESS; kosong = semua): ");
+        String s = sc.nextLine().trim();
+        if (!s.isEmpty()) {
+            List<Tugas.Status> st = new ArrayList<>();
+            for (String part : s.split(",")) {
+                Tugas.Status x = parseStatus(part.trim().toUpperCase());
+                if (x == null) { System.out.println(YELLOW + "Status tidak valid: " + part.trim() + RESET); return; }
+                st.add(x);
+            }
+            query.status(st.toArray(new Tugas.Status[0]));
+        }
+
+        System.out.print("Nama/keyword divisi (kosong = semua): ");
+        query.divisiContains(sc.nextLine());
+
+        System.out.print("Deadline dari (yyyy-mm-dd, kosong = tanpa batas): ");
+        String from = sc.nextLine().trim();
+        System.out.print("Deadline sampai (yyyy-mm-dd, kosong = tanpa batas): ");
+        String to = sc.nextLine().trim();
+        try {
+            query.deadlineBetween(from.isEmpty() ? null : LocalDate.parse(from),
+                                  to.isEmpty() ? null : LocalDate.parse(to));
+        } catch (DateTimeParseException e) {
+            System.out.println(YELLOW + "Format tanggal tidak valid." + RESET);
+            return;
+        }
+
+        System.out.print("Keyword tugas (kosong = semua): ");
+        query.text(sc.nextLine());
+
+        System.out.print("Urutkan [1] Divisi [2] Judul [3] Status [4] Deadline (default 1): ");
+        query.orderBy(orderOf(sc.nextLine().trim()));
+
+        List<Tugas> out = ds.queryTugas(query);
+        System.out.println("\n==== HASIL FILTER GABUNGAN (" + out.size() + " tugas) ====");
+        if (out.isEmpty()) System.out.println("(Tidak ada tugas yang cocok)");
+        else printTugasRows(out);
         System.out.println("========================================");
     }
 
@@ -371,6 +429,8 @@ public class MemberCLI {
      * - status (order: TODO -> IN_PROGRESS -> DONE)
      * - nama tugas (A-Z)
      * - divisi (A-Z)
+     *
+     * Urutan dibaca langsung dari view terurut di {@link DataStorage}, tanpa pengurutan ulang.
      */
     private void sortTugas() {
         System.out.println();
@@ -385,60 +445,71 @@ public class MemberCLI {
         System.out.print("Pilih > ");
         String o = sc.nextLine().trim();
 
-        // kumpulkan semua tugas bersama nama divisi
-        List<Map.Entry<Divisi, Tugas>> pool = new ArrayList<>();
-        for (Divisi d : ds.getDivisiList()) {
-            for (Tugas t : d.getTugasList()) pool.add(new AbstractMap.SimpleEntry<>(d, t));
-        }
-
+        TugasQuery.Order order;
         switch (o) {
-            case "1":
-                pool.sort(Comparator.comparingInt(e -> statusOrder(e.getValue().getStatus())));
-                break;
-            case "2":
-                pool.sort(Comparator.comparing(e -> {
-                    String j = e.getValue().getJudul();
-                    return j == null ? "" : j.toLowerCase();
-                }));
-                break;
-            case "3":
-                pool.sort(Comparator.comparing(e -> {
-                    String dn = e.getKey().getNama();
-                    return dn == null ? "" : dn.toLowerCase();
-                }));
-                break;
+            case "1": order = TugasQuery.Order.STATUS; break;
+            case "2": order = TugasQuery.Order.JUDUL; break;
+            case "3": order = TugasQuery.Order.DIVISI; break;
             default:
                 System.out.println(YELLOW + "Operasi dibatalkan / pilihan tidak valid." + RESET);
                 return;
         }
+        StringBuilder rows = new StringBuilder();
+        ds.forEachTugasSorted(order, t -> rows.append(String.format("[%s] %s | %s | status=%s%n",
+                divisiOf(t), t.getId(), truncate(t.getJudul(), 40), t.getStatus())));
 
         System.out.println("\n==== HASIL SORTIR ====");
-        if (pool.isEmpty()) {
+        if (rows.length() == 0) {
             System.out.println("(Tidak ada tugas)");
         } else {
-            for (Map.Entry<Divisi, Tugas> e : pool) {
-                Divisi d = e.getKey();
-                Tugas t = e.getValue();
-                System.out.printf("[%s] %s | %s | status=%s%n",
-                        d.getNama(), t.getId(), truncate(t.getJudul(), 40), t.getStatus());
-            }
+            System.out.print(rows);
         }
         System.out.println("========================================");
     }
 
     /**
-     * Helper: konversi status ke urutan integer untuk sorting.
+     * Helper: mencetak hasil filter dengan format <code>[divisi] id | judul | status</code>.
      *
-     * @param s status tugas
-     * @return urutan (lebih kecil = diprioritaskan di depan)
+     * @param list tugas hasil query
      */
-    private int statusOrder(Tugas.Status s) {
-        if (s == null) return 99;
-        switch (s) {
-            case TODO: return 0;
-            case IN_PROGRESS: return 1;
-            case DONE: return 2;
-            default: return 99;
+    private void printTugasRows(List<Tugas> list) {
+        for (Tugas t : list)
+            System.out.println(String.format("[%s] %s | %s | %s", divisiOf(t), t.getId(), t.getJudul(), t.getStatus()));
+    }
+
+    /**
+     * Helper: nama divisi pemilik tugas.
+     *
+     * @param t tugas
+     * @return nama divisi, atau "-" jika tidak diketahui
+     */
+    private String divisiOf(Tugas t) {
+        Divisi d = ds.findDivisiOfTugas(t.getId());
+        return d == null ? "-" : d.getNama();
+    }
+
+    /**
+     * Helper: konversi input ke status tugas.
+     *
+     * @param s nama status (huruf besar)
+     * @return status, atau null jika tidak valid
+     */
+    private Tugas.Status parseStatus(String s) {
+        try { return Tugas.Status.valueOf(s); } catch (IllegalArgumentException e) { return null; }
+    }
+
+    /**
+     * Helper: konversi pilihan menu ke urutan query.
+     *
+     * @param o pilihan (1-4)
+     * @return urutan hasil (default: divisi)
+     */
+    private TugasQuery.Order orderOf(String o) {
+        switch (o) {
+            case "2": return TugasQuery.Order.JUDUL;
+            case "3": return TugasQuery.Order.STATUS;
+            case "4": return TugasQuery.Order.DEADLINE;
+            default: return TugasQuery.Order.DIVISI;
         }
     }
 
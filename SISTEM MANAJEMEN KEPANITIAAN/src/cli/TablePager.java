@@ -0,0 +1,137 @@
+package cli;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Membagi tabel yang dikelompokkan (misalnya anggota per divisi) menjadi
+ * halaman, tanpa mengurutkan seluruh isi tabel.
+ *
+ * <p>Kelompok sudah terurut dan ukurannya diketahui, sehingga posisi setiap
+ * halaman cukup dihitung dari jumlah kumulatif ukuran kelompok. Di dalam satu
+ * kelompok hanya baris pada rentang halaman yang dipilih, lewat seleksi
+ * parsial dengan heap berukuran terbatas (lihat {@link #select}), lalu
+ * seluruh halaman disusun di satu {@link StringBuilder} dan dicetak sekaligus.</p>
+ *
+ * <p>Kelompok kosong tetap menempati satu baris agar tetap tampil
+ * (misalnya divisi yang belum punya tugas).</p>
+ *
+ * @param <G> jenis kelompok
+ * @param <T> jenis baris
+ */
+final class TablePager<G, T> {
+    private final List<G> groups;
+    private final Function<G, Collection<T>> items;
+    private final Comparator<T> order;
+    private final BiConsumer<StringBuilder, G> header;
+    private final BiConsumer<StringBuilder, T> row;
+    private final String emptyRow;
+    private final int pageSize;
+
+    /** Posisi baris pertama setiap kelompok; elemen terakhir = jumlah baris */
+    private final int[] start;
+
+    /**
+     * @param groups   kelompok, sudah terurut
+     * @param items    isi setiap kelompok (belum terurut)
+     * @param order    urutan baris di dalam kelompok
+     * @param header   penulis judul kelompok (dipanggil setiap kali kelompok muncul di halaman)
+     * @param row      penulis satu baris
+     * @param emptyRow teks untuk kelompok kosong
+     * @param pageSize jumlah baris per halaman
+     */
+    TablePager(List<G> groups, Function<G, Collection<T>> items, Comparator<T> order,
+               BiConsumer<StringBuilder, G> header, BiConsumer<StringBuilder, T> row,
+               String emptyRow, int pageSize) {
+        this.groups = groups;
+        this.items = items;
+        this.order = order;
+        this.header = header;
+        this.row = row;
+        this.emptyRow = emptyRow;
+        this.pageSize = Math.max(1, pageSize);
+        this.start = new int[groups.size() + 1];
+        for (int i = 0; i < groups.size(); i++)
+            start[i + 1] = start[i] + Math.max(1, items.apply(groups.get(i)).size());
+    }
+
+    /** @return jumlah baris (kelompok kosong dihitung satu) */
+    int rows() { return start[groups.size()]; }
+
+    /** @return jumlah halaman (minimal 1) */
+    int pages() { return Math.max(1, (rows() + pageSize - 1) / pageSize); }
+
+    /**
+     * @param page nomor halaman (mulai dari 1)
+     * @return teks halaman tersebut
+     */
+    String page(int page) {
+        int p = Math.max(1, Math.min(page, pages()));
+        return range((p - 1) * pageSize, p * pageSize);
+    }
+
+    /**
+     * Menyusun baris pada rentang posisi [from, to).
+     *
+     * @param from posisi awal (inklusif)
+     * @param to   posisi akhir (eksklusif)
+     * @return teks baris-baris tersebut beserta judul kelompoknya
+     */
+    String range(int from, int to) {
+        from = Math.max(0, from);
+        to = Math.min(to, rows());
+        if (from >= to) return "";
+        StringBuilder sb = new StringBuilder(128 * (to - from));
+        int g = Arrays.binarySearch(start, 0, groups.size(), from);
+        if (g < 0) g = -g - 2;
+        for (; g < groups.size() && start[g] < to; g++) {
+            G group = groups.get(g);
+            header.accept(sb, group);
+            Collection<T> all = items.apply(group);
+            if (all.isEmpty()) { sb.append(emptyRow).append('\n'); continue; }
+            int a = Math.max(from, start[g]) - start[g], b = Math.min(to, start[g + 1]) - start[g];
+            for (T t : select(all, order, a, b)) row.accept(sb, t);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Memilih elemen peringkat [from, to) tanpa mengurutkan seluruh koleksi.
+     * Heap dibuat dari sisi yang lebih dekat: berukuran <code>to</code> untuk
+     * halaman awal, atau <code>n - from</code> untuk halaman akhir, sehingga
+     * biayanya O(n log k).
+     *
+     * @param all   koleksi sumber
+     * @param cmp   urutan
+     * @param from  peringkat awal (inklusif)
+     * @param to    peringkat akhir (eksklusif)
+     * @return elemen pada rentang tersebut, terurut
+     */
+    static <T> List<T> select(Collection<T> all, Comparator<T> cmp, int from, int to) {
+        int n = all.size();
+        to = Math.min(to, n);
+        if (from >= to) return new ArrayList<>();
+        List<T> out = new ArrayList<>(to - from);
+        if (to <= n - from) {
+            // simpan `to` elemen terkecil; puncak heap = yang terbesar
+            PriorityQueue<T> heap = new PriorityQueue<>(to, cmp.reversed());
+            for (T t : all) {
+                if (heap.size() < to) heap.add(t);
+                else if (cmp.compare(t, heap.peek()) < 0) { heap.poll(); heap.add(t); }
+            }
+            for (int i = from; i < to; i++) out.add(heap.poll());
+            Collections.reverse(out);
+        } else {
+            // simpan `n - from` elemen terbesar; puncak heap = yang terkecil
+            int k = n - from;
+            PriorityQueue<T> heap = new PriorityQueue<>(k, cmp);
+            for (T t : all) {
+                if (heap.size() < k) heap.add(t);
+                else if (cmp.compare(t, heap.peek()) > 0) { heap.poll(); heap.add(t); }
+            }
+            for (int i = from; i < to; i++) out.add(heap.poll());
+        }
+        return out;
+    }
+}
@@ -0,0 +1,305 @@
+package model;
+
+import java.io.*;
+import java.nio.file.*;
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Penghitung aktivitas per pelaku, per jenis event, per hari.
+ *
+ * <p>Setiap event yang dicatat lewat {@link RiwayatAdmin#add} dan
+ * {@link RiwayatMember#add} menambah penghitung di memori begitu event itu
+ * tertulis ke file riwayat (lewat {@link AsyncLogAppender.WriteListener}),
+ * sehingga laporan seperti "berapa kali tiap anggota mengubah status tugas
+ * minggu ini" cukup membaca penghitung per hari, tanpa membaca file riwayat.
+ * Event yang gagal ditulis tidak ikut terhitung, jadi jumlah event terhitung
+ * tidak pernah melebihi isi file.</p>
+ *
+ * <p>Penghitung disimpan berkala ke <code>data/activity_stats.bin</code>
+ * (interval lewat system property <code>kepanitiaan.stats.interval</code> dalam
+ * detik, default 30) dan saat {@link #save()} dipanggil:</p>
+ * <pre>
+ * "KPAS" versi
+ * jumlahEventAdmin jumlahEventMember   (event riwayat yang sudah terhitung)
+ * kamus pelaku : jumlah, lalu string
+ * hari         : jumlah, lalu epochDay jumlahPelaku, lalu
+ *                indeksPelaku jumlahJenis, lalu kodeJenis(byte) hitungan
+ * </pre>
+ *
+ * <p>Saat pertama dipakai, jumlah event di snapshot dibandingkan dengan
+ * jumlah event di file riwayat ({@link LogSegments}). Event yang belum
+ * terhitung (misalnya aplikasi berhenti sebelum snapshot tersimpan) dihitung
+ * dari file; bila file riwayat lebih pendek dari snapshot, penghitung
+ * dibangun ulang dari awal.</p>
+ */
+public final class ActivityStats {
+    private static final int MAGIC = 0x4B504153; // "KPAS"
+    private static final byte VERSION = 1;
+    private static final int TYPES = LogEvent.Type.values().length;
+
+    /** Sumber event beserta file riwayatnya. */
+    enum Source {
+        ADMIN(Paths.get("data", "riwayat_admin.bin")),
+        MEMBER(Paths.get("data", "riwayat_member.bin"));
+
+        final Path log;
+
+        Source(Path log) { this.log = log; }
+    }
+
+    private static ActivityStats instance;
+
+    private final Path file = Paths.get("data", "activity_stats.bin");
+
+    /** epochDay -> pelaku -> hitungan per jenis event (indeks = ordinal) */
+    private final Map<Long, Map<String, long[]>> days = new HashMap<>();
+
+    /** Jumlah event yang sudah terhitung per sumber */
+    private final long[] counted = new long[Source.values().length];
+
+    private boolean loaded;
+    private boolean dirty;
+
+    private ActivityStats() {
+        long interval = Math.max(1, Long.getLong("kepanitiaan.stats.interval", 30L));
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "stats-snapshot");
+            t.setDaemon(true);
+            return t;
+        });
+        timer.scheduleWithFixedDelay(this::save, interval, interval, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::save, "stats-snapshot-shutdown"));
+    }
+
+    /**
+     * @return instance tunggal penghitung aktivitas
+     */
+    public static synchronized ActivityStats getInstance() {
+        if (instance == null) instance = new ActivityStats();
+        return instance;
+    }
+
+    /**
+     * Membuat penerima notifikasi penulisan untuk file riwayat sebuah sumber.
+     *
+     * @param source sumber event
+     * @return listener yang menghitung setiap batch yang sudah tertulis
+     */
+    static AsyncLogAppender.WriteListener listener(Source source) {
+        return new AsyncLogAppender.WriteListener() {
+            @Override public void written(List<LogEvent> events, long[] offsets) { getInstance().written(source, events); }
+            @Override public void sealed(int seq) { }
+        };
+    }
+
+    /**
+     * Menambah penghitung untuk satu batch yang sudah tertulis. Dipanggil di
+     * thread penulis log, sehingga jumlah event di file sudah mencakup batch
+     * ini dan belum mencakup batch berikutnya. Bila {@link #ensureLoaded()}
+     * baru saja membaca file, bagian batch yang sudah terhitung dilewati.
+     *
+     * @param source sumber event
+     * @param events event yang tertulis, sesuai urutan
+     */
+    synchronized void written(Source source, List<LogEvent> events) {
+        ensureLoaded();
+        long missing = LogSegments.of(source.log).totalEvents() - counted[source.ordinal()];
+        int from = (int) Math.max(0, events.size() - Math.max(0, missing));
+        for (int i = from; i < events.size(); i++) count(events.get(i));
+        counted[source.ordinal()] += events.size() - from;
+        if (from < events.size()) dirty = true;
+    }
+
+    /**
+     * Menunggu sampai event domain tercatat dan semua entri riwayat yang
+     * sudah diantre tertulis (dan karenanya terhitung).
+     */
+    private static void awaitWritten() {
+        EventBus.getInstance().drain();
+        for (Source s : Source.values()) AsyncLogAppender.forFile(s.log).flush();
+    }
+
+    /**
+     * @param actor ID pelaku
+     * @param type jenis event
+     * @param day tanggal
+     * @return jumlah event pelaku dengan jenis tersebut pada tanggal itu
+     */
+    public long count(String actor, LogEvent.Type type, LocalDate day) { return count(actor, type, day, day); }
+
+    /**
+     * @param actor ID pelaku
+     * @param type jenis event
+     * @param from tanggal awal (inklusif)
+     * @param to tanggal akhir (inklusif)
+     * @return jumlah event pelaku dengan jenis tersebut dalam rentang tanggal
+     */
+    public long count(String actor, LogEvent.Type type, LocalDate from, LocalDate to) {
+        awaitWritten();
+        long n = 0;
+        synchronized (this) {
+            ensureLoaded();
+            for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) n += countOn(actor, type, d);
+        }
+        return n;
+    }
+
+    private long countOn(String actor, LogEvent.Type type, LocalDate day) {
+        Map<String, long[]> byActor = days.get(day.toEpochDay());
+        long[] c = byActor == null ? null : byActor.get(actor);
+        return c == null ? 0 : c[type.ordinal()];
+    }
+
+    /**
+     * Menjumlahkan penghitung semua pelaku dalam rentang tanggal.
+     *
+     * @param from tanggal awal (inklusif)
+     * @param to tanggal akhir (inklusif)
+     * @return pelaku (urut nama) -> jumlah per jenis event (indeks = {@link LogEvent.Type#ordinal()})
+     */
+    public SortedMap<String, long[]> countByActor(LocalDate from, LocalDate to) {
+        awaitWritten();
+        synchronized (this) { return sumByActor(from, to); }
+    }
+
+    private SortedMap<String, long[]> sumByActor(LocalDate from, LocalDate to) {
+        ensureLoaded();
+        SortedMap<String, long[]> out = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) {
+            Map<String, long[]> byActor = days.get(d.toEpochDay());
+            if (byActor == null) continue;
+            for (Map.Entry<String, long[]> e : byActor.entrySet()) {
+                long[] sum = out.computeIfAbsent(e.getKey(), k -> new long[TYPES]);
+                for (int i = 0; i < TYPES; i++) sum[i] += e.getValue()[i];
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Menyimpan penghitung ke file jika ada perubahan sejak penyimpanan terakhir.
+     */
+    public synchronized void save() {
+        if (!loaded || !dirty) return;
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            if (!Files.exists(file.getParent())) Files.createDirectories(file.getParent());
+            write(tmp);
+            try {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            dirty = false;
+        } catch (IOException e) {
+            System.err.println("write stats: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Memuat snapshot lalu menghitung event riwayat yang belum tercakup.
+     */
+    private void ensureLoaded() {
+        if (loaded) return;
+        loaded = true;
+        if (!read()) clear();
+        long[] total = new long[counted.length];
+        for (Source s : Source.values()) {
+            LegacyLogConverter.migrate(s.log);
+            total[s.ordinal()] = LogSegments.of(s.log).totalEvents();
+        }
+        for (Source s : Source.values()) if (total[s.ordinal()] < counted[s.ordinal()]) clear();
+        for (Source s : Source.values()) {
+            long skip = counted[s.ordinal()];
+            if (skip >= total[s.ordinal()]) continue;
+            try {
+                LogSegments.of(s.log).scan(skip, e -> { count(e); counted[s.ordinal()]++; });
+            } catch (IOException e) {
+                System.err.println("read riwayat untuk stats: " + e.getMessage());
+            }
+            dirty = true;
+        }
+    }
+
+    private void count(LogEvent e) {
+        long day = Instant.ofEpochMilli(e.getTime()).atZone(ZoneId.systemDefault()).toLocalDate().toEpochDay();
+        days.computeIfAbsent(day, k -> new HashMap<>())
+            .computeIfAbsent(e.getActor(), k -> new long[TYPES])[e.getType().ordinal()]++;
+    }
+
+    private void clear() {
+        days.clear();
+        Arrays.fill(counted, 0);
+        dirty = true;
+    }
+
+    private void write(Path target) throws IOException {
+        Map<String, Integer> dict = new LinkedHashMap<>();
+        for (Map<String, long[]> byActor : days.values())
+            for (String a : byActor.keySet()) dict.putIfAbsent(a, dict.size());
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(target), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            for (long c : counted) out.writeLong(c);
+
+            out.writeInt(dict.size());
+            for (String a : dict.keySet()) out.writeUTF(a);
+
+            out.writeInt(days.size());
+            for (Map.Entry<Long, Map<String, long[]>> d : days.entrySet()) {
+                out.writeInt(d.getKey().intValue());
+                out.writeInt(d.getValue().size());
+                for (Map.Entry<String, long[]> e : d.getValue().entrySet()) {
+                    out.writeInt(dict.get(e.getKey()));
+                    long[] c = e.getValue();
+                    int n = 0;
+                    for (long x : c) if (x != 0) n++;
+                    out.writeByte(n);
+                    for (LogEvent.Type t : LogEvent.Type.values()) {
+                        if (c[t.ordinal()] == 0) continue;
+                        out.writeByte(t.getCode());
+                        out.writeLong(c[t.ordinal()]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return false jika file tidak ada atau rusak
+     */
+    private boolean read() {
+        if (!Files.exists(file)) return false;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readByte() != VERSION) return false;
+            for (int i = 0; i < counted.length; i++) counted[i] = in.readLong();
+
+            String[] dict = new String[in.readInt()];
+            for (int i = 0; i < dict.length; i++) dict[i] = in.readUTF();
+
+            int nDays = in.readInt();
+            for (int i = 0; i < nDays; i++) {
+                long day = in.readInt();
+                int nActors = in.readInt();
+                Map<String, long[]> byActor = new HashMap<>();
+                for (int j = 0; j < nActors; j++) {
+                    long[] c = new long[TYPES];
+                    String actor = dict[in.readInt()];
+                    int n = in.readUnsignedByte();
+                    for (int k = 0; k < n; k++) c[LogEvent.Type.fromCode(in.readByte()).ordinal()] += in.readLong();
+                    byActor.put(actor, c);
+                }
+                days.put(day, byActor);
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("read stats: " + e.getMessage());
+            return false;
+        }
+    }
+}
@@ -12,6 +12,9 @@ public class Anggota {
     private String divisi;
     private String noHp;
 
+    /** Penerima notifikasi perubahan (diisi oleh DataStorage). */
+    private ModelListener listener;
+
     /**
      * Konstruktor untuk membuat objek Anggota baru.
      *
@@ -40,28 +43,62 @@ public class Anggota {
      * Mengubah nama anggota.
      * @param nama Nama baru
      */
-    public void setNama(String nama) { this.nama = nama; }
+    public void setNama(String nama) {
+        ModelListener l = beginChange();
+        try { this.nama = nama; fireChanged(); } finally { endChange(l); }
+    }
 
     /**
      * Mengubah divisi anggota.
      * @param divisi Divisi baru
      */
-    public void setDivisi(String divisi) { this.divisi = divisi; }
+    public void setDivisi(String divisi) {
+        ModelListener l = beginChange();
+        try { this.divisi = divisi; fireChanged(); } finally { endChange(l); }
+    }
 
     /**
      * Mengubah nomor HP anggota.
      * @param noHp Nomor HP baru
      */
-    public void setNoHp(String noHp) { this.noHp = noHp; }
+    public void setNoHp(String noHp) {
+        ModelListener l = beginChange();
+        try { this.noHp = noHp; fireChanged(); } finally { endChange(l); }
+    }
+
+    /**
+     * Memasang penerima notifikasi perubahan.
+     * @param l listener, atau null untuk melepas
+     */
+    void setListener(ModelListener l) { this.listener = l; }
+
+    /**
+     * Mengambil write lock lewat listener sebelum field diubah.
+     * @return listener yang dikunci, atau null
+     */
+    private ModelListener beginChange() {
+        ModelListener l = listener;
+        if (l!=null) l.beginChange();
+        return l;
+    }
+
+    /** @param l listener dari {@link #beginChange()} */
+    private static void endChange(ModelListener l) { if (l!=null) l.endChange(); }
+
+    /** Memberi tahu listener bahwa data anggota berubah. */
+    private void fireChanged() { if (listener!=null) listener.anggotaChanged(this); }
 
     /**
      * Mengubah objek Anggota menjadi string untuk disimpan ke file.
-     * Format: id,nama,divisi,noHp
+     * Format: id,nama,divisi,noHp (karakter khusus di-escape dengan backslash)
      *
      * @return representasi string dari anggota
      */
     @Override
-    public String toString() { return id + "," + nama + "," + divisi + "," + noHp; }
+    public String toString() {
+        return RecordTokenizer.escape(id) + "," + RecordTokenizer.escape(nama) + ","
+                + RecordTokenizer.escape(divisi) + "," + RecordTokenizer.escape(noHp);
+    }
 
     /**
      * Mengubah string hasil penyimpanan menjadi objek Anggota kembali.
@@ -69,9 +106,17 @@ public class Anggota {
      * @param s String dengan format: id,nama,divisi,noHp
      * @return Objek Anggota atau null jika format tidak valid
      */
-    public static Anggota fromString(String s) {
-        String[] p = s.split(",", -1);
-        if (p.length < 4) return null;
-        return new Anggota(p[0], p[1], p[2], p[3]);
+    public static Anggota fromString(String s) { return fromTokens(new RecordTokenizer(',').reset(s)); }
+
+    /**
+     * Membuat objek Anggota dari tokenizer yang sudah diarahkan ke satu baris.
+     *
+     * @param tok tokenizer dengan pemisah ','
+     * @return Objek Anggota atau null jika format tidak valid
+     */
+    static Anggota fromTokens(RecordTokenizer tok) {
+        String id = tok.next(), nama = tok.next(), divisi = tok.next(), noHp = tok.next();
+        if (noHp == null) return null;
+        return new Anggota(id, nama, divisi, noHp);
     }
 }
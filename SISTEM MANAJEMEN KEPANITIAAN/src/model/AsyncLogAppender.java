@@ -0,0 +1,360 @@
+package model;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Penulis log asinkron untuk file riwayat ({@link RiwayatAdmin}, {@link RiwayatMember}).
+ *
+ * <p>Pemanggil hanya memasukkan {@link LogEvent} ke antrean berukuran tetap (ring buffer).
+ * Satu thread penulis per file mengambil event secara berkelompok, meng-encode-nya
+ * menjadi record biner, dan menuliskannya lewat {@link FileChannel} yang tetap terbuka, sehingga tidak
+ * ada buka/tutup file untuk setiap entri.</p>
+ *
+ * <p>Konfigurasi lewat system property:</p>
+ * <ul>
+ *     <li><code>kepanitiaan.log.flush</code> — <code>batch</code> (default),
+ *         <code>interval:ms</code>, atau <code>force</code> (lihat {@link FlushPolicy})</li>
+ *     <li><code>kepanitiaan.log.overflow</code> — <code>block</code> (default) atau
+ *         <code>drop</code> (lihat {@link OverflowPolicy})</li>
+ *     <li><code>kepanitiaan.log.buffer</code> — kapasitas antrean (default 1024)</li>
+ * </ul>
+ *
+ * <p>File log dipecah menjadi segmen oleh {@link LogSegments}: sebelum sebuah
+ * batch ditulis, segmen aktif ditutup bila sudah melewati batas ukuran/umur.</p>
+ *
+ * <p>Pembaca file log memanggil {@link #flush()} terlebih dahulu agar entri
+ * yang masih antre ikut terbaca. {@link #closeAll()} menulis sisa antrean
+ * dan menghentikan semua thread penulis (dipanggil saat exit, dan juga
+ * dipasang sebagai shutdown hook). Keduanya menunggu tanpa batas waktu sampai
+ * thread penulis selesai, dan melempar {@link UncheckedIOException} bila ada
+ * entri yang gagal ditulis sejak pemeriksaan sebelumnya.</p>
+ */
+public final class AsyncLogAppender {
+    /**
+     * Kapan isi batch ditulis ke file.
+     * BATCH = setiap kali antrean selesai dikuras,
+     * INTERVAL = paling lambat setiap interval tertentu,
+     * FORCE = seperti BATCH, ditambah sinkronisasi ke disk (fsync).
+     */
+    public enum FlushPolicy { BATCH, INTERVAL, FORCE }
+
+    /**
+     * Perilaku saat antrean penuh.
+     * BLOCK = pemanggil menunggu sampai ada tempat,
+     * DROP = entri dibuang dan dihitung di {@link #getDropped()}.
+     */
+    public enum OverflowPolicy { BLOCK, DROP }
+
+    /**
+     * Penerima notifikasi setelah satu batch event tertulis ke file.
+     * Dipanggil dari thread penulis.
+     */
+    interface WriteListener {
+        /**
+         * @param events event yang tertulis, sesuai urutan
+         * @param offsets posisi byte awal tiap record di file; elemen terakhir
+         *                adalah posisi akhir batch (panjang = events.size() + 1)
+         */
+        void written(List<LogEvent> events, long[] offsets);
+
+        /**
+         * Dipanggil setelah segmen aktif ditutup; record berikutnya ditulis
+         * ke file aktif yang baru (offset mulai dari 0).
+         *
+         * @param seq nomor segmen yang baru ditutup
+         */
+        void sealed(int seq);
+    }
+
+    /** Batas jumlah event tertunda sebelum dipaksa ditulis pada mode INTERVAL */
+    private static final int MAX_PENDING = 4096;
+
+    /** Penanda berhenti untuk thread penulis */
+    private static final Object STOP = new Object();
+
+    /** Penanda flush di antrean; dilepas thread penulis setelah entri sebelumnya ditulis */
+    private static final class Barrier {
+        final CountDownLatch done = new CountDownLatch(1);
+        /** Kesalahan tulis sejak flush sebelumnya (diisi sebelum done dilepas) */
+        IOException error;
+    }
+
+    private static final Map<Path, AsyncLogAppender> registry = new HashMap<>();
+    private static boolean hookInstalled;
+
+    private final Path file;
+    private final LogSegments segments;
+    private final BlockingQueue<Object> queue;
+    private final int capacity;
+    private final FlushPolicy flushPolicy;
+    private final long intervalMs;
+    private final OverflowPolicy overflow;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean closed;
+    private volatile WriteListener listener;
+
+    /** Hanya diakses oleh thread penulis (dan oleh close() setelah thread selesai) */
+    private FileChannel channel;
+    private IOException unreported;
+    private final List<LogEvent> pending = new ArrayList<>();
+    private long lastWrite = System.currentTimeMillis();
+
+    private AsyncLogAppender(Path file, int capacity, FlushPolicy flushPolicy, long intervalMs, OverflowPolicy overflow) {
+        this.file = file;
+        this.segments = LogSegments.of(file);
+        this.capacity = capacity;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.flushPolicy = flushPolicy;
+        this.intervalMs = intervalMs;
+        this.overflow = overflow;
+        this.writer = new Thread(this::run, "log-writer-" + file.getFileName());
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Mengambil appender untuk sebuah file. Satu file selalu dilayani oleh
+     * satu appender (dan satu thread penulis) selama belum ditutup.
+     *
+     * @param file file log
+     * @return appender untuk file tersebut
+     */
+    static AsyncLogAppender forFile(Path file) { return forFile(file, null); }
+
+    /**
+     * Mengambil appender untuk sebuah file sekaligus memasang penerima
+     * notifikasi penulisan.
+     *
+     * @param file file log
+     * @param listener penerima notifikasi (null = tidak mengubah yang terpasang)
+     * @return appender untuk file tersebut
+     */
+    static synchronized AsyncLogAppender forFile(Path file, WriteListener listener) {
+        Path key = file.toAbsolutePath().normalize();
+        AsyncLogAppender a = registry.get(key);
+        if (a == null || a.closed) {
+            a = create(file);
+            registry.put(key, a);
+        }
+        if (listener != null) a.listener = listener;
+        if (!hookInstalled) {
+            Runtime.getRuntime().addShutdownHook(new Thread(AsyncLogAppender::closeAll, "log-writer-shutdown"));
+            hookInstalled = true;
+        }
+        return a;
+    }
+
+    /**
+     * Membuat appender baru sesuai konfigurasi system property.
+     *
+     * @param file file log
+     * @return appender baru
+     */
+    private static AsyncLogAppender create(Path file) {
+        int cap = Math.max(16, Integer.getInteger("kepanitiaan.log.buffer", 1024));
+        FlushPolicy fp = FlushPolicy.BATCH;
+        long interval = 200;
+        String cfg = System.getProperty("kepanitiaan.log.flush");
+        if (cfg != null && !cfg.trim().isEmpty()) {
+            String[] p = cfg.trim().toLowerCase().split(":", 2);
+            switch (p[0]) {
+                case "batch": fp = FlushPolicy.BATCH; break;
+                case "interval": fp = FlushPolicy.INTERVAL; break;
+                case "force": fp = FlushPolicy.FORCE; break;
+                default: System.err.println("log flush tidak dikenal: " + cfg);
+            }
+            if (p.length > 1) {
+                try { interval = Math.max(1, Long.parseLong(p[1].trim())); } catch (NumberFormatException e) { System.err.println("log flush interval: " + p[1]); }
+            }
+        }
+        OverflowPolicy op = "drop".equalsIgnoreCase(System.getProperty("kepanitiaan.log.overflow")) ? OverflowPolicy.DROP : OverflowPolicy.BLOCK;
+        return new AsyncLogAppender(file, cap, fp, interval, op);
+    }
+
+    /**
+     * Menutup semua appender: sisa antrean ditulis, lalu file ditutup.
+     * Aman dipanggil berulang kali.
+     *
+     * @throws UncheckedIOException jika ada entri yang gagal ditulis (semua appender tetap ditutup)
+     */
+    public static void closeAll() {
+        List<AsyncLogAppender> list;
+        synchronized (AsyncLogAppender.class) {
+            list = new ArrayList<>(registry.values());
+            registry.clear();
+        }
+        UncheckedIOException failure = null;
+        for (AsyncLogAppender a : list) {
+            try { a.close(); }
+            catch (UncheckedIOException e) {
+                if (failure == null) failure = e; else failure.addSuppressed(e);
+            }
+        }
+        if (failure != null) throw failure;
+    }
+
+    /**
+     * Memasukkan satu event ke antrean. Event ditulis ke file oleh thread penulis.
+     *
+     * @param event event riwayat
+     */
+    void append(LogEvent event) {
+        if (closed) { System.err.println("log " + file.getFileName() + " sudah ditutup, entri diabaikan"); return; }
+        if (overflow == OverflowPolicy.DROP) {
+            if (!queue.offer(event)) dropped.incrementAndGet();
+            return;
+        }
+        try { queue.put(event); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+    }
+
+    /**
+     * Menunggu sampai semua event yang sudah diantre sebelum pemanggilan ini
+     * tertulis ke file. Tidak ada batas waktu: pemanggil menunggu sampai
+     * thread penulis mengonfirmasi.
+     *
+     * @throws UncheckedIOException jika ada entri yang gagal ditulis sejak flush sebelumnya
+     * @throws IllegalStateException jika thread penulis berhenti atau penantian diinterupsi
+     */
+    void flush() {
+        if (closed || Thread.currentThread() == writer) return;
+        Barrier b = new Barrier();
+        try {
+            queue.put(b);
+            while (!b.done.await(1, TimeUnit.SECONDS))
+                if (!writer.isAlive()) throw new IllegalStateException("flush log " + file.getFileName() + ": thread penulis berhenti");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("flush log " + file.getFileName() + ": diinterupsi", e);
+        }
+        if (b.error != null) throw new UncheckedIOException("flush log " + file.getFileName() + ": " + b.error.getMessage(), b.error);
+    }
+
+    /**
+     * Menulis sisa antrean, menghentikan thread penulis, dan menutup file.
+     *
+     * @throws UncheckedIOException jika ada entri yang gagal ditulis dan belum dilaporkan lewat flush
+     */
+    void close() {
+        if (closed) return;
+        closed = true;
+        try {
+            queue.put(STOP);
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("close log " + file.getFileName() + ": diinterupsi", e);
+        }
+        IOException e = unreported; // aman dibaca setelah join
+        if (e != null) throw new UncheckedIOException("close log " + file.getFileName() + ": " + e.getMessage(), e);
+    }
+
+    /** @return jumlah entri yang dibuang karena antrean penuh (mode DROP) */
+    long getDropped() { return dropped.get(); }
+
+    /**
+     * Loop thread penulis: ambil satu entri (menunggu bila kosong), kuras sisa
+     * antrean sebagai satu batch, lalu tulis sesuai {@link FlushPolicy}.
+     */
+    private void run() {
+        List<Object> batch = new ArrayList<>();
+        List<Barrier> waiters = new ArrayList<>();
+        boolean stop = false;
+        while (!stop) {
+            Object first;
+            try {
+                if (flushPolicy == FlushPolicy.INTERVAL && !pending.isEmpty()) {
+                    long wait = Math.max(0, lastWrite + intervalMs - System.currentTimeMillis());
+                    first = queue.poll(wait, TimeUnit.MILLISECONDS);
+                } else first = queue.take();
+            } catch (InterruptedException e) { first = STOP; }
+
+            batch.clear();
+            if (first != null) batch.add(first);
+            queue.drainTo(batch, capacity);
+            for (Object o : batch) {
+                if (o == STOP) stop = true;
+                else if (o instanceof Barrier) waiters.add((Barrier) o);
+                else pending.add((LogEvent) o);
+            }
+
+            boolean due = flushPolicy != FlushPolicy.INTERVAL || stop || !waiters.isEmpty()
+                    || pending.size() >= MAX_PENDING || System.currentTimeMillis() - lastWrite >= intervalMs;
+            if (due) writePending();
+            if (!waiters.isEmpty()) {
+                for (Barrier b : waiters) { b.error = unreported; b.done.countDown(); }
+                unreported = null;
+                waiters.clear();
+            }
+        }
+        closeChannel();
+        // append() menolak entri setelah ditutup; lepaskan yang masih menunggu flush
+        for (Object o : queue) if (o instanceof Barrier) { ((Barrier) o).error = unreported; ((Barrier) o).done.countDown(); }
+    }
+
+    /**
+     * Menulis seluruh isi tertunda ke file dalam satu operasi, lalu
+     * memberi tahu {@link WriteListener} posisi byte tiap record.
+     * Segmen aktif ditutup terlebih dahulu bila perlu.
+     */
+    private void writePending() {
+        lastWrite = System.currentTimeMillis();
+        if (pending.isEmpty()) return;
+        WriteListener l = listener;
+        long[] offsets = l == null ? null : new long[pending.size() + 1];
+        try {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream(pending.size() * 64);
+            DataOutputStream out = new DataOutputStream(bos);
+            int[] sizes = new int[pending.size()];
+            for (int i = 0; i < sizes.length; i++) sizes[i] = pending.get(i).writeTo(out);
+            ByteBuffer buf = ByteBuffer.wrap(bos.toByteArray());
+            long size = channel != null ? channel.size() : Files.exists(file) ? Files.size(file) : 0;
+            if (segments.shouldRoll(size, buf.remaining())) {
+                closeChannel();
+                int seq = segments.seal();
+                if (seq > 0 && l != null) {
+                    try { l.sealed(seq); } catch (RuntimeException e) { System.err.println("log listener " + file.getFileName() + ": " + e.getMessage()); }
+                }
+            }
+            if (channel == null) {
+                Path dir = file.getParent();
+                if (dir != null && !Files.exists(dir)) Files.createDirectories(dir);
+                channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            }
+            if (offsets != null) {
+                long pos = channel.size();
+                for (int i = 0; i < sizes.length; i++) {
+                    offsets[i] = pos;
+                    pos += sizes[i];
+                }
+                offsets[pending.size()] = pos;
+            }
+            while (buf.hasRemaining()) channel.write(buf);
+            if (flushPolicy == FlushPolicy.FORCE) channel.force(false);
+            segments.noteWritten(pending);
+            if (l != null) {
+                try { l.written(pending, offsets); } catch (RuntimeException e) { System.err.println("log listener " + file.getFileName() + ": " + e.getMessage()); }
+            }
+        } catch (IOException e) {
+            System.err.println("write log " + file.getFileName() + ": " + e.getMessage());
+            if (unreported == null) unreported = new IOException(pending.size() + " entri gagal ditulis: " + e.getMessage(), e);
+            closeChannel();
+        }
+        pending.clear();
+    }
+
+    /**
+     * Menutup channel file bila terbuka.
+     */
+    private void closeChannel() {
+        if (channel == null) return;
+        try { channel.close(); } catch (IOException e) { System.err.println("close log " + file.getFileName() + ": " + e.getMessage()); }
+        channel = null;
+    }
+}
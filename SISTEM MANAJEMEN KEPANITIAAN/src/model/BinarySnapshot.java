@@ -0,0 +1,174 @@
+package model;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Format snapshot biner untuk {@link DataStorage} (<code>data/snapshot.bin</code>).
+ *
+ * <p>Struktur file:</p>
+ * <pre>
+ * "KPNT" versi
+ * kamus nama divisi : jumlah, lalu string
+ * akun              : jumlah, lalu tipe(byte) username password nama [idAnggota]
+ * anggota           : jumlah, lalu id nama refDivisi noHp
+ * divisi            : jumlah, lalu refNama jumlahTugas, lalu
+ *                     id judul deskripsi epochDayDeadline status(byte)
+ * </pre>
+ *
+ * <p>String ditulis sebagai panjang (int, -1 untuk null) diikuti byte UTF-8.
+ * Nama divisi ditulis sekali di kamus lalu dirujuk dengan indeks, deadline
+ * disimpan sebagai epoch-day, dan status sebagai satu byte.</p>
+ */
+class BinarySnapshot {
+    private static final int MAGIC = 0x4B504E54; // "KPNT"
+    private static final byte VERSION = 1;
+    private static final int NO_DEADLINE = Integer.MIN_VALUE;
+
+    private static final byte TYPE_ADMIN = 0;
+    private static final byte TYPE_MEMBER = 1;
+
+    final List<Account> accounts = new ArrayList<>();
+    final List<Anggota> anggota = new ArrayList<>();
+    final List<Divisi> divisi = new ArrayList<>();
+
+    /**
+     * Menulis snapshot biner ke file.
+     *
+     * @param file file tujuan
+     * @param accounts list akun
+     * @param anggotaList list anggota
+     * @param divisiList list divisi beserta tugasnya
+     * @throws IOException jika gagal menulis
+     */
+    static void write(Path file, List<Account> accounts, List<Anggota> anggotaList, List<Divisi> divisiList) throws IOException {
+        Map<String, Integer> dict = new LinkedHashMap<>();
+        for (Divisi d : divisiList) if (d.getNama()!=null) dict.putIfAbsent(d.getNama(), dict.size());
+        for (Anggota a : anggotaList) if (a.getDivisi()!=null) dict.putIfAbsent(a.getDivisi(), dict.size());
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+
+            out.writeInt(dict.size());
+            for (String s : dict.keySet()) writeString(out, s);
+
+            out.writeInt(accounts.size());
+            for (Account a : accounts) {
+                boolean admin = a instanceof Admin;
+                out.writeByte(admin ? TYPE_ADMIN : TYPE_MEMBER);
+                writeString(out, a.getUsername());
+                writeString(out, a.getPassword());
+                writeString(out, a.getName());
+                if (!admin) writeString(out, a instanceof Member ? ((Member)a).getIdAnggota() : "");
+            }
+
+            out.writeInt(anggotaList.size());
+            for (Anggota a : anggotaList) {
+                writeString(out, a.getId());
+                writeString(out, a.getNama());
+                out.writeInt(a.getDivisi()==null ? -1 : dict.get(a.getDivisi()));
+                writeString(out, a.getNoHp());
+            }
+
+            out.writeInt(divisiList.size());
+            for (Divisi d : divisiList) {
+                out.writeInt(d.getNama()==null ? -1 : dict.get(d.getNama()));
+                out.writeInt(d.tugas().size());
+                for (Tugas t : d.tugas()) {
+                    writeString(out, t.getId());
+                    writeString(out, t.getJudul());
+                    writeString(out, t.getDeskripsi());
+                    out.writeInt(t.getDeadline()==null ? NO_DEADLINE : (int) t.getDeadline().toEpochDay());
+                    out.writeByte(t.getStatus()==null ? 0 : t.getStatus().ordinal());
+                }
+            }
+        }
+    }
+
+    /**
+     * Membaca snapshot biner dari file.
+     * Tugas dibaca ke divisi yang belum terpasang listener, sehingga
+     * pemanggil masih perlu mendaftarkannya ke penyimpanan.
+     *
+     * @param file file sumber
+     * @return isi snapshot
+     * @throws IOException jika file rusak atau gagal dibaca
+     */
+    static BinarySnapshot read(Path file) throws IOException {
+        BinarySnapshot snap = new BinarySnapshot();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != MAGIC) throw new IOException("bukan file snapshot");
+            byte version = in.readByte();
+            if (version != VERSION) throw new IOException("versi snapshot tidak didukung: " + version);
+
+            String[] dict = new String[in.readInt()];
+            for (int i = 0; i < dict.length; i++) dict[i] = readString(in);
+
+            int n = in.readInt();
+            for (int i = 0; i < n; i++) {
+                byte type = in.readByte();
+                String u = readString(in), p = readString(in), name = readString(in);
+                if (type == TYPE_ADMIN) snap.accounts.add(new Admin(u, p, name));
+                else snap.accounts.add(new Member(u, p, name, readString(in)));
+            }
+
+            n = in.readInt();
+            for (int i = 0; i < n; i++) {
+                String id = readString(in), nama = readString(in);
+                int ref = in.readInt();
+                snap.anggota.add(new Anggota(id, nama, ref < 0 ? null : dict[ref], readString(in)));
+            }
+
+            Tugas.Status[] statuses = Tugas.Status.values();
+            n = in.readInt();
+            for (int i = 0; i < n; i++) {
+                int ref = in.readInt();
+                Divisi d = new Divisi(ref < 0 ? null : dict[ref]);
+                int count = in.readInt();
+                for (int j = 0; j < count; j++) {
+                    Tugas t = new Tugas(readString(in), readString(in), readString(in));
+                    int day = in.readInt();
+                    if (day != NO_DEADLINE) t.setDeadline(LocalDate.ofEpochDay(day));
+                    int st = in.readByte();
+                    t.setStatus(st >= 0 && st < statuses.length ? statuses[st] : Tugas.Status.TODO);
+                    d.addTugas(t);
+                }
+                snap.divisi.add(d);
+            }
+        }
+        return snap;
+    }
+
+    /**
+     * Menulis string sebagai panjang byte UTF-8 lalu isinya.
+     *
+     * @param out stream tujuan
+     * @param s string (boleh null)
+     * @throws IOException jika gagal menulis
+     */
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) { out.writeInt(-1); return; }
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(b.length);
+        out.write(b);
+    }
+
+    /**
+     * Membaca string yang ditulis oleh {@link #writeString(DataOutputStream, String)}.
+     *
+     * @param in stream sumber
+     * @return string, atau null
+     * @throws IOException jika gagal membaca
+     */
+    private static String readString(DataInputStream in) throws IOException {
+        int len = in.readInt();
+        if (len < 0) return null;
+        byte[] b = new byte[len];
+        in.readFully(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,176 @@
+package model;
+
+import java.util.*;
+
+/**
+ * BK-tree untuk pencarian teks yang mirip berdasarkan jarak edit (Levenshtein),
+ * misalnya nama anggota yang salah ketik.
+ *
+ * <p>Setiap node menyimpan satu kunci (huruf kecil) beserta dokumen yang
+ * memilikinya; anak node dikelompokkan menurut jaraknya ke kunci node. Saat
+ * mencari dengan jarak maksimum <code>k</code>, dari node berjarak
+ * <code>d</code> hanya anak dengan jarak tepi <code>d-k .. d+k</code> yang
+ * dikunjungi (ketaksamaan segitiga), sehingga query tidak dibandingkan dengan
+ * setiap kunci.</p>
+ *
+ * <p>BK-tree tidak mendukung penghapusan node. Dokumen yang dihapus hanya
+ * dikeluarkan dari node-nya; node tanpa dokumen tetap menjadi penunjuk jalan
+ * (tombstone) dan dipakai lagi bila kuncinya ditambahkan kembali. Bila
+ * tombstone lebih banyak dari node yang masih berisi, pohon dibangun ulang.</p>
+ *
+ * @param <T> jenis dokumen
+ */
+final class BkTree<T> {
+    /** Jumlah tombstone minimum sebelum pohon dibangun ulang */
+    private static final int REBUILD_MIN = 64;
+
+    private static final class Node<T> {
+        final String key;
+        final List<T> docs = new ArrayList<>(1);
+        Map<Integer, Node<T>> children;
+
+        Node(String key) { this.key = key; }
+    }
+
+    private Node<T> root;
+
+    /** kunci -> node (termasuk tombstone) */
+    private final Map<String, Node<T>> nodes = new HashMap<>();
+
+    /** dokumen -> kunci yang dimilikinya */
+    private final Map<T, Set<String>> keysOf = new IdentityHashMap<>();
+
+    /** dokumen -> urutan penambahan (untuk hasil yang stabil) */
+    private final Map<T, Long> seqOf = new IdentityHashMap<>();
+    private long seq;
+
+    /** Jumlah node tanpa dokumen */
+    private int dead;
+
+    /**
+     * Menambahkan dokumen dengan kunci-kuncinya, atau mengganti kuncinya
+     * bila dokumen sudah ada.
+     *
+     * @param doc dokumen
+     * @param keys kunci pencarian (dijadikan huruf kecil; kosong diabaikan)
+     */
+    void put(T doc, Collection<String> keys) {
+        Set<String> lower = new LinkedHashSet<>();
+        for (String k : keys) if (k != null && !k.trim().isEmpty()) lower.add(k.trim().toLowerCase(Locale.ROOT));
+        Set<String> old = keysOf.get(doc);
+        if (lower.equals(old)) return;
+        if (old != null) unlink(doc, old);
+        keysOf.put(doc, lower);
+        seqOf.putIfAbsent(doc, seq++);
+        for (String k : lower) {
+            Node<T> n = nodes.get(k);
+            if (n == null) n = insert(k);
+            else if (n.docs.isEmpty()) dead--;
+            n.docs.add(doc);
+        }
+        maybeRebuild();
+    }
+
+    /**
+     * @param doc dokumen yang dihapus
+     */
+    void remove(T doc) {
+        Set<String> old = keysOf.remove(doc);
+        seqOf.remove(doc);
+        if (old == null) return;
+        unlink(doc, old);
+        maybeRebuild();
+    }
+
+    void clear() {
+        root = null;
+        nodes.clear();
+        keysOf.clear();
+        seqOf.clear();
+        dead = 0;
+    }
+
+    /**
+     * Mencari dokumen yang salah satu kuncinya berjarak edit paling banyak
+     * <code>maxDistance</code> dari query.
+     *
+     * @param query teks yang dicari
+     * @param maxDistance jarak edit maksimum
+     * @return dokumen, urut dari jarak terkecil (jarak sama: urutan penambahan)
+     */
+    List<T> search(String query, int maxDistance) {
+        String q = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        Map<T, Integer> best = new IdentityHashMap<>();
+        if (root != null && !q.isEmpty()) {
+            Deque<Node<T>> stack = new ArrayDeque<>();
+            stack.push(root);
+            while (!stack.isEmpty()) {
+                Node<T> n = stack.pop();
+                int d = distance(q, n.key);
+                if (d <= maxDistance)
+                    for (T doc : n.docs) best.merge(doc, d, Math::min);
+                if (n.children == null) continue;
+                for (Map.Entry<Integer, Node<T>> e : n.children.entrySet())
+                    if (Math.abs(e.getKey() - d) <= maxDistance) stack.push(e.getValue());
+            }
+        }
+        List<T> out = new ArrayList<>(best.keySet());
+        out.sort(Comparator.comparingInt((T t) -> best.get(t)).thenComparingLong(seqOf::get));
+        return out;
+    }
+
+    /**
+     * Jarak Levenshtein (sisip, hapus, ganti masing-masing bernilai 1).
+     *
+     * @param a teks pertama
+     * @param b teks kedua
+     * @return jumlah operasi edit minimum
+     */
+    static int distance(String a, String b) {
+        if (a.length() < b.length()) { String t = a; a = b; b = t; }
+        int[] prev = new int[b.length() + 1], cur = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) prev[j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            cur[0] = i;
+            char c = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int sub = prev[j - 1] + (c == b.charAt(j - 1) ? 0 : 1);
+                cur[j] = Math.min(sub, Math.min(prev[j], cur[j - 1]) + 1);
+            }
+            int[] t = prev; prev = cur; cur = t;
+        }
+        return prev[b.length()];
+    }
+
+    private Node<T> insert(String key) {
+        Node<T> node = new Node<>(key);
+        nodes.put(key, node);
+        if (root == null) { root = node; return node; }
+        Node<T> n = root;
+        while (true) {
+            int d = distance(key, n.key);
+            if (n.children == null) n.children = new HashMap<>();
+            Node<T> next = n.children.get(d);
+            if (next == null) { n.children.put(d, node); return node; }
+            n = next;
+        }
+    }
+
+    private void unlink(T doc, Set<String> keys) {
+        for (String k : keys) {
+            Node<T> n = nodes.get(k);
+            if (n != null && n.docs.remove(doc) && n.docs.isEmpty()) dead++;
+        }
+    }
+
+    /** Membangun ulang pohon dari node yang masih berisi bila tombstone sudah dominan. */
+    private void maybeRebuild() {
+        if (dead < REBUILD_MIN || dead <= nodes.size() - dead) return;
+        List<Node<T>> live = new ArrayList<>();
+        for (Node<T> n : nodes.values()) if (!n.docs.isEmpty()) live.add(n);
+        root = null;
+        nodes.clear();
+        dead = 0;
+        for (Node<T> n : live) insert(n.key).docs.addAll(n.docs);
+    }
+}
@@ -2,7 +2,10 @@ package model;
 
 import java.io.*;
 import java.nio.file.*;
+import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Kelas DataStorage menyediakan penyimpanan data sederhana (persisten)
@@ -14,36 +17,337 @@ import java.util.*;
  *     <li><b>anggota.txt</b> — menyimpan data anggota (format: id,name,divisi,nohp)</li>
  *     <li><b>divisi.txt</b> — menyimpan divisi dan tugas 
  *         (format: <code>DIV|namaDivisi</code> lalu <code>TASK|tostring</code>)</li>
+ *     <li><b>wal.log</b> — write-ahead log berisi perubahan sejak checkpoint terakhir</li>
+ *     <li><b>snapshot.bin</b> — snapshot biner (hanya pada {@link StorageFormat#BINARY})</li>
  * </ul>
  *
+ * <p>Format penyimpanan utama dipilih lewat {@link StorageFormat} atau system property
+ * <code>kepanitiaan.format</code> (<code>text</code>/<code>binary</code>). Pada format
+ * BINARY, checkpoint menulis <code>snapshot.bin</code> dan file teks tidak lagi
+ * diperbarui; gunakan {@link #exportText()} dan {@link #exportSnapshot()} untuk
+ * konversi antar format.</p>
+ *
+ * <p>Setiap perubahan (tambah/hapus anggota, tambah akun, tambah divisi,
+ * tambah/hapus/ubah tugas) hanya ditambahkan sebagai satu record ke
+ * <code>wal.log</code>. Ketiga file teks baru ditulis ulang saat checkpoint,
+ * yaitu ketika WAL sudah mencapai {@link #CHECKPOINT_THRESHOLD} record atau
+ * ketika {@link #checkpoint()} dipanggil langsung. Saat {@link #loadAll()},
+ * isi WAL diputar ulang di atas data dari file teks.</p>
+ *
+ * <p>Setiap perubahan dipublikasikan sebagai {@link DomainEvent} ke {@link EventBus}.
+ * Record WAL ditambahkan oleh subscriber persistensi di thread-nya sendiri,
+ * dan riwayat aktivitas dicatat oleh subscriber riwayat ({@link RiwayatRecorder})
+ * atas nama akun yang diatur lewat {@link #setActor(Account)}. Dengan begitu
+ * method mutator tidak melakukan I/O file apa pun di thread CLI.</p>
+ *
+ * <p>Kapan WAL benar-benar ditulis ke disk diatur oleh {@link DurabilityMode}
+ * (bisa juga lewat system property <code>kepanitiaan.durability</code>, misalnya
+ * <code>sync</code>, <code>group:200</code>, atau <code>logout</code>).
+ * Pada mode SYNC setiap record langsung ditulis dan di-force ke disk, dan
+ * mutator baru kembali setelah subscriber persistensi selesai menulis
+ * record-nya (ditunggu setelah write lock dilepas); pada mode lain data hanya
+ * ditandai "kotor" dan beberapa batch digabung menjadi satu penulisan.
+ * {@link #flush()} menunggu semua event diproses lalu menulis perubahan yang
+ * tertunda dan melakukan fsync, atau melempar {@link UncheckedIOException}
+ * bila perubahan tidak bisa disimpan.</p>
+ *
+ * <p>Perubahan juga dilacak per koleksi (akun, anggota, divisi/tugas) sehingga
+ * checkpoint hanya menulis ulang file yang datanya benar-benar berubah.
+ * Jumlah penulisan fisik per file dapat dilihat lewat {@link #getWriteCounts()}.</p>
+ *
+ * <p>Pencarian akun (username), anggota (ID), dan divisi (nama) memakai
+ * indeks HashMap sehingga tidak perlu menelusuri seluruh list. Username dan
+ * nama divisi disimpan dalam huruf kecil karena pencariannya case-insensitive.
+ * Selain itu anggota juga dikelompokkan per divisi (terurut berdasarkan nama
+ * divisi) agar daftar anggota per divisi dan jumlahnya bisa dibaca langsung.</p>
+ *
+ * <p>Seluruh tugas dari semua divisi juga didaftarkan dalam satu registry
+ * berdasarkan ID tugas. ID tugas wajib unik secara global, dan divisi pemilik
+ * sebuah tugas bisa diketahui lewat {@link #findDivisiOfTugas(String)}.</p>
+ *
+ * <p>Nama divisi serta ID, judul, dan deskripsi tugas diindeks di {@link TextIndex}
+ * yang diperbarui setiap kali divisi/tugas ditambah atau dihapus, sehingga
+ * {@link #searchDivisi(String)} dan {@link #searchTugas(String)} tidak perlu
+ * menelusuri seluruh tugas. Tugas juga dikelompokkan per status; bersama
+ * registry divisi, indeks ini dipakai {@link #queryTugas(TugasQuery)} untuk
+ * memilih kandidat terkecil; tugas yang punya deadline juga diindeks per
+ * tanggal sehingga tugas terlambat atau yang segera jatuh tempo
+ * ({@link TugasQuery#overdue}, {@link TugasQuery#dueWithin}) dibaca sebagai
+ * rentang tanggal. Seluruh tugas juga disimpan terurut per status,
+ * judul, dan divisi ({@link TugasSortedView}) sehingga daftar terurut bisa
+ * dibaca langsung lewat {@link #forEachTugasSorted(TugasQuery.Order, java.util.function.Consumer)}. ID dan nama anggota diindeks per trigram
+ * ({@link TrigramIndex}) untuk pencarian sebagian lewat {@link #searchAnggota(String)},
+ * dan nama anggota disimpan di {@link BkTree} untuk pencarian nama yang salah
+ * ketik lewat {@link #searchAnggotaFuzzy(String, int)}. BK-tree baru dibangun
+ * saat pencarian nama mirip pertama, bukan saat {@link #loadAll()}; setelah
+ * itu pohon diperbarui bersama indeks lain.</p>
+ *
+ * <p>File teks yang berukuran minimal {@link #getParallelLoadThreshold()} byte
+ * dimuat dengan {@link ParallelLoader} (memory-mapped dan di-parse paralel);
+ * file yang lebih kecil tetap dibaca dengan BufferedReader.</p>
+ *
+ * <p>Setiap file yang dimuat atau ditulis dicatat sidik jarinya ({@link FileFingerprint}).
+ * Pemanggilan {@link #loadAll()} berikutnya hanya mem-parse ulang file yang
+ * berubah di disk, sehingga reload setelah logout biasanya tidak membaca apa pun.</p>
+ *
+ * <p>Seluruh data di memori dijaga oleh satu {@link ReentrantReadWriteLock}:
+ * pencarian dan getter memakai read lock (boleh bersamaan), sedangkan mutator
+ * DataStorage dan setter objek model ({@link Anggota}, {@link Divisi},
+ * {@link Tugas}, lewat {@link ModelListener#beginChange()}) memakai write lock.
+ * Getter list mengembalikan salinan read-only, sehingga CLI dari beberapa sesi
+ * bisa mengiterasinya tanpa {@link ConcurrentModificationException}. Pelaku
+ * event ({@link #setActor(Account)}) disimpan per thread. Read/write lock
+ * selalu diambil sebelum monitor <code>this</code> (dipakai untuk WAL dan
+ * checkpoint), dan {@link EventBus#drain()} tidak pernah dipanggil sambil
+ * memegang kunci.</p>
+ *
  * <p>Kelas ini menggunakan pola Singleton untuk memastikan hanya ada satu instance
  * DataStorage dalam aplikasi.</p>
  */
 public class DataStorage {
     private static DataStorage instance;
 
-    private final Path dataDir = Paths.get("data");
-    private final Path accountsFile = dataDir.resolve("accounts.txt");
-    private final Path anggotaFile = dataDir.resolve("anggota.txt");
-    private final Path divisiFile = dataDir.resolve("divisi.txt");
+    private final Path dataDir;
+    private final Path accountsFile;
+    private final Path anggotaFile;
+    private final Path divisiFile;
+    private final Path walFile;
+    private final Path snapshotFile;
+
+    /**
+     * Format file penyimpanan utama.
+     * TEXT = accounts.txt, anggota.txt, divisi.txt;
+     * BINARY = snapshot.bin (lihat {@link BinarySnapshot}).
+     */
+    public enum StorageFormat { TEXT, BINARY }
+
+    private volatile StorageFormat format =
+            "binary".equalsIgnoreCase(System.getProperty("kepanitiaan.format")) ? StorageFormat.BINARY : StorageFormat.TEXT;
+
+    /** Jumlah record WAL yang memicu checkpoint otomatis. */
+    public static final int CHECKPOINT_THRESHOLD = 1000;
+
+    private final WriteAheadLog wal;
+
+    /**
+     * Mode durabilitas penyimpanan.
+     * SYNC = setiap record WAL langsung ditulis dan di-force ke disk; mutator
+     *        menunggu sampai record-nya ditulis sebelum kembali,
+     * GROUP_COMMIT = ditulis oleh thread flusher setiap interval tertentu,
+     * ON_LOGOUT = ditulis hanya saat flush (logout/simpan/exit).
+     */
+    public enum DurabilityMode { SYNC, GROUP_COMMIT, ON_LOGOUT }
+
+    private volatile DurabilityMode durability = DurabilityMode.SYNC;
+    private volatile long groupCommitMillis = 200;
+
+    /** true jika ada perubahan yang belum ditulis ke disk */
+    private volatile boolean dirty;
+
+    /** Thread latar belakang untuk mode GROUP_COMMIT */
+    private Thread flusher;
+
+    /** Penanda koleksi yang berubah sejak file teksnya terakhir ditulis */
+    private volatile boolean accountsDirty, anggotaDirty, divisiDirty;
+
+    /** Ukuran file minimal (byte) untuk memakai loader paralel */
+    private volatile long parallelLoadThreshold = Long.getLong("kepanitiaan.parallelLoad", 4L << 20);
+
+    /** Sidik jari file saat terakhir dimuat/ditulis oleh aplikasi ini */
+    private final Map<Path, FileFingerprint> fingerprints = new HashMap<>();
+
+    /** true setelah loadAll pertama selesai */
+    private boolean loaded;
+
+    /** true jika data di memori terakhir dimuat dari snapshot.bin */
+    private boolean loadedFromSnapshot;
+
+    /** Jumlah penulisan fisik per nama file */
+    private final Map<String, Long> writeCounts = new LinkedHashMap<>();
+
+    /** true selama load/replay, agar perubahan tidak dipublikasikan ulang */
+    private boolean suppressLog;
+
+    /** Bus tempat event perubahan dipublikasikan */
+    private final EventBus bus = EventBus.getInstance();
+
+    /** true untuk instance dari {@link #loadExisting(Path, StorageFormat)}: tidak terhubung ke bus */
+    private final boolean detached;
+
+    /** Akun yang sedang login di thread (sesi) ini; dicatat sebagai pelaku setiap event */
+    private final ThreadLocal<Account> actor = new ThreadLocal<>();
+
+    /** Kunci seluruh data di memori: banyak pembaca sekaligus, satu penulis */
+    private final ReentrantReadWriteLock rw = new ReentrantReadWriteLock();
+    private final Lock readLock = rw.readLock();
+    private final Lock writeLock = rw.writeLock();
+
+    /** Diisi oleh {@link #publish(DomainEvent)} pada mode SYNC: thread ini harus menunggu WAL-nya ditulis */
+    private final ThreadLocal<Boolean> awaitWal = new ThreadLocal<>();
+
+    /** Anggota yang sedang diedit lewat {@link #editAnggota}; perubahannya dipublikasikan sekali */
+    private Anggota editing;
+
+    /** Menerima notifikasi perubahan dari objek model dan mempublikasikannya sebagai event. */
+    private final ModelListener listener = new ModelListener() {
+        @Override public void beginChange() { writeLock.lock(); }
+        @Override public void endChange() { unlockWrite(); }
+        @Override public void beginRead() { readLock.lock(); }
+        @Override public void endRead() { readLock.unlock(); }
+        @Override public void anggotaChanged(Anggota a) {
+            anggotaDirty = true;
+            if (!divisiKey(a.getDivisi()).equals(divisiKeyOf.get(a))) { ungroupAnggota(a); groupAnggota(a); }
+            anggotaText.put(a, a.getId(), a.getNama());
+            if (anggotaNamesBuilt) anggotaNames.put(a, nameKeys(a.getNama()));
+            if (a != editing) publish(new DomainEvent.AnggotaEdited(a.getId(), "AGT|" + a));
+        }
+        @Override public void checkTugas(Divisi d, Tugas t) {
+            Tugas cur = tugasById.get(t.getId());
+            if (cur!=null && cur!=t) throw new IllegalArgumentException("ID tugas sudah dipakai: " + t.getId());
+        }
+        @Override public void tugasAdded(Divisi d, Tugas t) {
+            if (tugasById.put(t.getId(), t) != t) indexTugas(t);
+            divisiDirty = true;
+            publish(new DomainEvent.TugasAdded(d.getNama(), t.getId(), "TGS|" + RecordTokenizer.escape(d.getNama()) + "|" + t));
+        }
+        @Override public void tugasRemoved(Divisi d, Tugas t) {
+            if (tugasById.remove(t.getId(), t)) unindexTugas(t);
+            divisiDirty = true;
+            publish(new DomainEvent.TugasRemoved(d.getNama(), t.getId(),
+                    "TGS-|" + RecordTokenizer.escape(d.getNama()) + "|" + RecordTokenizer.escape(t.getId())));
+        }
+        @Override public void tugasChanged(Divisi d, Tugas t, boolean status) {
+            divisiDirty = true;
+            if (tugasById.get(t.getId()) == t) {
+                if (status) indexStatus(t); else indexDeadline(t);
+            }
+            String record = "TGS|" + RecordTokenizer.escape(d.getNama()) + "|" + t;
+            publish(status ? new DomainEvent.TugasStatusChanged(d.getNama(), t.getId(), t.getStatus(), record)
+                           : new DomainEvent.TugasDeadlineChanged(d.getNama(), t.getId(), t.getDeadline(), record));
+        }
+    };
 
     private final List<Account> accounts = new ArrayList<>();
     private final List<Anggota> anggotaList = new ArrayList<>();
     private final List<Divisi> divisiList = new ArrayList<>();
+
+    private final Map<String, Account> accountByUsername = new HashMap<>();
+    private final Map<String, Anggota> anggotaById = new HashMap<>();
+    private final Map<String, Divisi> divisiByName = new HashMap<>();
+
+    /** Anggota dikelompokkan per divisi (kunci: nama divisi huruf kecil) */
+    private final TreeMap<String, List<Anggota>> anggotaByDivisi = new TreeMap<>();
+
+    /** Kunci divisi yang dipakai saat anggota terakhir kali dikelompokkan */
+    private final Map<Anggota, String> divisiKeyOf = new IdentityHashMap<>();
+
+    /** Registry seluruh tugas berdasarkan ID (unik global) */
+    private final Map<String, Tugas> tugasById = new HashMap<>();
+
+    /** Indeks trigram ID dan nama anggota */
+    private final TrigramIndex<Anggota> anggotaText = new TrigramIndex<>();
+
+    /**
+     * BK-tree nama anggota (nama lengkap dan tiap katanya) untuk pencarian nama mirip.
+     * Dibangun saat pertama dipakai ({@link #buildAnggotaNames()}); sebelum itu kosong.
+     */
+    private final BkTree<Anggota> anggotaNames = new BkTree<>();
+
+    /** true bila {@link #anggotaNames} sudah berisi seluruh anggota dan harus ikut diperbarui */
+    private volatile boolean anggotaNamesBuilt;
+
+    /** Indeks teks nama divisi */
+    private final TextIndex<Divisi> divisiText = new TextIndex<>();
+
+    /** Indeks teks ID, judul, dan deskripsi tugas */
+    private final TextIndex<Tugas> tugasText = new TextIndex<>();
+
+    /** Tugas dikelompokkan per status */
+    private final Map<Tugas.Status, Set<Tugas>> tugasByStatus = new EnumMap<>(Tugas.Status.class);
+
+    /** Tugas yang punya deadline, dikelompokkan per tanggal deadline */
+    private final TreeMap<LocalDate, Set<Tugas>> tugasByDeadline = new TreeMap<>();
+
+    /** Deadline yang dipakai saat tugas terakhir kali diindeks */
+    private final Map<Tugas, LocalDate> deadlineOf = new IdentityHashMap<>();
+
+    /** Seluruh tugas terurut per status, judul, dan divisi (diperbarui setiap perubahan) */
+    private final Map<TugasQuery.Order, TugasSortedView> tugasViews = new EnumMap<>(TugasQuery.Order.class);
+    {
+        for (TugasQuery.Order o : new TugasQuery.Order[]{TugasQuery.Order.STATUS, TugasQuery.Order.JUDUL, TugasQuery.Order.DIVISI})
+            tugasViews.put(o, new TugasSortedView(o));
+    }
     
     /**
      * Konstruktor privat (Singleton).  
      * Membuat folder <code>data/</code> jika belum ada, mengisi data default bila kosong,
      * kemudian memuat seluruh data dari file.
      */
-    private DataStorage() {
-        try { 
-            if (!Files.exists(dataDir)) Files.createDirectories(dataDir); 
-        } catch (IOException e) { 
-            System.err.println("init data dir: " + e.getMessage()); 
+    private DataStorage() { this(Paths.get("data"), null); }
+
+    /**
+     * @param dir folder data
+     * @param source format sumber untuk {@link #loadExisting(Path, StorageFormat)};
+     *               null untuk instance Singleton (folder dibuat dan data default diisi bila kosong)
+     */
+    private DataStorage(Path dir, StorageFormat source) {
+        dataDir = dir;
+        accountsFile = dir.resolve("accounts.txt");
+        anggotaFile = dir.resolve("anggota.txt");
+        divisiFile = dir.resolve("divisi.txt");
+        walFile = dir.resolve("wal.log");
+        snapshotFile = dir.resolve("snapshot.bin");
+        wal = new WriteAheadLog(walFile);
+        detached = source != null;
+        if (source == null) {
+            try { 
+                if (!Files.exists(dataDir)) Files.createDirectories(dataDir); 
+            } catch (IOException e) { 
+                System.err.println("init data dir: " + e.getMessage()); 
+            }
+        } else format = source;
+        wal.setSync(durability == DurabilityMode.SYNC);
+        if (!detached) {
+            bus.subscribe("wal", this::persist);
+            bus.subscribe("riwayat", new RiwayatRecorder());
+            seedDefaultsIfEmpty();
         }
-        seedDefaultsIfEmpty();
         loadAll();
+        configureDurability(System.getProperty("kepanitiaan.durability"));
+    }
+
+    /**
+     * Memuat data dari folder <code>data/</code> tanpa mengisi data default
+     * dan tanpa menulis apa pun (lihat {@link #loadExisting(Path, StorageFormat)}).
+     *
+     * @param source format yang dibaca
+     * @return DataStorage berisi data dari file tersebut
+     * @throws NoSuchFileException jika ada file sumber yang tidak ditemukan
+     */
+    public static DataStorage loadExisting(StorageFormat source) throws NoSuchFileException {
+        return loadExisting(Paths.get("data"), source);
+    }
+
+    /**
+     * Memuat data dari file penyimpanan yang sudah ada (beserta WAL-nya) tanpa
+     * mengisi data default dan tanpa menulis apa pun. Dipakai alat konversi
+     * dan benchmark seperti <code>app.SnapshotTool</code>. Instance ini bukan
+     * Singleton dan tidak terhubung ke {@link EventBus}: perubahan padanya tidak
+     * dicatat ke WAL maupun riwayat, hanya bisa ditulis lewat {@link #exportText()}
+     * atau {@link #exportSnapshot()}.
+     *
+     * @param dir folder data
+     * @param source format yang dibaca: TEXT (accounts.txt, anggota.txt, divisi.txt)
+     *               atau BINARY (snapshot.bin)
+     * @return DataStorage berisi data dari file tersebut
+     * @throws NoSuchFileException jika ada file sumber yang tidak ditemukan
+     */
+    public static DataStorage loadExisting(Path dir, StorageFormat source) throws NoSuchFileException {
+        List<Path> files = source == StorageFormat.BINARY
+                ? Collections.singletonList(dir.resolve("snapshot.bin"))
+                : Arrays.asList(dir.resolve("accounts.txt"), dir.resolve("anggota.txt"), dir.resolve("divisi.txt"));
+        for (Path f : files) if (!Files.isRegularFile(f)) throw new NoSuchFileException(f.toString());
+        return new DataStorage(dir, source);
     }
 
     /**
@@ -67,7 +371,8 @@ public class DataStorage {
      * </ul>
      */
     private void seedDefaultsIfEmpty() {
-        if (Files.exists(accountsFile) || Files.exists(anggotaFile) || Files.exists(divisiFile)) return;
+        if (Files.exists(accountsFile) || Files.exists(anggotaFile) || Files.exists(divisiFile)
+                || Files.exists(snapshotFile)) return;
 
         accounts.add(new Admin("admin","admin123","Admin Utama"));
         Anggota a = new Anggota("U1","User Contoh","Acara","08123456789");
@@ -76,30 +381,40 @@ public class DataStorage {
         Divisi d = new Divisi("Acara");
         d.addTugas(new Tugas("T1","Susun Rundown","Buat rundown acara"));
         divisiList.add(d);
-        saveAll();
+        accountsDirty = anggotaDirty = divisiDirty = true;
+        checkpoint();
     }
 // ---------------- ACCESSORS ----------------
 
     /**
      * Mengambil daftar seluruh akun.
      *
-     * @return list akun
+     * @return salinan read-only list akun
      */
-    public List<Account> getAccounts() { return accounts; }
+    public List<Account> getAccounts() {
+        readLock.lock();
+        try { return Collections.unmodifiableList(new ArrayList<>(accounts)); } finally { readLock.unlock(); }
+    }
 
     /**
      * Mengambil daftar seluruh anggota.
      *
-     * @return list anggota
+     * @return salinan read-only list anggota
      */
-    public List<Anggota> getAnggotaList() { return anggotaList; }
+    public List<Anggota> getAnggotaList() {
+        readLock.lock();
+        try { return Collections.unmodifiableList(new ArrayList<>(anggotaList)); } finally { readLock.unlock(); }
+    }
 
     /**
      * Mengambil daftar seluruh divisi.
      *
-     * @return list divisi
+     * @return salinan read-only list divisi
      */
-    public List<Divisi> getDivisiList() { return divisiList; }
+    public List<Divisi> getDivisiList() {
+        readLock.lock();
+        try { return Collections.unmodifiableList(new ArrayList<>(divisiList)); } finally { readLock.unlock(); }
+    }
 
     // ---------------- FINDERS & LOGIN ----------------
 
@@ -111,8 +426,8 @@ public class DataStorage {
      */
     public Account findAccountByUsername(String username) {
         if (username==null) return null;
-        for (Account a : accounts) if (username.equalsIgnoreCase(a.getUsername())) return a;
-        return null;
+        readLock.lock();
+        try { return accountByUsername.get(fold(username)); } finally { readLock.unlock(); }
     }
 
     /**
@@ -149,8 +464,8 @@ public class DataStorage {
      */
     public Anggota findAnggotaById(String id) {
         if (id==null) return null;
-        for (Anggota a : anggotaList) if (id.equals(a.getId())) return a;
-        return null;
+        readLock.lock();
+        try { return anggotaById.get(id); } finally { readLock.unlock(); }
     }
 
     /**
@@ -161,8 +476,401 @@ public class DataStorage {
      */
     public Divisi findDivisiByName(String name) {
         if (name==null) return null;
-        for (Divisi d : divisiList) if (name.equalsIgnoreCase(d.getNama())) return d;
-        return null;
+        readLock.lock();
+        try { return divisiByName.get(fold(name)); } finally { readLock.unlock(); }
+    }
+
+    /**
+     * Mencari tugas berdasarkan ID di seluruh divisi.
+     *
+     * @param id ID tugas
+     * @return Tugas jika ditemukan, null jika tidak
+     */
+    public Tugas findTugasById(String id) {
+        if (id==null) return null;
+        readLock.lock();
+        try { return tugasById.get(id); } finally { readLock.unlock(); }
+    }
+
+    /**
+     * Mencari divisi pemilik tugas berdasarkan ID tugas.
+     *
+     * @param id ID tugas
+     * @return Divisi pemilik jika tugas ditemukan, null jika tidak
+     */
+    public Divisi findDivisiOfTugas(String id) {
+        if (id==null) return null;
+        readLock.lock();
+        try {
+            Tugas t = tugasById.get(id);
+            return t==null ? null : t.getOwner();
+        } finally { readLock.unlock(); }
+    }
+
+    /**
+     * Mencari anggota yang ID atau namanya memuat potongan teks
+     * (tanpa membedakan huruf besar/kecil). Query minimal
+     * {@value TrigramIndex#GRAM} karakter dijawab lewat indeks trigram;
+     * query yang lebih pendek menelusuri seluruh anggota.
+     *
+     * @param query potongan ID atau nama
+     * @return anggota yang cocok, sesuai urutan penambahan
+     */
+    public List<Anggota> searchAnggota(String query) {
+        readLock.lock();
+        try {
+            List<Anggota> hits = anggotaText.search(query);
+            if (hits != null) return hits;
+            String q = query == null ? "" : query.toLowerCase(Locale.ROOT);
+            List<Anggota> out = new ArrayList<>();
+            for (Anggota a : anggotaList)
+                if ((a.getId()!=null && a.getId().toLowerCase(Locale.ROOT).contains(q))
+                        || (a.getNama()!=null && a.getNama().toLowerCase(Locale.ROOT).contains(q))) out.add(a);
+            return out;
+        } finally { readLock.unlock(); }
+    }
+
+    /**
+     * Mencari anggota yang namanya mirip dengan query (misalnya salah ketik),
+     * berdasarkan jarak edit ke nama lengkap atau salah satu kata dalam nama.
+     *
+     * @param nama nama yang dicari
+     * @param maxDistance jarak edit maksimum; negatif berarti otomatis
+     *                    (1 untuk query sampai 4 huruf, 2 sampai 8 huruf, selebihnya 3)
+     * @return anggota yang cocok, urut dari yang paling mirip
+     */
+    public List<Anggota> searchAnggotaFuzzy(String nama, int maxDistance) {
+        if (maxDistance < 0) {
+            int n = nama == null ? 0 : nama.trim().length();
+            maxDistance = n <= 4 ? 1 : n <= 8 ? 2 : 3;
+        }
+        readLock.lock();
+        try {
+            if (!anggotaNamesBuilt) buildAnggotaNames();
+            return anggotaNames.search(nama, maxDistance);
+        } finally { readLock.unlock(); }
+    }
+
+    /**
+     * Membangun BK-tree nama dari seluruh anggota. Dipanggil dengan read lock,
+     * jadi tidak ada penulis yang mengubah anggota; pembaca lain yang juga
+     * menemukan pohon belum dibangun menunggu di monitor pohon.
+     */
+    private void buildAnggotaNames() {
+        synchronized (anggotaNames) {
+            if (anggotaNamesBuilt) return;
+            for (Anggota a : anggotaList) anggotaNames.put(a, nameKeys(a.getNama()));
+            anggotaNamesBuilt = true;
+        }
+    }
+
+    /**
+     * @param nama nama anggota
+     * @return kunci BK-tree: nama lengkap dan setiap kata minimal tiga huruf
+     */
+    private static List<String> nameKeys(String nama) {
+        List<String> keys = new ArrayList<>();
+        if (nama == null) return keys;
+        keys.add(nama);
+        for (String w : nama.trim().split("\\s+")) if (w.length() >= 3) keys.add(w);
+        return keys;
+    }
+
+    /**
+     * Mencari divisi berdasarkan kata kunci (awalan kata, tanpa membedakan huruf besar/kecil).
+     *
+     * @param query kata kunci
+     * @return divisi yang cocok, urut dari yang paling relevan
+     */
+    public List<Divisi> searchDivisi(String query) {
+        readLock.lock();
+        try { return divisiText.search(query); } finally { readLock.unlock(); }
+    }
+
+    /**
+     * Mencari tugas berdasarkan kata kunci di ID, judul, dan deskripsi.
+     * Kecocokan di ID lebih diutamakan daripada di judul, lalu deskripsi.
+     *
+     * @param query kata kunci
+     * @return tugas yang cocok, urut dari yang paling relevan
+     */
+    public List<Tugas> searchTugas(String query) {
+        readLock.lock();
+        try { return tugasText.search(query); } finally { readLock.unlock(); }
+    }
+
+    /**
+     * Menelusuri seluruh tugas terurut langsung dari view, tanpa pengurutan
+     * ulang dan tanpa menyalin. Urutan yang sama nilainya diurutkan lagi
+     * berdasarkan nama divisi lalu ID tugas.
+     *
+     * <p>Action dijalankan dengan read lock: boleh membaca DataStorage,
+     * tetapi tidak boleh mengubahnya (write lock tidak bisa diambil selama
+     * read lock dipegang).</p>
+     *
+     * @param order {@link TugasQuery.Order#STATUS}, {@link TugasQuery.Order#JUDUL},
+     *              atau {@link TugasQuery.Order#DIVISI}
+     * @param action dipanggil untuk setiap tugas sesuai urutan
+     * @throws IllegalArgumentException jika urutan tersebut tidak punya view
+     */
+    public void forEachTugasSorted(TugasQuery.Order order, java.util.function.Consumer<? super Tugas> action) {
+        TugasSortedView v = tugasViews.get(order);
+        if (v == null) throw new IllegalArgumentException("Urutan tidak didukung: " + order);
+        readLock.lock();
+        try { for (Tugas t : v.values()) action.accept(t); } finally { readLock.unlock(); }
+    }
+
+    /**
+     * Menjalankan query tugas.
+     *
+     * <p>Sumber kandidat dipilih dari yang terkecil: kelompok status yang
+     * diminta, tugas milik divisi yang cocok, rentang indeks deadline, atau
+     * hasil indeks teks; bila
+     * query tidak punya kriteria tersebut, seluruh tugas ditelusuri. Sisa
+     * kriteria diperiksa pada setiap kandidat, lalu hasil diurutkan dan
+     * dipotong sesuai offset/limit. Bila seluruh tugas harus ditelusuri dan
+     * urutannya tersedia sebagai view terurut, view itu dibaca berurutan
+     * sehingga tidak perlu pengurutan dan penelusuran berhenti begitu limit
+     * tercapai.</p>
+     *
+     * @param q kriteria query
+     * @return tugas yang cocok sesuai urutan query
+     */
+    public List<Tugas> queryTugas(TugasQuery q) {
+        readLock.lock();
+        try { return runQuery(q); } finally { readLock.unlock(); }
+    }
+
+    /**
+     * Isi {@link #queryTugas(TugasQuery)}; dipanggil dengan read lock.
+     *
+     * @param q kriteria query
+     * @return tugas yang cocok
+     */
+    private List<Tugas> runQuery(TugasQuery q) {
+        Collection<Tugas> source = tugasById.values();
+        boolean fullScan = true; // false begitu sumber dipersempit oleh salah satu indeks
+
+        Set<Tugas> textHits = null;
+        if (q.getText() != null) {
+            textHits = Collections.newSetFromMap(new IdentityHashMap<>());
+            textHits.addAll(tugasText.search(q.getText()));
+            if (textHits.size() < source.size()) { source = textHits; fullScan = false; }
+        }
+        if (q.getStatuses() != null) {
+            List<Tugas> byStatus = new ArrayList<>();
+            for (Tugas.Status st : q.getStatuses()) {
+                Set<Tugas> group = tugasByStatus.get(st);
+                if (group != null) byStatus.addAll(group);
+            }
+            if (byStatus.size() < source.size()) { source = byStatus; fullScan = false; }
+        }
+        if (q.getDivisi() != null || q.getDivisiKeyword() != null) {
+            List<Tugas> byDivisi = new ArrayList<>();
+            if (q.getDivisi() != null) {
+                Divisi d = divisiByName.get(fold(q.getDivisi()));
+                if (d != null && q.matchesDivisi(d)) byDivisi.addAll(d.tugas());
+            } else {
+                for (Divisi d : divisiList) if (q.matchesDivisi(d)) byDivisi.addAll(d.tugas());
+            }
+            if (byDivisi.size() < source.size()) { source = byDivisi; fullScan = false; }
+        }
+        if (q.hasDeadlineRange()) {
+            NavigableMap<LocalDate, Set<Tugas>> range = tugasByDeadline;
+            if (q.getFrom() != null && q.getTo() != null && q.getFrom().isAfter(q.getTo())) range = Collections.emptyNavigableMap();
+            else {
+                if (q.getFrom() != null) range = range.tailMap(q.getFrom(), true);
+                if (q.getTo() != null) range = range.headMap(q.getTo(), true);
+            }
+            List<Tugas> byDeadline = new ArrayList<>();
+            for (Set<Tugas> group : range.values()) {
+                byDeadline.addAll(group);
+                if (byDeadline.size() >= source.size()) break;
+            }
+            if (byDeadline.size() < source.size()) { source = byDeadline; fullScan = false; }
+        }
+
+        List<Tugas> out = new ArrayList<>();
+        TugasSortedView view = tugasViews.get(q.getOrder());
+        if (fullScan && view != null) {
+            int skip = q.getOffset();
+            for (Tugas t : view.values()) {
+                if (out.size() >= q.getLimit()) break;
+                if (!q.matches(t)) continue;
+                if (skip > 0) skip--; else out.add(t);
+            }
+            return out;
+        }
+        for (Tugas t : source)
+            if (q.matches(t) && (textHits == null || textHits.contains(t))) out.add(t);
+        out.sort(q.comparator());
+        int from = Math.min(q.getOffset(), out.size());
+        int to = (int) Math.min((long) from + q.getLimit(), out.size());
+        return new ArrayList<>(out.subList(from, to));
+    }
+
+    /**
+     * Mengubah string menjadi kunci indeks case-insensitive.
+     *
+     * @param s string asli
+     * @return string dalam huruf kecil
+     */
+    private static String fold(String s) { return s.toLowerCase(Locale.ROOT); }
+
+    /**
+     * Mendaftarkan akun ke indeks username. Bila username sudah ada,
+     * akun yang pertama tetap dipakai (sama seperti pencarian linear).
+     *
+     * @param a akun
+     */
+    private void indexAccount(Account a) {
+        if (a.getUsername()!=null) accountByUsername.putIfAbsent(fold(a.getUsername()), a);
+    }
+
+    /**
+     * Mendaftarkan anggota ke indeks ID, indeks trigram, dan BK-tree nama
+     * (bila pohon sudah dibangun).
+     *
+     * @param a anggota
+     */
+    private void indexAnggota(Anggota a) {
+        if (a.getId()!=null) anggotaById.putIfAbsent(a.getId(), a);
+        anggotaText.put(a, a.getId(), a.getNama());
+        if (anggotaNamesBuilt) anggotaNames.put(a, nameKeys(a.getNama()));
+        groupAnggota(a);
+    }
+
+    /**
+     * @param divisi nama divisi (boleh null)
+     * @return kunci pengelompokan divisi
+     */
+    private static String divisiKey(String divisi) { return divisi==null ? "" : fold(divisi); }
+
+    /**
+     * Memasukkan anggota ke kelompok divisinya.
+     *
+     * @param a anggota
+     */
+    private void groupAnggota(Anggota a) {
+        String key = divisiKey(a.getDivisi());
+        divisiKeyOf.put(a, key);
+        anggotaByDivisi.computeIfAbsent(key, k -> new ArrayList<>()).add(a);
+    }
+
+    /**
+     * Mengeluarkan anggota dari kelompok divisi sebelumnya.
+     *
+     * @param a anggota
+     */
+    private void ungroupAnggota(Anggota a) {
+        String key = divisiKeyOf.remove(a);
+        List<Anggota> group = key==null ? null : anggotaByDivisi.get(key);
+        if (group==null) return;
+        group.remove(a);
+        if (group.isEmpty()) anggotaByDivisi.remove(key);
+    }
+
+    /**
+     * Mengambil anggota yang dikelompokkan per divisi, terurut berdasarkan
+     * nama divisi (case-insensitive). Kunci map adalah nama divisi dalam huruf
+     * kecil; anggota tanpa divisi berada pada kunci string kosong.
+     *
+     * @return salinan read-only map divisi ke list anggota
+     */
+    public Map<String, List<Anggota>> getAnggotaPerDivisi() {
+        readLock.lock();
+        try {
+            TreeMap<String, List<Anggota>> copy = new TreeMap<>();
+            for (Map.Entry<String, List<Anggota>> e : anggotaByDivisi.entrySet())
+                copy.put(e.getKey(), Collections.unmodifiableList(new ArrayList<>(e.getValue())));
+            return Collections.unmodifiableMap(copy);
+        } finally { readLock.unlock(); }
+    }
+
+    /**
+     * Menghitung jumlah anggota pada suatu divisi.
+     *
+     * @param divisi nama divisi (case-insensitive)
+     * @return jumlah anggota
+     */
+    public int countAnggotaInDivisi(String divisi) {
+        readLock.lock();
+        try {
+            List<Anggota> group = anggotaByDivisi.get(divisiKey(divisi));
+            return group==null ? 0 : group.size();
+        } finally { readLock.unlock(); }
+    }
+
+    /**
+     * Mendaftarkan divisi ke indeks nama.
+     *
+     * @param d divisi
+     */
+    private void indexDivisi(Divisi d) {
+        if (d.getNama()!=null) divisiByName.putIfAbsent(fold(d.getNama()), d);
+        divisiText.add(d, d.getNama(), 1);
+    }
+
+    /**
+     * Mendaftarkan tugas ke indeks teks, indeks status, indeks deadline, dan view terurut.
+     * Bobot teks: ID 4, judul 2, deskripsi 1.
+     *
+     * @param t tugas (sudah berada di divisi pemiliknya)
+     */
+    private void indexTugas(Tugas t) {
+        tugasText.add(t, t.getId(), 4);
+        tugasText.add(t, t.getJudul(), 2);
+        tugasText.add(t, t.getDeskripsi(), 1);
+        String divisi = t.getOwner() == null ? null : t.getOwner().getNama();
+        for (TugasSortedView v : tugasViews.values()) v.put(t, divisi);
+        indexStatus(t);
+        indexDeadline(t);
+    }
+
+    /**
+     * Memindahkan tugas ke tanggal deadline terbarunya (tugas tanpa deadline tidak diindeks).
+     *
+     * @param t tugas
+     */
+    private void indexDeadline(Tugas t) {
+        unindexDeadline(t);
+        if (t.getDeadline() == null) return;
+        deadlineOf.put(t, t.getDeadline());
+        tugasByDeadline.computeIfAbsent(t.getDeadline(), k -> Collections.newSetFromMap(new IdentityHashMap<>())).add(t);
+    }
+
+    /**
+     * @param t tugas yang dikeluarkan dari indeks deadline
+     */
+    private void unindexDeadline(Tugas t) {
+        LocalDate old = deadlineOf.remove(t);
+        Set<Tugas> group = old == null ? null : tugasByDeadline.get(old);
+        if (group == null) return;
+        group.remove(t);
+        if (group.isEmpty()) tugasByDeadline.remove(old);
+    }
+
+    /**
+     * Memindahkan tugas ke kelompok status terbarunya.
+     *
+     * @param t tugas
+     */
+    private void indexStatus(Tugas t) {
+        for (Set<Tugas> group : tugasByStatus.values()) group.remove(t);
+        tugasByStatus.computeIfAbsent(t.getStatus(), k -> Collections.newSetFromMap(new IdentityHashMap<>())).add(t);
+        tugasViews.get(TugasQuery.Order.STATUS).update(t);
+    }
+
+    /**
+     * Mengeluarkan tugas dari semua indeks tugas.
+     *
+     * @param t tugas
+     */
+    private void unindexTugas(Tugas t) {
+        tugasText.remove(t);
+        for (Set<Tugas> group : tugasByStatus.values()) group.remove(t);
+        for (TugasSortedView v : tugasViews.values()) v.remove(t);
+        unindexDeadline(t);
     }
 // ---------------- MUTATORS ----------------
 
@@ -171,116 +879,663 @@ public class DataStorage {
      *
      * @param a akun yang ditambahkan
      */
-    public void addAccount(Account a) { if (a!=null) accounts.add(a); }
+    public void addAccount(Account a) {
+        if (a==null) return;
+        writeLock.lock();
+        try {
+            accounts.add(a);
+            indexAccount(a);
+            accountsDirty = true;
+            publish(new DomainEvent.AccountRegistered(a.getUsername(), "ACC|" + accountToLine(a)));
+        } finally { unlockWrite(); }
+    }
 
     /**
      * Menambahkan anggota baru ke penyimpanan.
      *
      * @param a anggota yang ditambahkan
      */
-    public void addAnggota(Anggota a) { if (a!=null) { anggotaList.add(a); } }
+    public void addAnggota(Anggota a) {
+        if (a==null) return;
+        writeLock.lock();
+        try {
+            anggotaList.add(a);
+            indexAnggota(a);
+            a.setListener(listener);
+            anggotaDirty = true;
+            publish(new DomainEvent.AnggotaAdded(a.getId(), a.getNama(), "AGT|" + a));
+        } finally { unlockWrite(); }
+    }
+
+    /**
+     * Mengubah beberapa field anggota sekaligus dan mempublikasikan satu
+     * event {@link DomainEvent.AnggotaEdited} (bukan satu per field).
+     *
+     * @param a anggota yang diedit
+     * @param nama nama baru, atau null jika tidak diubah
+     * @param divisi divisi baru, atau null jika tidak diubah
+     * @param noHp nomor HP baru, atau null jika tidak diubah
+     */
+    public void editAnggota(Anggota a, String nama, String divisi, String noHp) {
+        if (a==null || (nama==null && divisi==null && noHp==null)) return;
+        writeLock.lock();
+        try {
+            editing = a;
+            try {
+                if (nama!=null) a.setNama(nama);
+                if (divisi!=null) a.setDivisi(divisi);
+                if (noHp!=null) a.setNoHp(noHp);
+            } finally { editing = null; }
+            publish(new DomainEvent.AnggotaEdited(a.getId(), "AGT|" + a));
+        } finally { unlockWrite(); }
+    }
 
     /**
      * Menghapus anggota berdasarkan ID.
      *
      * @param id ID anggota yang akan dihapus
      */
-    public void removeAnggotaById(String id) { if (id==null) return; anggotaList.removeIf(x->id.equals(x.getId())); }
+    public void removeAnggotaById(String id) {
+        if (id==null) return;
+        writeLock.lock();
+        try {
+            Iterator<Anggota> it = anggotaList.iterator();
+            while (it.hasNext()) {
+                Anggota a = it.next();
+                if (!id.equals(a.getId())) continue;
+                it.remove();
+                ungroupAnggota(a);
+                anggotaText.remove(a);
+                if (anggotaNamesBuilt) anggotaNames.remove(a);
+                a.setListener(null);
+                anggotaDirty = true;
+                publish(new DomainEvent.AnggotaRemoved(id, "AGT-|" + RecordTokenizer.escape(id)));
+            }
+            anggotaById.remove(id);
+        } finally { unlockWrite(); }
+    }
 
     /**
      * Menambahkan divisi baru.
      *
      * @param d divisi yang ditambahkan
      */
-    public void addDivisi(Divisi d) { if (d!=null) divisiList.add(d); }
+    public void addDivisi(Divisi d) {
+        if (d==null) return;
+        writeLock.lock();
+        try {
+            divisiList.add(d);
+            indexDivisi(d);
+            d.setListener(listener);
+            divisiDirty = true;
+            registerTugasOf(d);
+            List<String> records = new ArrayList<>();
+            records.add("DIV|" + RecordTokenizer.escape(d.getNama()));
+            for (Tugas t : d.tugas()) records.add("TGS|" + RecordTokenizer.escape(d.getNama()) + "|" + t);
+            publish(new DomainEvent.DivisiAdded(d.getNama(), records.toArray(new String[0])));
+        } finally { unlockWrite(); }
+    }
+
+    /**
+     * Mendaftarkan tugas yang sudah ada di dalam divisi ke registry tugas.
+     * Tugas dengan ID yang sudah dipakai dikeluarkan dari divisi.
+     *
+     * @param d divisi
+     */
+    private void registerTugasOf(Divisi d) {
+        Iterator<Tugas> it = d.tugas().iterator();
+        while (it.hasNext()) {
+            Tugas t = it.next();
+            Tugas cur = tugasById.putIfAbsent(t.getId(), t);
+            if (cur!=null && cur!=t) {
+                System.err.println("ID tugas ganda diabaikan: " + t.getId());
+                it.remove();
+            } else if (cur==null) indexTugas(t);
+        }
+    }
 
     // ---------------- LOAD/SAVE ----------------
 
     /**
-     * Memuat seluruh data dari semua file penyimpanan.
+     * Memuat data dari file penyimpanan, lalu memutar ulang perubahan yang
+     * tercatat di WAL. Hanya file yang berubah sejak terakhir dimuat/ditulis
+     * yang di-parse ulang; bila tidak ada yang berubah, method ini tidak
+     * membaca apa pun.
      */
-    public void loadAll() { loadAccounts(); loadAnggota(); loadDivisiAndTugas(); }
+    public void loadAll() {
+        flush();
+        writeLock.lock();
+        suppressLog = true;
+        try {
+            boolean reloaded = format == StorageFormat.BINARY && Files.exists(snapshotFile)
+                    ? reloadSnapshotIfChanged() : reloadTextIfChanged();
+            // replay WAL bersifat idempoten, jadi aman diulang di atas data yang baru dimuat
+            if (reloaded || !loaded || isChanged(walFile)) {
+                for (String r : wal.readRecords()) applyRecord(r);
+                remember(walFile);
+            }
+            loaded = true;
+        } finally {
+            suppressLog = false;
+            unlockWrite();
+        }
+    }
 
     /**
-     * Menyimpan seluruh data ke file.
+     * Memuat ulang <code>snapshot.bin</code> bila berubah. Bila snapshot gagal
+     * dibaca, data dimuat dari file teks.
+     *
+     * @return true jika ada data yang dimuat ulang
      */
-    public void saveAll() { saveAccounts(); saveAnggota(); saveDivisiAndTugas(); }
+    private boolean reloadSnapshotIfChanged() {
+        if (loaded && loadedFromSnapshot && !isChanged(snapshotFile)) return false;
+        if (!loadSnapshot()) return reloadTextIfChanged();
+        loadedFromSnapshot = true;
+        remember(snapshotFile);
+        accountsDirty = anggotaDirty = divisiDirty = false;
+        return true;
+    }
+
+    /**
+     * Memuat ulang file teks yang berubah saja.
+     * Pada format BINARY, koleksi yang dimuat dari teks ditandai berubah agar
+     * snapshot pertama ditulis pada checkpoint berikutnya.
+     *
+     * @return true jika ada file yang dimuat ulang
+     */
+    private boolean reloadTextIfChanged() {
+        boolean all = !loaded || loadedFromSnapshot;
+        boolean binary = format == StorageFormat.BINARY;
+        boolean any = false;
+        if (all || isChanged(accountsFile)) { loadAccounts(); remember(accountsFile); accountsDirty = binary; any = true; }
+        if (all || isChanged(anggotaFile)) { loadAnggota(); remember(anggotaFile); anggotaDirty = binary; any = true; }
+        if (all || isChanged(divisiFile)) { loadDivisiAndTugas(); remember(divisiFile); divisiDirty = binary; any = true; }
+        loadedFromSnapshot = false;
+        return any;
+    }
+
+    /**
+     * Mengecek apakah file berubah dibanding sidik jari yang tersimpan.
+     *
+     * @param file file yang dicek
+     * @return true jika file berubah, muncul, atau hilang
+     */
+    private synchronized boolean isChanged(Path file) {
+        FileFingerprint prev = fingerprints.get(file);
+        if (prev == null) return Files.exists(file);
+        FileFingerprint now = prev.verify(file);
+        if (now == null) return true;
+        fingerprints.put(file, now);
+        return false;
+    }
+
+    /**
+     * Menyimpan sidik jari file saat ini. WAL hanya dicatat ukuran dan waktunya
+     * karena sering ditambah; file data lain ikut dihitung checksum-nya.
+     *
+     * @param file file yang dicatat
+     */
+    private synchronized void remember(Path file) {
+        FileFingerprint fp = FileFingerprint.of(file, !file.equals(walFile));
+        if (fp == null) fingerprints.remove(file);
+        else fingerprints.put(file, fp);
+    }
+
+    /**
+     * Menunggu sampai semua perubahan diproses oleh subscriber persistensi,
+     * lalu melakukan checkpoint bila WAL sudah mencapai {@link #CHECKPOINT_THRESHOLD}
+     * record. Tidak wajib dipanggil setelah setiap perubahan; record WAL sudah
+     * ditambahkan oleh subscriber persistensi.
+     */
+    public void saveAll() {
+        bus.drain();
+        if (wal.size() >= CHECKPOINT_THRESHOLD) checkpoint();
+    }
+
+    /**
+     * Barrier penyimpanan: menunggu semua event diproses, menulis semua
+     * perubahan yang tertunda ke disk (fsync) tanpa memperhatikan mode durabilitas,
+     * dan melakukan checkpoint bila WAL sudah mencapai {@link #CHECKPOINT_THRESHOLD}.
+     * Bila WAL tidak bisa ditulis, data langsung di-checkpoint ke file penyimpanan.
+     *
+     * @throws UncheckedIOException jika perubahan tidak bisa disimpan
+     * @throws IllegalStateException jika event tidak bisa ditunggu sampai selesai
+     */
+    public void flush() {
+        bus.drain();
+        if (wal.size() >= CHECKPOINT_THRESHOLD && checkpoint()) return;
+        try { flushWal(); }
+        catch (UncheckedIOException e) {
+            if (!checkpoint()) throw e;
+        }
+    }
+
+    /**
+     * Menulis buffer WAL ke disk.
+     *
+     * @throws UncheckedIOException jika WAL gagal ditulis
+     */
+    private synchronized void flushWal() {
+        dirty = false;
+        try { if (wal.flush()) recordWrite(walFile); }
+        catch (IOException e) { throw new UncheckedIOException("flush wal: " + e.getMessage(), e); }
+    }
+
+    /**
+     * Subscriber persistensi: menambahkan record WAL dari satu batch event,
+     * lalu menulisnya sesuai {@link DurabilityMode}. Checkpoint tidak dilakukan
+     * di sini agar list data tidak dibaca bersamaan dengan thread CLI;
+     * checkpoint menunggu {@link #flush()} berikutnya.
+     *
+     * @param batch event dari {@link EventBus}
+     */
+    private void persist(List<DomainEvent> batch) {
+        for (DomainEvent e : batch) for (String r : e.records()) wal.append(r);
+        if (durability != DurabilityMode.SYNC) { dirty = true; return; }
+        // kesalahan tetap tersimpan di WAL dan dilaporkan oleh flush() berikutnya
+        try { flushWal(); } catch (UncheckedIOException ex) { System.err.println(ex.getMessage()); }
+    }
+
+    /**
+     * Menulis ulang file teks yang datanya berubah lalu mengosongkan WAL.
+     * Event yang masih antre diproses terlebih dahulu.
+     *
+     * <p>WAL hanya dikosongkan bila semua file berhasil ditulis dan dipindahkan.
+     * Bila ada yang gagal, koleksinya tetap ditandai berubah dan WAL dipertahankan
+     * (isinya ditulis ke disk) sehingga perubahan diputar ulang saat {@link #loadAll()}.</p>
+     *
+     * @return true jika checkpoint berhasil, false jika ada file yang gagal ditulis
+     */
+    public boolean checkpoint() {
+        bus.drain();
+        readLock.lock();
+        try { return checkpointNow(); } finally { readLock.unlock(); }
+    }
+
+    private synchronized boolean checkpointNow() {
+        boolean ok = true;
+        if (format == StorageFormat.BINARY) {
+            if (accountsDirty || anggotaDirty || divisiDirty) {
+                boolean acc = accountsDirty, agt = anggotaDirty, div = divisiDirty;
+                accountsDirty = anggotaDirty = divisiDirty = false;
+                if (!saveSnapshot()) { accountsDirty = acc; anggotaDirty = agt; divisiDirty = div; ok = false; }
+            }
+        } else {
+            if (accountsDirty) { accountsDirty = false; if (!saveAccounts()) { accountsDirty = true; ok = false; } }
+            if (anggotaDirty) { anggotaDirty = false; if (!saveAnggota()) { anggotaDirty = true; ok = false; } }
+            if (divisiDirty) { divisiDirty = false; if (!saveDivisiAndTugas()) { divisiDirty = true; ok = false; } }
+        }
+        if (!ok) {
+            System.err.println("checkpoint gagal: wal.log dipertahankan");
+            try { flushWal(); } catch (UncheckedIOException e) { System.err.println(e.getMessage()); }
+            return false;
+        }
+        dirty = false;
+        wal.reset();
+        remember(walFile);
+        return true;
+    }
+
+    /**
+     * Mengganti format penyimpanan utama. Seluruh data ditandai berubah
+     * sehingga checkpoint berikutnya menulis file dalam format baru.
+     *
+     * @param f format baru
+     */
+    public synchronized void setStorageFormat(StorageFormat f) {
+        if (f == null || f == format) return;
+        format = f;
+        accountsDirty = anggotaDirty = divisiDirty = true;
+    }
+
+    /** @return format penyimpanan yang sedang aktif */
+    public StorageFormat getStorageFormat() { return format; }
+
+    /**
+     * Menulis seluruh data di memori ke file teks (accounts.txt, anggota.txt,
+     * divisi.txt) tanpa memperhatikan format aktif. Berguna untuk debugging
+     * saat format BINARY dipakai.
+     *
+     * @return true jika ketiga file berhasil ditulis
+     */
+    public boolean exportText() {
+        readLock.lock();
+        try { synchronized (this) { return saveAccounts() & saveAnggota() & saveDivisiAndTugas(); } } finally { readLock.unlock(); }
+    }
+
+    /**
+     * Menulis seluruh data di memori ke <code>snapshot.bin</code>
+     * tanpa memperhatikan format aktif.
+     *
+     * @return true jika snapshot berhasil ditulis
+     */
+    public boolean exportSnapshot() {
+        readLock.lock();
+        try { synchronized (this) { return saveSnapshot(); } } finally { readLock.unlock(); }
+    }
+
+    /**
+     * Mengambil jumlah penulisan fisik per file sejak aplikasi berjalan
+     * (file teks saat checkpoint dan <code>wal.log</code> saat flush).
+     *
+     * @return map nama file ke jumlah penulisan
+     */
+    public synchronized Map<String, Long> getWriteCounts() { return new LinkedHashMap<>(writeCounts); }
+
+    /**
+     * Mencatat penulisan fisik sebuah file: menambah penghitung dan
+     * memperbarui sidik jarinya agar tidak dianggap berubah saat loadAll.
+     *
+     * @param file file yang baru ditulis
+     */
+    private synchronized void recordWrite(Path file) {
+        writeCounts.merge(file.getFileName().toString(), 1L, Long::sum);
+        remember(file);
+    }
+
+    /**
+     * Mengatur mode durabilitas. Perubahan yang tertunda langsung ditulis
+     * sebelum mode baru berlaku.
+     *
+     * @param mode mode durabilitas
+     * @param intervalMs interval group commit dalam milidetik (dipakai pada GROUP_COMMIT)
+     */
+    public synchronized void setDurability(DurabilityMode mode, long intervalMs) {
+        if (mode == null) mode = DurabilityMode.SYNC;
+        try { flushWal(); } catch (UncheckedIOException e) { System.err.println(e.getMessage()); }
+        if (flusher != null) { flusher.interrupt(); flusher = null; }
+        durability = mode;
+        wal.setSync(mode == DurabilityMode.SYNC);
+        groupCommitMillis = Math.max(1, intervalMs);
+        if (mode == DurabilityMode.GROUP_COMMIT) {
+            flusher = new Thread(this::runFlusher, "datastorage-flusher");
+            flusher.setDaemon(true);
+            flusher.start();
+        }
+    }
+
+    /** @return mode durabilitas yang sedang aktif */
+    public DurabilityMode getDurability() { return durability; }
+
+    /**
+     * Membaca konfigurasi durabilitas dari string, misalnya
+     * <code>sync</code>, <code>group</code>, <code>group:500</code>, atau <code>logout</code>.
+     *
+     * @param cfg string konfigurasi; null berarti SYNC
+     */
+    private void configureDurability(String cfg) {
+        if (cfg == null || cfg.trim().isEmpty()) return;
+        String[] p = cfg.trim().toLowerCase().split(":", 2);
+        long interval = groupCommitMillis;
+        if (p.length > 1) {
+            try { interval = Long.parseLong(p[1].trim()); } catch (NumberFormatException e) { System.err.println("durability interval: " + p[1]); }
+        }
+        switch (p[0]) {
+            case "group": setDurability(DurabilityMode.GROUP_COMMIT, interval); break;
+            case "logout": setDurability(DurabilityMode.ON_LOGOUT, interval); break;
+            case "sync": setDurability(DurabilityMode.SYNC, interval); break;
+            default: System.err.println("durability tidak dikenal: " + cfg);
+        }
+    }
+
+    /**
+     * Loop thread flusher: setiap interval, tulis WAL bila ada perubahan.
+     * Checkpoint tidak dilakukan di thread ini agar list data tidak dibaca
+     * bersamaan dengan thread CLI yang sedang mengubahnya.
+     */
+    private void runFlusher() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try { Thread.sleep(groupCommitMillis); } catch (InterruptedException e) { return; }
+            if (!dirty) continue;
+            try { flushWal(); } catch (UncheckedIOException e) { System.err.println(e.getMessage()); }
+        }
+    }
+
+    /**
+     * Mempublikasikan event perubahan atas nama akun yang sedang login
+     * (kecuali saat load/replay dan pada instance dari {@link #loadExisting(Path, StorageFormat)}).
+     *
+     * @param e event domain
+     */
+    private void publish(DomainEvent e) {
+        if (suppressLog || detached) return;
+        e.setActor(actor.get());
+        bus.publish(e);
+        if (durability == DurabilityMode.SYNC) awaitWal.set(Boolean.TRUE);
+    }
+
+    /**
+     * Melepas write lock. Pada mode SYNC, bila thread ini mempublikasikan
+     * perubahan dan sudah tidak memegang write lock lagi, tunggu sampai
+     * subscriber persistensi selesai menulis dan mem-force WAL-nya. Penantian
+     * dilakukan di luar kunci agar thread lain tetap bisa membaca dan menulis;
+     * bila penulisan gagal, pesannya dicetak oleh subscriber dan dilaporkan lagi
+     * oleh {@link #flush()} berikutnya.
+     *
+     * @throws IllegalStateException jika subscriber persistensi tidak bisa ditunggu
+     */
+    private void unlockWrite() {
+        writeLock.unlock();
+        if (awaitWal.get() == null || rw.isWriteLockedByCurrentThread()) return;
+        awaitWal.remove();
+        bus.drain("wal");
+    }
+
+    /**
+     * Mengatur akun yang sedang login di thread pemanggil (setiap sesi
+     * punya pelakunya sendiri). Event perubahan berikutnya dari thread ini dicatat
+     * di riwayat atas nama akun ini; null berarti perubahan oleh sistem
+     * (tidak dicatat di riwayat).
+     *
+     * @param a akun yang login, atau null saat logout
+     */
+    public void setActor(Account a) {
+        if (a == null) actor.remove(); else actor.set(a);
+    }
+
+    /** @return akun yang sedang login di thread ini, atau null */
+    public Account getActor() { return actor.get(); }
+
+    /**
+     * Menerapkan satu record WAL ke data di memori.
+     * Semua operasi bersifat idempoten sehingga aman diputar ulang
+     * di atas file yang sudah ter-checkpoint.
+     *
+     * @param r record WAL
+     */
+    private void applyRecord(String r) {
+        RecordTokenizer tok = new RecordTokenizer('|').reset(r);
+        String op = tok.next();
+        if (!tok.hasNext()) return;
+        switch (op) {
+            case "ACC": {
+                Account a = accountFromLine(tok.rest());
+                if (a==null || a.getUsername()==null) break;
+                accounts.removeIf(x->a.getUsername().equalsIgnoreCase(x.getUsername()));
+                accounts.add(a);
+                accountByUsername.put(fold(a.getUsername()), a);
+                accountsDirty = true;
+                break;
+            }
+            case "AGT": {
+                Anggota a = Anggota.fromString(tok.rest());
+                if (a==null) break;
+                Anggota cur = findAnggotaById(a.getId());
+                if (cur==null) { addAnggota(a); break; }
+                cur.setNama(a.getNama()); cur.setDivisi(a.getDivisi()); cur.setNoHp(a.getNoHp());
+                break;
+            }
+            case "AGT-": removeAnggotaById(tok.restUnescaped()); break;
+            case "DIV": {
+                String name = tok.restUnescaped();
+                if (findDivisiByName(name)==null) addDivisi(new Divisi(name));
+                break;
+            }
+            case "TGS": {
+                String name = tok.next();
+                Tugas t = tok.hasNext() ? Tugas.fromString(tok.rest()) : null;
+                if (t==null) break;
+                Divisi d = findDivisiByName(name);
+                if (d==null) { d = new Divisi(name); addDivisi(d); }
+                Tugas cur = findTugasById(t.getId());
+                if (cur!=null && cur.getOwner()!=d) { cur.getOwner().removeTugasById(cur.getId()); cur = null; }
+                if (cur==null) { d.addTugas(t); break; }
+                cur.setDeadline(t.getDeadline()); cur.setStatus(t.getStatus());
+                break;
+            }
+            case "TGS-": {
+                Divisi d = findDivisiByName(tok.next());
+                String id = tok.restUnescaped();
+                if (d!=null && id!=null) d.removeTugasById(id);
+                break;
+            }
+            default: System.err.println("wal: record tidak dikenal " + op);
+        }
+    }
+
+    /**
+     * Mengubah akun menjadi satu baris teks.
+     * Format: type,username,password,name[,linkedId] (karakter khusus di-escape)
+     *
+     * @param a akun
+     * @return baris teks
+     */
+    private static String accountToLine(Account a) {
+        String base = "," + RecordTokenizer.escape(a.getUsername()) + "," + RecordTokenizer.escape(a.getPassword())
+                + "," + RecordTokenizer.escape(a.getName());
+        if (a instanceof Admin) return "ADMIN" + base;
+        if (a instanceof Member) return "MEMBER" + base + "," + RecordTokenizer.escape(((Member)a).getIdAnggota());
+        return "UNKNOWN" + base;
+    }
+
+    /**
+     * Mengubah satu baris teks menjadi akun.
+     *
+     * @param line baris dengan format type,username,password,name[,linkedId]
+     * @return akun, atau null jika format tidak valid
+     */
+    private static Account accountFromLine(String line) { return accountFromTokens(new RecordTokenizer(',').reset(line)); }
+
+    /**
+     * Membuat akun dari tokenizer yang sudah diarahkan ke satu baris.
+     *
+     * @param tok tokenizer dengan pemisah ','
+     * @return akun, atau null jika format tidak valid
+     */
+    private static Account accountFromTokens(RecordTokenizer tok) {
+        String type = tok.next(), u = tok.next(), p = tok.next(), name = tok.next();
+        if (name==null) return null;
+        if ("ADMIN".equalsIgnoreCase(type)) return new Admin(u, p, name);
+        String linked = tok.next();
+        return new Member(u, p, name, linked==null?"":linked);
+    }
 
     /**
      * Memuat data akun dari <code>accounts.txt</code>.
      */
     private void loadAccounts() {
-        accounts.clear();
+        clearAccounts();
         if (!Files.exists(accountsFile)) return;
+        if (useParallelLoader(accountsFile)) {
+            try { for (Account a : ParallelLoader.parseLines(accountsFile, DataStorage::accountFromTokens)) { accounts.add(a); indexAccount(a); } }
+            catch (IOException e) { System.err.println("load accounts: " + e.getMessage()); }
+            return;
+        }
         try (BufferedReader br = Files.newBufferedReader(accountsFile)) {
             String line;
+            RecordTokenizer tok = new RecordTokenizer(',');
             while ((line=br.readLine())!=null) {
-                String[] p = line.split(",", -1);
-                if (p.length>=4) {
-                    if ("ADMIN".equalsIgnoreCase(p[0])) accounts.add(new Admin(p[1], p[2], p[3]));
-                    else accounts.add(new Member(p[1], p[2], p[3], p.length>=5?p[4]:""));
-                }
+                Account a = accountFromTokens(tok.reset(line));
+                if (a!=null) { accounts.add(a); indexAccount(a); }
             }
         } catch (IOException e) { System.err.println("load accounts: " + e.getMessage()); }
     }
 
     /**
      * Menyimpan data akun ke <code>accounts.txt</code>.
+     *
+     * @return true jika berhasil
      */
-    private void saveAccounts() {
-        try (BufferedWriter bw = Files.newBufferedWriter(accountsFile)) {
+    private boolean saveAccounts() {
+        Path tmp = tempOf(accountsFile);
+        try (BufferedWriter bw = Files.newBufferedWriter(tmp)) {
             for (Account a : accounts) {
-                if (a instanceof Admin) 
-                    bw.write("ADMIN," + a.getUsername() + "," + a.getPassword() + "," + a.getName());
-                else if (a instanceof Member) {
-                    Member m = (Member)a;
-                    bw.write("MEMBER," + m.getUsername() + "," + m.getPassword() + "," + m.getName() + "," + (m.getIdAnggota()==null?"":m.getIdAnggota()));
-                } else 
-                    bw.write("UNKNOWN," + a.getUsername() + "," + a.getPassword() + "," + a.getName());
+                bw.write(accountToLine(a));
                 bw.newLine();
             }
-        } catch (IOException e) { System.err.println("save accounts: " + e.getMessage()); }
+        } catch (IOException e) { System.err.println("save accounts: " + e.getMessage()); return false; }
+        if (!replace(tmp, accountsFile)) return false;
+        recordWrite(accountsFile);
+        return true;
     }
 /**
      * Memuat data anggota dari <code>anggota.txt</code>.
      */
     private void loadAnggota() {
-        anggotaList.clear();
+        clearAnggota();
         if (!Files.exists(anggotaFile)) return;
+        if (useParallelLoader(anggotaFile)) {
+            try { for (Anggota a : ParallelLoader.parseLines(anggotaFile, Anggota::fromTokens)) { anggotaList.add(a); indexAnggota(a); a.setListener(listener); } }
+            catch (IOException e) { System.err.println("load anggota: " + e.getMessage()); }
+            return;
+        }
         try (BufferedReader br = Files.newBufferedReader(anggotaFile)) {
             String line;
+            RecordTokenizer tok = new RecordTokenizer(',');
             while ((line=br.readLine())!=null) {
-                Anggota a = Anggota.fromString(line);
-                if (a!=null) anggotaList.add(a);
+                Anggota a = Anggota.fromTokens(tok.reset(line));
+                if (a!=null) { anggotaList.add(a); indexAnggota(a); a.setListener(listener); }
             }
         } catch (IOException e) { System.err.println("load anggota: " + e.getMessage()); }
     }
 
     /**
      * Menyimpan data anggota ke <code>anggota.txt</code>.
+     *
+     * @return true jika berhasil
      */
-    private void saveAnggota() {
-        try (BufferedWriter bw = Files.newBufferedWriter(anggotaFile)) {
+    private boolean saveAnggota() {
+        Path tmp = tempOf(anggotaFile);
+        try (BufferedWriter bw = Files.newBufferedWriter(tmp)) {
             for (Anggota a : anggotaList) bw.write(a.toString() + System.lineSeparator());
-        } catch (IOException e) { System.err.println("save anggota: " + e.getMessage()); }
+        } catch (IOException e) { System.err.println("save anggota: " + e.getMessage()); return false; }
+        if (!replace(tmp, anggotaFile)) return false;
+        recordWrite(anggotaFile);
+        return true;
     }
 
     /**
      * Memuat data divisi dan tugas dari <code>divisi.txt</code>.
      */
     private void loadDivisiAndTugas() {
-        divisiList.clear();
+        clearDivisi();
         if (!Files.exists(divisiFile)) return;
+        if (useParallelLoader(divisiFile)) {
+            try {
+                for (Divisi d : ParallelLoader.parseDivisi(divisiFile)) {
+                    divisiList.add(d);
+                    indexDivisi(d);
+                    registerTugasOf(d);
+                    d.setListener(listener);
+                }
+            } catch (IOException e) { System.err.println("load divisi: " + e.getMessage()); }
+            return;
+        }
         try (BufferedReader br = Files.newBufferedReader(divisiFile)) {
             String line; Divisi current = null;
+            RecordTokenizer divisiTok = new RecordTokenizer('|');
             while ((line=br.readLine())!=null) {
                 if (line.startsWith("DIV|")) { 
-                    current = new Divisi(line.substring(4)); 
+                    current = new Divisi(divisiTok.reset(line, 4, line.length()).restUnescaped()); 
                     divisiList.add(current); 
+                    indexDivisi(current);
+                    current.setListener(listener);
                 }
                 else if (line.startsWith("TASK|") && current!=null) {
-                    Tugas t = Tugas.fromString(line.substring(5));
-                    if (t!=null) current.addTugas(t);
+                    Tugas t = Tugas.fromTokens(divisiTok.reset(line, 5, line.length()));
+                    if (t==null) continue;
+                    try { current.addTugas(t); }
+                    catch (IllegalArgumentException ex) { System.err.println("load divisi: " + ex.getMessage()); }
                 }
             }
         } catch (IOException e) { System.err.println("load divisi: " + e.getMessage()); }
@@ -288,14 +1543,135 @@ public class DataStorage {
 
     /**
      * Menyimpan data divisi dan tugas ke <code>divisi.txt</code>.
+     *
+     * @return true jika berhasil
      */
-    private void saveDivisiAndTugas() {
-        try (BufferedWriter bw = Files.newBufferedWriter(divisiFile)) {
+    private boolean saveDivisiAndTugas() {
+        Path tmp = tempOf(divisiFile);
+        try (BufferedWriter bw = Files.newBufferedWriter(tmp)) {
             for (Divisi d : divisiList) {
-                bw.write("DIV|" + d.getNama() + System.lineSeparator());
-                for (Tugas t : d.getTugasList()) 
+                bw.write("DIV|" + RecordTokenizer.escape(d.getNama()) + System.lineSeparator());
+                for (Tugas t : d.tugas()) 
                     bw.write("TASK|" + t.toString() + System.lineSeparator());
             }
-        } catch (IOException e) { System.err.println("save divisi: " + e.getMessage()); }
+        } catch (IOException e) { System.err.println("save divisi: " + e.getMessage()); return false; }
+        if (!replace(tmp, divisiFile)) return false;
+        recordWrite(divisiFile);
+        return true;
+    }
+
+    /**
+     * Memuat seluruh data dari <code>snapshot.bin</code>.
+     *
+     * @return true jika berhasil, false jika snapshot gagal dibaca
+     */
+    private boolean loadSnapshot() {
+        BinarySnapshot snap;
+        try { snap = BinarySnapshot.read(snapshotFile); }
+        catch (IOException e) { System.err.println("load snapshot: " + e.getMessage()); return false; }
+
+        clearAccounts();
+        for (Account a : snap.accounts) { accounts.add(a); indexAccount(a); }
+        clearAnggota();
+        for (Anggota a : snap.anggota) { anggotaList.add(a); indexAnggota(a); a.setListener(listener); }
+        clearDivisi();
+        for (Divisi d : snap.divisi) {
+            divisiList.add(d);
+            indexDivisi(d);
+            registerTugasOf(d);
+            d.setListener(listener);
+        }
+        return true;
+    }
+
+    /**
+     * Menyimpan seluruh data ke <code>snapshot.bin</code>.
+     *
+     * @return true jika berhasil
+     */
+    private boolean saveSnapshot() {
+        Path tmp = tempOf(snapshotFile);
+        try { BinarySnapshot.write(tmp, accounts, anggotaList, divisiList); }
+        catch (IOException e) { System.err.println("save snapshot: " + e.getMessage()); return false; }
+        if (!replace(tmp, snapshotFile)) return false;
+        recordWrite(snapshotFile);
+        return true;
+    }
+
+    /**
+     * @param file file yang akan dimuat
+     * @return true jika ukuran file cukup besar untuk loader paralel
+     */
+    private boolean useParallelLoader(Path file) {
+        try { return Files.size(file) >= parallelLoadThreshold; }
+        catch (IOException e) { return false; }
+    }
+
+    /**
+     * Mengatur ukuran file minimal untuk memakai loader paralel.
+     * Nilai {@link Long#MAX_VALUE} mematikan loader paralel, nilai 0 selalu memakainya
+     * (berguna untuk membandingkan kedua cara pemuatan).
+     *
+     * @param bytes ukuran minimal dalam byte
+     */
+    public void setParallelLoadThreshold(long bytes) { parallelLoadThreshold = Math.max(0, bytes); }
+
+    /** @return ukuran file minimal (byte) untuk memakai loader paralel */
+    public long getParallelLoadThreshold() { return parallelLoadThreshold; }
+
+    /** Mengosongkan list akun beserta indeksnya. */
+    private void clearAccounts() {
+        accounts.clear();
+        accountByUsername.clear();
+    }
+
+    /** Mengosongkan list anggota beserta indeksnya. */
+    private void clearAnggota() {
+        for (Anggota a : anggotaList) a.setListener(null);
+        anggotaList.clear();
+        anggotaById.clear();
+        anggotaText.clear();
+        anggotaNamesBuilt = false;
+        anggotaNames.clear();
+        anggotaByDivisi.clear();
+        divisiKeyOf.clear();
+    }
+
+    /** Mengosongkan list divisi beserta registry tugas. */
+    private void clearDivisi() {
+        for (Divisi d : divisiList) d.setListener(null);
+        divisiList.clear();
+        divisiByName.clear();
+        tugasById.clear();
+        divisiText.clear();
+        tugasText.clear();
+        tugasByStatus.clear();
+        for (TugasSortedView v : tugasViews.values()) v.clear();
+        tugasByDeadline.clear();
+        deadlineOf.clear();
+    }
+
+    /**
+     * @param target file tujuan
+     * @return file sementara di sebelah file tujuan
+     */
+    private Path tempOf(Path target) { return target.resolveSibling(target.getFileName() + ".tmp"); }
+
+    /**
+     * Mengganti file tujuan dengan file sementara yang sudah selesai ditulis,
+     * sehingga file lama tidak pernah tertinggal setengah tertulis.
+     *
+     * @param tmp file sementara
+     * @param target file tujuan
+     * @return true jika file tujuan sudah diganti
+     */
+    private boolean replace(Path tmp, Path target) {
+        try {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            try { Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING); }
+            catch (IOException ex) { System.err.println("replace " + target.getFileName() + ": " + ex.getMessage()); return false; }
+        }
+        return true;
     }
 }
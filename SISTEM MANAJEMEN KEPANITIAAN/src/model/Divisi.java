@@ -1,6 +1,8 @@
 package model;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -15,6 +17,9 @@ public class Divisi {
     private String nama;
     private final List<Tugas> tugasList = new ArrayList<>();
 
+    /** Penerima notifikasi perubahan (diisi oleh DataStorage). */
+    private ModelListener listener;
+
     /**
      * Membuat objek Divisi baru dengan nama yang diberikan.
      *
@@ -32,23 +37,88 @@ public class Divisi {
     /**
      * Mengambil daftar tugas yang dimiliki divisi ini.
      *
+     * @return salinan read-only list tugas dalam divisi (aman diiterasi
+     *         walaupun divisi diubah thread lain)
+     */
+    public List<Tugas> getTugasList() {
+        ModelListener l = listener;
+        if (l!=null) l.beginRead();
+        try { return Collections.unmodifiableList(new ArrayList<>(tugasList)); }
+        finally { if (l!=null) l.endRead(); }
+    }
+
+    /**
+     * List tugas internal, tanpa salinan. Hanya untuk DataStorage yang
+     * sudah memegang lock.
+     *
      * @return list tugas dalam divisi
      */
-    public List<Tugas> getTugasList() { return tugasList; }
+    List<Tugas> tugas() { return tugasList; }
 
     /**
      * Menambahkan sebuah tugas ke dalam divisi.
      *
      * @param t tugas yang akan ditambahkan
+     * @throws IllegalArgumentException jika ID tugas sudah dipakai di divisi lain
      */
-    public void addTugas(Tugas t) { if (t!=null) tugasList.add(t); }
+    public void addTugas(Tugas t) {
+        if (t==null) return;
+        ModelListener l = beginChange();
+        try {
+            if (listener!=null) listener.checkTugas(this, t);
+            tugasList.add(t);
+            t.setOwner(this);
+            if (listener!=null) listener.tugasAdded(this, t);
+        } finally { endChange(l); }
+    }
 
     /**
      * Menghapus tugas berdasarkan ID tugas.
      *
      * @param id ID tugas yang akan dihapus
      */
-    public void removeTugasById(String id) { tugasList.removeIf(t->t.getId().equals(id)); }
+    public void removeTugasById(String id) {
+        ModelListener l = beginChange();
+        try {
+            Iterator<Tugas> it = tugasList.iterator();
+            while (it.hasNext()) {
+                Tugas t = it.next();
+                if (!t.getId().equals(id)) continue;
+                it.remove();
+                t.setOwner(null);
+                if (listener!=null) listener.tugasRemoved(this, t);
+            }
+        } finally { endChange(l); }
+    }
+
+    /**
+     * Memasang penerima notifikasi perubahan.
+     *
+     * @param l listener, atau null untuk melepas
+     */
+    void setListener(ModelListener l) { this.listener = l; }
+
+    /**
+     * Mengambil write lock lewat listener sebelum divisi atau tugasnya diubah.
+     *
+     * @return listener yang dikunci, atau null
+     */
+    ModelListener beginChange() {
+        ModelListener l = listener;
+        if (l!=null) l.beginChange();
+        return l;
+    }
+
+    /** @param l listener dari {@link #beginChange()} */
+    static void endChange(ModelListener l) { if (l!=null) l.endChange(); }
+
+    /**
+     * Meneruskan notifikasi perubahan dari tugas milik divisi ini.
+     *
+     * @param t tugas yang berubah
+     * @param status true jika yang berubah status, false jika deadline
+     */
+    void tugasChanged(Tugas t, boolean status) { if (listener!=null) listener.tugasChanged(this, t, status); }
 
     /**
      * Mengembalikan representasi string dari divisi, yaitu nama divisi.
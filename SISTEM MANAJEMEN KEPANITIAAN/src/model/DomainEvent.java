@@ -0,0 +1,129 @@
+package model;
+
+import java.time.LocalDate;
+
+/**
+ * Event domain yang dipublikasikan {@link DataStorage} ke {@link EventBus}
+ * setiap kali data berubah (anggota, akun, divisi, tugas).
+ *
+ * <p>Setiap event membawa waktu, akun pelaku yang sedang login
+ * ({@link DataStorage#setActor(Account)}, null untuk perubahan oleh sistem),
+ * dan record WAL yang sudah disusun saat perubahan terjadi, sehingga
+ * subscriber persistensi cukup menambahkannya ke <code>wal.log</code>.</p>
+ */
+public abstract class DomainEvent {
+    private final long time = System.currentTimeMillis();
+    private Account actor;
+    private final String[] records;
+
+    DomainEvent(String... records) { this.records = records; }
+
+    /** @return waktu event (epoch millis) */
+    public long getTime() { return time; }
+
+    /** @return akun pelaku, atau null jika perubahan dilakukan sistem */
+    public Account getActor() { return actor; }
+
+    void setActor(Account actor) { this.actor = actor; }
+
+    /** @return record WAL untuk event ini, sesuai urutan */
+    String[] records() { return records; }
+
+    /** Akun baru didaftarkan. */
+    public static final class AccountRegistered extends DomainEvent {
+        private final String username;
+
+        AccountRegistered(String username, String record) { super(record); this.username = username; }
+
+        public String getUsername() { return username; }
+    }
+
+    /** Anggota baru ditambahkan. */
+    public static final class AnggotaAdded extends DomainEvent {
+        private final String id, nama;
+
+        AnggotaAdded(String id, String nama, String record) { super(record); this.id = id; this.nama = nama; }
+
+        public String getId() { return id; }
+        public String getNama() { return nama; }
+    }
+
+    /** Data anggota diubah (satu event untuk satu kali edit, berapa pun field yang berubah). */
+    public static final class AnggotaEdited extends DomainEvent {
+        private final String id;
+
+        AnggotaEdited(String id, String record) { super(record); this.id = id; }
+
+        public String getId() { return id; }
+    }
+
+    /** Anggota dihapus. */
+    public static final class AnggotaRemoved extends DomainEvent {
+        private final String id;
+
+        AnggotaRemoved(String id, String record) { super(record); this.id = id; }
+
+        public String getId() { return id; }
+    }
+
+    /** Divisi baru ditambahkan (beserta tugas yang sudah ada di dalamnya). */
+    public static final class DivisiAdded extends DomainEvent {
+        private final String nama;
+
+        DivisiAdded(String nama, String... records) { super(records); this.nama = nama; }
+
+        public String getNama() { return nama; }
+    }
+
+    /** Tugas ditambahkan ke sebuah divisi. */
+    public static final class TugasAdded extends DomainEvent {
+        private final String divisi, tugasId;
+
+        TugasAdded(String divisi, String tugasId, String record) { super(record); this.divisi = divisi; this.tugasId = tugasId; }
+
+        public String getDivisi() { return divisi; }
+        public String getTugasId() { return tugasId; }
+    }
+
+    /** Tugas dihapus dari sebuah divisi. */
+    public static final class TugasRemoved extends DomainEvent {
+        private final String divisi, tugasId;
+
+        TugasRemoved(String divisi, String tugasId, String record) { super(record); this.divisi = divisi; this.tugasId = tugasId; }
+
+        public String getDivisi() { return divisi; }
+        public String getTugasId() { return tugasId; }
+    }
+
+    /** Status tugas diubah. */
+    public static final class TugasStatusChanged extends DomainEvent {
+        private final String divisi, tugasId;
+        private final Tugas.Status status;
+
+        TugasStatusChanged(String divisi, String tugasId, Tugas.Status status, String record) {
+            super(record);
+            this.divisi = divisi; this.tugasId = tugasId; this.status = status;
+        }
+
+        public String getDivisi() { return divisi; }
+        public String getTugasId() { return tugasId; }
+        public Tugas.Status getStatus() { return status; }
+    }
+
+    /** Deadline tugas diubah. */
+    public static final class TugasDeadlineChanged extends DomainEvent {
+        private final String divisi, tugasId;
+        private final LocalDate deadline;
+
+        TugasDeadlineChanged(String divisi, String tugasId, LocalDate deadline, String record) {
+            super(record);
+            this.divisi = divisi; this.tugasId = tugasId; this.deadline = deadline;
+        }
+
+        public String getDivisi() { return divisi; }
+        public String getTugasId() { return tugasId; }
+
+        /** @return deadline baru, atau null jika dihapus */
+        public LocalDate getDeadline() { return deadline; }
+    }
+}
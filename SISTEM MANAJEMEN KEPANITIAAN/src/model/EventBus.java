@@ -0,0 +1,139 @@
+package model;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Bus event domain di dalam proses.
+ *
+ * <p>Setiap subscriber punya antrean dan thread daemon sendiri
+ * (<code>event-&lt;nama&gt;</code>). {@link #publish(DomainEvent)} hanya
+ * memasukkan event ke antrean tiap subscriber, sehingga thread CLI tidak
+ * menunggu penulisan file apa pun. Thread subscriber mengambil semua event
+ * yang sedang antre sekaligus dan menyerahkannya sebagai satu batch, sesuai
+ * urutan publikasi.</p>
+ *
+ * <p>{@link #drain()} menunggu sampai semua event yang dipublikasikan sebelum
+ * pemanggilan itu selesai diproses oleh semua subscriber (dipakai sebelum
+ * membaca WAL, checkpoint, atau menampilkan riwayat). Penantian ini tidak
+ * dibatasi waktu; bila thread subscriber sudah berhenti atau penunggu
+ * diinterupsi, drain melempar {@link IllegalStateException}.</p>
+ */
+public final class EventBus {
+    /** Penerima event; dipanggil dari thread subscriber. */
+    public interface Subscriber {
+        /**
+         * @param batch event yang diterima, sesuai urutan publikasi
+         */
+        void onEvents(List<DomainEvent> batch);
+    }
+
+    /** Kapasitas antrean per subscriber; publish menunggu bila penuh */
+    private static final int CAPACITY = 8192;
+
+    private static EventBus instance;
+
+    private final List<Worker> workers = new CopyOnWriteArrayList<>();
+
+    private EventBus() { }
+
+    /**
+     * @return instance tunggal bus event
+     */
+    public static synchronized EventBus getInstance() {
+        if (instance == null) instance = new EventBus();
+        return instance;
+    }
+
+    /**
+     * Mendaftarkan subscriber baru beserta thread-nya.
+     *
+     * @param name nama subscriber (untuk nama thread dan pesan error)
+     * @param s subscriber
+     */
+    public void subscribe(String name, Subscriber s) { workers.add(new Worker(name, s)); }
+
+    /**
+     * Memasukkan event ke antrean setiap subscriber.
+     *
+     * @param e event domain
+     */
+    public void publish(DomainEvent e) { for (Worker w : workers) w.put(e); }
+
+    /**
+     * Menunggu sampai semua event yang sudah dipublikasikan selesai diproses.
+     * Bila dipanggil dari thread subscriber, antrean subscriber itu sendiri dilewati.
+     *
+     * @throws IllegalStateException jika thread subscriber berhenti atau penantian diinterupsi
+     */
+    public void drain() { for (Worker w : workers) w.drain(); }
+
+    /**
+     * Seperti {@link #drain()}, tetapi hanya menunggu satu subscriber.
+     *
+     * @param name nama subscriber seperti saat {@link #subscribe(String, Subscriber)}
+     * @throws IllegalStateException jika thread subscriber berhenti atau penantian diinterupsi
+     */
+    public void drain(String name) {
+        for (Worker w : workers) if (w.name.equals(name)) w.drain();
+    }
+
+    /** Antrean dan thread untuk satu subscriber. */
+    private static final class Worker {
+        private final String name;
+        private final Subscriber subscriber;
+        private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>(CAPACITY);
+        private final Thread thread;
+
+        Worker(String name, Subscriber subscriber) {
+            this.name = name;
+            this.subscriber = subscriber;
+            this.thread = new Thread(this::run, "event-" + name);
+            this.thread.setDaemon(true);
+            this.thread.start();
+        }
+
+        void put(Object o) {
+            try { queue.put(o); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+        }
+
+        void drain() {
+            if (Thread.currentThread() == thread) return;
+            CountDownLatch done = new CountDownLatch(1);
+            put(done);
+            try {
+                while (!done.await(1, TimeUnit.SECONDS))
+                    if (!thread.isAlive()) throw new IllegalStateException("drain event " + name + ": thread subscriber berhenti");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("drain event " + name + ": diinterupsi", e);
+            }
+        }
+
+        /**
+         * Loop thread subscriber: tunggu satu event, kuras sisa antrean sebagai
+         * satu batch, serahkan ke subscriber, lalu lepaskan penunggu drain.
+         */
+        private void run() {
+            List<Object> taken = new ArrayList<>();
+            List<DomainEvent> batch = new ArrayList<>();
+            List<CountDownLatch> waiters = new ArrayList<>();
+            while (true) {
+                try { taken.add(queue.take()); } catch (InterruptedException e) { return; }
+                queue.drainTo(taken, CAPACITY);
+                for (Object o : taken) {
+                    if (o instanceof CountDownLatch) waiters.add((CountDownLatch) o);
+                    else batch.add((DomainEvent) o);
+                }
+                if (!batch.isEmpty()) {
+                    try { subscriber.onEvents(batch); }
+                    catch (RuntimeException e) { System.err.println("event " + name + ": " + e.getMessage()); }
+                }
+                for (CountDownLatch l : waiters) l.countDown();
+                taken.clear();
+                batch.clear();
+                waiters.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.*;
+import java.util.zip.CRC32;
+
+/**
+ * Sidik jari sebuah file: ukuran, waktu modifikasi terakhir, dan (opsional)
+ * checksum CRC32 isinya.
+ *
+ * <p>Dipakai oleh {@link DataStorage} untuk mengetahui apakah sebuah file
+ * berubah sejak terakhir kali dimuat atau ditulis oleh aplikasi ini.</p>
+ */
+final class FileFingerprint {
+    /** Penanda checksum belum dihitung */
+    private static final long NO_CRC = -1;
+
+    private final long size;
+    private final long modified;
+    private final long crc;
+
+    private FileFingerprint(long size, long modified, long crc) {
+        this.size = size; this.modified = modified; this.crc = crc;
+    }
+
+    /**
+     * Membaca sidik jari file.
+     *
+     * @param file file yang dibaca
+     * @param withChecksum true untuk ikut menghitung CRC32 isi file
+     * @return sidik jari, atau null jika file tidak ada / gagal dibaca
+     */
+    static FileFingerprint of(Path file, boolean withChecksum) {
+        try {
+            if (!Files.exists(file)) return null;
+            long size = Files.size(file);
+            long modified = Files.getLastModifiedTime(file).toMillis();
+            return new FileFingerprint(size, modified, withChecksum ? checksum(file) : NO_CRC);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Mengecek apakah file saat ini masih sama dengan sidik jari ini.
+     * Bila ukuran dan waktu modifikasi sama, file dianggap tidak berubah.
+     * Bila berbeda tetapi checksum tersedia, isi file dibandingkan lewat CRC32
+     * sehingga file yang hanya "disentuh" tidak dianggap berubah.
+     *
+     * @param file file yang dicek
+     * @return sidik jari terbaru jika file tidak berubah, atau null jika berubah
+     */
+    FileFingerprint verify(Path file) {
+        FileFingerprint now = of(file, false);
+        if (now == null) return null;
+        if (now.size == size && now.modified == modified) return this;
+        if (crc == NO_CRC || now.size != size) return null;
+        try {
+            if (checksum(file) != crc) return null;
+        } catch (IOException e) { return null; }
+        return new FileFingerprint(now.size, now.modified, crc);
+    }
+
+    /**
+     * Menghitung CRC32 dari seluruh isi file.
+     *
+     * @param file file sumber
+     * @return nilai CRC32
+     * @throws IOException jika gagal membaca
+     */
+    private static long checksum(Path file) throws IOException {
+        CRC32 c = new CRC32();
+        byte[] buf = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(file)) {
+            int n;
+            while ((n = in.read(buf)) > 0) c.update(buf, 0, n);
+        }
+        return c.getValue();
+    }
+}
@@ -0,0 +1,112 @@
+package model;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Mengubah file riwayat teks lama (<code>timestamp|id|event</code>) menjadi
+ * record biner {@link LogEvent}.
+ *
+ * <p>Yang dibaca, sesuai urutan: segmen lama di manifest <code>base.manifest</code>
+ * (<code>base.NNNNNN.log</code> atau <code>.log.gz</code>), lalu file aktif
+ * <code>base.txt</code>. Hasilnya ditulis ke file sementara lalu dipindahkan
+ * menjadi <code>base.bin</code>. Setelah berhasil, segmen dan manifest lama
+ * serta indeks <code>base.idx</code> dihapus dan file teks diganti nama
+ * menjadi <code>base.txt.bak</code>.</p>
+ */
+final class LegacyLogConverter {
+    private LegacyLogConverter() { }
+
+    /**
+     * Menjalankan konversi jika file teks lama masih ada. Harus dipanggil
+     * sebelum {@link LogSegments} untuk file biner dibuat.
+     *
+     * @param bin file riwayat biner (segmen aktif), misalnya <code>data/riwayat_admin.bin</code>
+     * @return jumlah event yang dikonversi
+     */
+    static synchronized int migrate(Path bin) {
+        Path dir = bin.toAbsolutePath().getParent();
+        String name = bin.getFileName().toString();
+        String base = name.endsWith(".bin") ? name.substring(0, name.length() - 4) : name;
+        Path txt = dir.resolve(base + ".txt");
+        Path manifest = dir.resolve(base + ".manifest");
+        if (!Files.exists(txt) && !Files.exists(manifest)) return 0;
+
+        List<Path> sources = new ArrayList<>(legacySegments(dir, manifest));
+        if (Files.exists(txt)) sources.add(txt);
+
+        Path tmp = dir.resolve(base + ".bin.tmp");
+        int count = 0;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+            for (Path p : sources) {
+                try (BufferedReader br = openText(p)) {
+                    String line;
+                    while ((line = br.readLine()) != null) {
+                        LogEvent e = LogEvent.parseLegacy(line);
+                        if (e == null) continue;
+                        e.writeTo(out);
+                        count++;
+                    }
+                }
+            }
+            if (Files.exists(bin)) Files.copy(bin, out); // record biner yang sudah ada tetap di belakang
+        } catch (IOException e) {
+            System.err.println("konversi riwayat " + base + ": " + e.getMessage());
+            try { Files.deleteIfExists(tmp); } catch (IOException ignored) { }
+            return 0;
+        }
+
+        try {
+            try {
+                Files.move(tmp, bin, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, bin, StandardCopyOption.REPLACE_EXISTING);
+            }
+            for (Path p : sources) if (!p.equals(txt)) Files.deleteIfExists(p);
+            Files.deleteIfExists(manifest);
+            Files.deleteIfExists(dir.resolve(base + ".idx"));
+            if (Files.exists(txt)) Files.move(txt, dir.resolve(base + ".txt.bak"), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            System.err.println("konversi riwayat " + base + ": " + e.getMessage());
+        }
+        return count;
+    }
+
+    /**
+     * Membaca daftar segmen lama dari manifest (<code>seq,file,minTs,maxTs,baris</code>).
+     * Segmen yang belum sempat dikompres dicari juga dalam bentuk <code>.log</code>.
+     *
+     * @param dir folder data
+     * @param manifest file manifest lama
+     * @return file segmen yang ada, urut menurut nomor segmen
+     */
+    private static List<Path> legacySegments(Path dir, Path manifest) {
+        TreeMap<Integer, Path> bySeq = new TreeMap<>();
+        if (!Files.exists(manifest)) return Collections.emptyList();
+        try (BufferedReader br = Files.newBufferedReader(manifest, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                String[] p = line.split(",", 5);
+                if (p.length < 2) continue;
+                try {
+                    Path f = dir.resolve(p[1]);
+                    if (!Files.exists(f)) {
+                        String alt = p[1].endsWith(".gz") ? p[1].substring(0, p[1].length() - 3) : p[1] + ".gz";
+                        f = dir.resolve(alt);
+                    }
+                    if (Files.exists(f)) bySeq.put(Integer.parseInt(p[0]), f);
+                } catch (NumberFormatException e) { System.err.println("manifest " + manifest.getFileName() + ": " + line); }
+            }
+        } catch (IOException e) { System.err.println("read manifest: " + e.getMessage()); }
+        return new ArrayList<>(bySeq.values());
+    }
+
+    private static BufferedReader openText(Path p) throws IOException {
+        InputStream in = Files.newInputStream(p);
+        if (p.getFileName().toString().endsWith(".gz")) in = new GZIPInputStream(in, 1 << 16);
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+}
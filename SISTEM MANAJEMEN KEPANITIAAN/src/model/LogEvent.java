@@ -0,0 +1,316 @@
+package model;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.*;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * Satu event riwayat aktivitas (admin maupun member).
+ *
+ * <p>Event terdiri dari waktu (epoch millis), ID pelaku (username admin atau
+ * ID anggota), jenis event ({@link Type}), dan argumen bertipe (String atau Long).
+ * Di file, event disimpan sebagai record biner dengan panjang di kedua sisi
+ * sehingga file bisa dibaca maju maupun mundur:</p>
+ * <pre>
+ * int panjang | payload | int panjang
+ * payload = long millis, byte kodeJenis, varint+UTF-8 pelaku,
+ *           varint jumlahArg, lalu per argumen: byte tag (0=String, 1=Long) dan nilainya
+ * </pre>
+ *
+ * <p>Bentuk teks <code>yyyy-MM-dd HH:mm:ss|pelaku|JENIS,arg1,arg2</code> hanya dibuat
+ * saat ditampilkan ({@link #render()}) dan bisa dibaca kembali dari file riwayat
+ * lama lewat {@link #parseLegacy(String)}.</p>
+ */
+public final class LogEvent {
+    private static final DateTimeFormatter TS = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final byte TAG_STRING = 0;
+    private static final byte TAG_LONG = 1;
+
+    /** Panjang payload maksimum satu record */
+    static final int MAX_RECORD = 1 << 24;
+
+    /** Jenis event beserta kode biner dan jumlah argumennya. */
+    public enum Type {
+        OTHER(0, 1),
+        ADD_ANGGOTA(1, 2),
+        EDIT_ANGGOTA(2, 1),
+        DELETE_ANGGOTA(3, 1),
+        ADD_DIVISI(4, 1),
+        ADD_TUGAS(5, 2),
+        DELETE_TUGAS(6, 2),
+        UPDATE_TUGAS(7, 2),
+        ADD_ACCOUNT(8, 1);
+
+        private final byte code;
+        private final int args;
+
+        Type(int code, int args) { this.code = (byte) code; this.args = args; }
+
+        /** @return kode biner jenis event */
+        public byte getCode() { return code; }
+
+        /**
+         * @param code kode biner
+         * @return jenis event, atau OTHER jika kode tidak dikenal
+         */
+        public static Type fromCode(byte code) {
+            for (Type t : values()) if (t.code == code) return t;
+            return OTHER;
+        }
+    }
+
+    private final long time;
+    private final String actor;
+    private final Type type;
+    private final Object[] args;
+
+    /**
+     * @param time waktu event (epoch millis)
+     * @param actor ID pelaku
+     * @param type jenis event
+     * @param args argumen (String atau Long)
+     */
+    public LogEvent(long time, String actor, Type type, Object... args) {
+        this.time = time;
+        this.actor = actor == null ? "" : actor;
+        this.type = type == null ? Type.OTHER : type;
+        this.args = args == null ? new Object[0] : args.clone();
+    }
+
+    /**
+     * Membuat event dengan waktu saat ini.
+     *
+     * @param actor ID pelaku
+     * @param type jenis event
+     * @param args argumen (String atau Long)
+     * @return event baru
+     */
+    public static LogEvent now(String actor, Type type, Object... args) {
+        return new LogEvent(System.currentTimeMillis(), actor, type, args);
+    }
+
+    public long getTime() { return time; }
+    public String getActor() { return actor; }
+    public Type getType() { return type; }
+
+    /** @return salinan argumen event */
+    public Object[] getArgs() { return args.clone(); }
+
+    /** @return waktu event dalam format <code>yyyy-MM-dd HH:mm:ss</code> */
+    public String getTimestampText() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault()).format(TS);
+    }
+
+    /** @return deskripsi event, misalnya <code>ADD_TUGAS,T1,Acara</code> */
+    public String getEventText() {
+        if (type == Type.OTHER) return args.length == 0 ? "" : String.valueOf(args[0]);
+        StringBuilder sb = new StringBuilder(type.name());
+        for (Object a : args) sb.append(',').append(a);
+        return sb.toString();
+    }
+
+    /** @return bentuk teks <code>timestamp|pelaku|event</code> */
+    public String render() { return getTimestampText() + "|" + actor + "|" + getEventText(); }
+
+    @Override
+    public String toString() { return render(); }
+
+    /**
+     * Membaca event dari deskripsi teks lama, misalnya <code>UPDATE_TUGAS,T1,budi</code>.
+     * Jenis yang tidak dikenal disimpan utuh sebagai {@link Type#OTHER}.
+     *
+     * @param time waktu event
+     * @param actor ID pelaku
+     * @param text deskripsi event
+     * @return event
+     */
+    public static LogEvent fromText(long time, String actor, String text) {
+        if (text == null) text = "";
+        int c = text.indexOf(',');
+        String name = c < 0 ? text : text.substring(0, c);
+        for (Type t : Type.values()) {
+            if (t == Type.OTHER || !t.name().equals(name)) continue;
+            String[] p = c < 0 ? new String[0] : text.substring(c + 1).split(",", t.args);
+            return new LogEvent(time, actor, t, (Object[]) p);
+        }
+        return new LogEvent(time, actor, Type.OTHER, text);
+    }
+
+    /**
+     * Membaca event dari baris file riwayat teks lama (<code>timestamp|pelaku|event</code>).
+     *
+     * @param line baris lama
+     * @return event, atau null jika format tidak sesuai
+     */
+    static LogEvent parseLegacy(String line) {
+        String[] p = line.split("\\|", 3);
+        if (p.length < 3) return null;
+        long time;
+        try {
+            time = LocalDateTime.parse(p[0], TS).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) { time = 0; }
+        return fromText(time, p[1], p[2]);
+    }
+
+    /**
+     * Mengubah waktu lokal menjadi epoch millis.
+     *
+     * @param t waktu lokal
+     * @param ifNull nilai jika t null
+     * @return epoch millis
+     */
+    static long toMillis(LocalDateTime t, long ifNull) {
+        return t == null ? ifNull : t.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Menulis event sebagai satu record (dengan panjang di kedua sisi).
+     *
+     * @param out stream tujuan
+     * @return jumlah byte yang ditulis
+     * @throws IOException jika gagal menulis
+     */
+    int writeTo(DataOutputStream out) throws IOException {
+        byte[] payload = encode();
+        out.writeInt(payload.length);
+        out.write(payload);
+        out.writeInt(payload.length);
+        return payload.length + 8;
+    }
+
+    /**
+     * @return payload biner event (tanpa panjang)
+     */
+    byte[] encode() {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(32 + actor.length());
+        try (DataOutputStream out = new DataOutputStream(bos)) {
+            out.writeLong(time);
+            out.writeByte(type.code);
+            writeString(out, actor);
+            writeVarInt(out, args.length);
+            for (Object a : args) {
+                if (a instanceof Long || a instanceof Integer) { out.writeByte(TAG_LONG); out.writeLong(((Number) a).longValue()); }
+                else { out.writeByte(TAG_STRING); writeString(out, a == null ? "" : a.toString()); }
+            }
+        } catch (IOException e) { throw new UncheckedIOException(e); }
+        return bos.toByteArray();
+    }
+
+    /**
+     * Membaca event dari payload biner.
+     *
+     * @param payload isi record
+     * @return event
+     * @throws IOException jika payload rusak
+     */
+    static LogEvent decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        long time = in.readLong();
+        Type type = Type.fromCode(in.readByte());
+        String actor = readString(in);
+        int n = readVarInt(in);
+        if (n < 0 || n > payload.length) throw new IOException("record riwayat rusak");
+        Object[] args = new Object[n];
+        for (int i = 0; i < n; i++) {
+            byte tag = in.readByte();
+            args[i] = tag == TAG_LONG ? (Object) in.readLong() : readString(in);
+        }
+        return new LogEvent(time, actor, type, args);
+    }
+
+    /**
+     * Membaca satu record dari stream (arah maju). Record yang bingkainya utuh
+     * tetapi isinya tidak bisa dibaca dilewati agar record sesudahnya tetap terbaca.
+     *
+     * @param in stream sumber
+     * @return event, atau null jika stream habis atau record terakhir terpotong/rusak
+     * @throws IOException jika gagal membaca
+     */
+    static LogEvent readFrom(DataInputStream in) throws IOException {
+        byte[] payload;
+        while ((payload = readPayload(in)) != null) {
+            try { return decode(payload); }
+            catch (IOException e) { System.err.println("riwayat: record rusak dilewati"); }
+        }
+        return null;
+    }
+
+    /**
+     * Membaca payload satu record dari stream dan memeriksa panjang penutupnya.
+     *
+     * @param in stream sumber
+     * @return payload, atau null jika stream habis atau record rusak
+     * @throws IOException jika gagal membaca
+     */
+    static byte[] readPayload(DataInputStream in) throws IOException {
+        int len;
+        try { len = in.readInt(); } catch (EOFException e) { return null; }
+        if (len < 0 || len > MAX_RECORD) return null;
+        byte[] payload = new byte[len];
+        try {
+            in.readFully(payload);
+            if (in.readInt() != len) return null;
+        } catch (EOFException e) { return null; }
+        return payload;
+    }
+
+    /**
+     * Membaca satu record pada posisi tertentu dari buffer.
+     *
+     * @param buf buffer berisi record lengkap
+     * @return event
+     * @throws IOException jika record rusak
+     */
+    static LogEvent decodeFrame(ByteBuffer buf) throws IOException {
+        int len = buf.getInt();
+        if (len < 0 || len > buf.remaining() - 4) throw new IOException("record riwayat rusak");
+        byte[] payload = new byte[len];
+        buf.get(payload);
+        if (buf.getInt() != len) throw new IOException("record riwayat rusak");
+        return decode(payload);
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, b.length);
+        out.write(b);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int len = readVarInt(in);
+        if (len < 0 || len > (1 << 24)) throw new IOException("record riwayat rusak");
+        byte[] b = new byte[len];
+        in.readFully(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    private static void writeVarInt(DataOutputStream out, int v) throws IOException {
+        while ((v & ~0x7F) != 0) { out.writeByte((v & 0x7F) | 0x80); v >>>= 7; }
+        out.writeByte(v);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int v = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            v |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return v;
+        }
+        throw new IOException("record riwayat rusak");
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof LogEvent)) return false;
+        LogEvent e = (LogEvent) o;
+        return time == e.time && actor.equals(e.actor) && type == e.type && Arrays.equals(args, e.args);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hash(time, actor, type) * 31 + Arrays.hashCode(args); }
+}
@@ -0,0 +1,434 @@
+package model;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Pengelola segmen untuk file riwayat biner berisi record {@link LogEvent}.
+ *
+ * <p>File log utama (misalnya <code>riwayat_admin.bin</code>) adalah segmen aktif.
+ * Bila ukurannya melewati batas atau event pertamanya sudah terlalu lama,
+ * segmen aktif ditutup ("sealed") dengan mengganti namanya menjadi
+ * <code>riwayat_admin.000001.bin</code>, lalu dikompres di latar belakang menjadi
+ * <code>riwayat_admin.000001.bin.gz</code>.</p>
+ *
+ * <p>Daftar segmen yang sudah ditutup beserta waktu event terkecil/terbesarnya
+ * (epoch millis) disimpan di manifest (<code>riwayat_admin.segments</code>),
+ * satu baris per segmen:</p>
+ * <pre>
+ * seq,namaFile,minMillis,maxMillis,jumlahEvent
+ * </pre>
+ * <p>Query berdasarkan rentang waktu hanya membuka segmen yang rentangnya beririsan.</p>
+ *
+ * <p>Batas segmen diatur lewat system property <code>kepanitiaan.log.segmentBytes</code>
+ * (default 1 MB) dan <code>kepanitiaan.log.segmentHours</code> (default 24 jam).</p>
+ */
+final class LogSegments {
+    private static final Map<Path, LogSegments> registry = new HashMap<>();
+
+    /** Thread tunggal untuk kompresi segmen */
+    private static final ExecutorService compressor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "log-compress");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /** Segmen yang sudah ditutup. */
+    static final class Segment {
+        final int seq;
+        final long minTime, maxTime;
+        final long events;
+        volatile String fileName;
+
+        Segment(int seq, String fileName, long minTime, long maxTime, long events) {
+            this.seq = seq; this.fileName = fileName; this.minTime = minTime; this.maxTime = maxTime; this.events = events;
+        }
+
+        /**
+         * @param from batas bawah waktu (inklusif)
+         * @param to batas atas waktu (inklusif)
+         * @return true jika rentang segmen beririsan dengan rentang yang diminta
+         */
+        boolean overlaps(long from, long to) { return events == 0 || (minTime <= to && maxTime >= from); }
+    }
+
+    private final Path active;
+    private final Path dir;
+    private final String base;
+    private final Path manifest;
+    private final long maxBytes;
+    private final long maxHours;
+    private final List<Segment> sealed = new ArrayList<>();
+
+    /** Waktu event terkecil/terbesar dan jumlah event di segmen aktif */
+    private long activeMin = Long.MAX_VALUE, activeMax = Long.MIN_VALUE;
+    private long activeEvents;
+
+    private LogSegments(Path active) {
+        this.active = active;
+        this.dir = active.toAbsolutePath().getParent();
+        String name = active.getFileName().toString();
+        this.base = name.endsWith(".bin") ? name.substring(0, name.length() - 4) : name;
+        this.manifest = dir.resolve(base + ".segments");
+        this.maxBytes = Math.max(1024, Long.getLong("kepanitiaan.log.segmentBytes", 1L << 20));
+        this.maxHours = Long.getLong("kepanitiaan.log.segmentHours", 24L);
+        loadManifest();
+        scanActive();
+        for (Segment s : sealed) if (!s.fileName.endsWith(".gz")) compressLater(s);
+    }
+
+    /**
+     * Mengambil pengelola segmen untuk sebuah file log.
+     *
+     * @param active file log (segmen aktif)
+     * @return pengelola segmen (satu per file)
+     */
+    static synchronized LogSegments of(Path active) {
+        return registry.computeIfAbsent(active.toAbsolutePath().normalize(), k -> new LogSegments(active));
+    }
+
+    /**
+     * Mengecek apakah segmen aktif perlu ditutup sebelum batch berikutnya ditulis.
+     *
+     * @param activeSize ukuran segmen aktif saat ini (byte)
+     * @param incoming jumlah byte yang akan ditulis
+     * @return true jika segmen aktif harus ditutup
+     */
+    synchronized boolean shouldRoll(long activeSize, long incoming) {
+        if (activeSize == 0 || activeEvents == 0) return false;
+        if (activeSize + incoming > maxBytes) return true;
+        return maxHours > 0 && activeMin + maxHours * 3_600_000L < System.currentTimeMillis();
+    }
+
+    /**
+     * Menutup segmen aktif: file aktif diganti namanya menjadi segmen bernomor,
+     * dicatat di manifest, lalu dijadwalkan untuk dikompres.
+     * Channel penulis harus sudah ditutup sebelum method ini dipanggil.
+     *
+     * @return nomor segmen baru, atau -1 jika gagal
+     */
+    synchronized int seal() {
+        int seq = lastSeq() + 1;
+        String name = String.format("%s.%06d.bin", base, seq);
+        try {
+            Files.move(active, dir.resolve(name), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("seal log " + active.getFileName() + ": " + e.getMessage());
+            return -1;
+        }
+        Segment s = new Segment(seq, name, activeMin, activeMax, activeEvents);
+        sealed.add(s);
+        saveManifest();
+        activeMin = Long.MAX_VALUE;
+        activeMax = Long.MIN_VALUE;
+        activeEvents = 0;
+        compressLater(s);
+        return seq;
+    }
+
+    /**
+     * Mencatat event yang baru ditulis ke segmen aktif (untuk rentang waktu).
+     *
+     * @param events event yang tertulis
+     */
+    synchronized void noteWritten(List<LogEvent> events) {
+        for (LogEvent e : events) note(e.getTime());
+    }
+
+    /** @return file segmen aktif */
+    Path activeFile() { return active; }
+
+    /**
+     * @param s segmen tertutup
+     * @return file segmen yang belum dikompres, atau null jika sudah dikompres
+     */
+    Path plainFile(Segment s) {
+        if (s.fileName.endsWith(".gz")) return null;
+        Path p = dir.resolve(s.fileName);
+        return Files.exists(p) ? p : null;
+    }
+
+    /** @return nomor segmen tertutup terakhir (0 jika belum ada) */
+    synchronized int lastSeq() { return sealed.isEmpty() ? 0 : sealed.get(sealed.size() - 1).seq; }
+
+    /** @return salinan daftar segmen tertutup, urut dari yang terlama */
+    synchronized List<Segment> sealedSegments() { return new ArrayList<>(sealed); }
+
+    /**
+     * Mengambil segmen tertutup yang rentang waktunya beririsan dengan rentang tertentu.
+     *
+     * @param from batas bawah (epoch millis, inklusif)
+     * @param to batas atas (epoch millis, inklusif)
+     * @return daftar segmen, urut dari yang terlama
+     */
+    synchronized List<Segment> overlapping(long from, long to) {
+        List<Segment> out = new ArrayList<>();
+        for (Segment s : sealed) if (s.overlaps(from, to)) out.add(s);
+        return out;
+    }
+
+    /**
+     * @param from batas bawah (epoch millis, inklusif)
+     * @param to batas atas (epoch millis, inklusif)
+     * @return true jika segmen aktif mungkin berisi event dalam rentang tersebut
+     */
+    synchronized boolean activeOverlaps(long from, long to) {
+        return activeEvents > 0 && activeMin <= to && activeMax >= from;
+    }
+
+    /**
+     * Membaca seluruh event sebuah segmen tertutup (terkompresi atau belum).
+     *
+     * @param s segmen
+     * @return list event
+     * @throws IOException jika gagal membaca
+     */
+    List<LogEvent> readSegment(Segment s) throws IOException {
+        List<LogEvent> out = new ArrayList<>();
+        try (DataInputStream in = open(s)) {
+            LogEvent e;
+            while ((e = LogEvent.readFrom(in)) != null) out.add(e);
+        }
+        return out;
+    }
+
+    /**
+     * Membuka stream untuk sebuah segmen tertutup. Bila file belum/sudah
+     * dikompres sejak daftar segmen diambil, varian nama lainnya dicoba.
+     *
+     * @param s segmen
+     * @return stream record
+     * @throws IOException jika file segmen tidak ditemukan
+     */
+    DataInputStream open(Segment s) throws IOException {
+        String name = s.fileName;
+        String plain = name.endsWith(".gz") ? name.substring(0, name.length() - 3) : name;
+        Path gz = dir.resolve(plain + ".gz");
+        InputStream in;
+        try {
+            in = Files.exists(gz) ? new GZIPInputStream(Files.newInputStream(gz), 1 << 16) : Files.newInputStream(dir.resolve(plain));
+        } catch (NoSuchFileException e) {
+            in = new GZIPInputStream(Files.newInputStream(gz), 1 << 16);
+        }
+        return new DataInputStream(new BufferedInputStream(in, 1 << 16));
+    }
+
+    /**
+     * Membaca event segmen aktif yang berada dalam rentang waktu.
+     *
+     * @param from batas bawah (epoch millis, inklusif)
+     * @param to batas atas (epoch millis, inklusif)
+     * @return list event; kosong jika segmen aktif tidak beririsan dengan rentang
+     * @throws IOException jika gagal membaca
+     */
+    List<LogEvent> readActive(long from, long to) throws IOException {
+        List<LogEvent> out = new ArrayList<>();
+        if (!activeOverlaps(from, to) || !Files.exists(active)) return out;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(active), 1 << 16))) {
+            LogEvent e;
+            while ((e = LogEvent.readFrom(in)) != null) if (e.getTime() >= from && e.getTime() <= to) out.add(e);
+        } catch (NoSuchFileException e) {
+            // segmen aktif baru saja ditutup; isinya sudah ada di segmen terakhir
+        }
+        return out;
+    }
+
+    /**
+     * Membaca semua event (segmen tertutup lalu segmen aktif) dalam rentang
+     * waktu. Segmen yang tidak beririsan dengan rentang tidak dibuka.
+     *
+     * @param from batas bawah (epoch millis, inklusif)
+     * @param to batas atas (epoch millis, inklusif)
+     * @return list event, urut dari yang terlama
+     * @throws IOException jika gagal membaca
+     */
+    List<LogEvent> readRange(long from, long to) throws IOException {
+        List<LogEvent> out = new ArrayList<>();
+        for (Segment s : overlapping(from, to))
+            for (LogEvent e : readSegment(s)) if (e.getTime() >= from && e.getTime() <= to) out.add(e);
+        out.addAll(readActive(from, to));
+        return out;
+    }
+
+    /** @return jumlah seluruh event yang sudah tertulis (segmen tertutup dan aktif) */
+    synchronized long totalEvents() {
+        long n = activeEvents;
+        for (Segment s : sealed) n += s.events;
+        return n;
+    }
+
+    /**
+     * Membaca semua event setelah melewati sejumlah event pertama, sesuai urutan
+     * penulisan. Segmen tertutup yang seluruhnya terlewati tidak dibuka.
+     *
+     * @param skip jumlah event awal yang dilewati
+     * @param sink penerima event
+     * @throws IOException jika gagal membaca
+     */
+    void scan(long skip, Consumer<LogEvent> sink) throws IOException {
+        for (Segment s : sealedSegments()) {
+            if (skip >= s.events) { skip -= s.events; continue; }
+            try (DataInputStream in = open(s)) {
+                LogEvent e;
+                while ((e = LogEvent.readFrom(in)) != null) if (skip > 0) skip--; else sink.accept(e);
+            }
+        }
+        if (!Files.exists(active)) return;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(active), 1 << 16))) {
+            LogEvent e;
+            while ((e = LogEvent.readFrom(in)) != null) if (skip > 0) skip--; else sink.accept(e);
+        } catch (NoSuchFileException e) {
+            // segmen aktif baru saja ditutup
+        }
+    }
+
+    /**
+     * Menjadwalkan kompresi segmen di thread latar belakang.
+     *
+     * @param s segmen yang belum dikompres
+     */
+    private void compressLater(Segment s) {
+        compressor.submit(() -> compress(s));
+    }
+
+    /**
+     * Mengompres segmen dengan gzip, memperbarui manifest, lalu menghapus file aslinya.
+     *
+     * @param s segmen
+     */
+    private void compress(Segment s) {
+        Path src = dir.resolve(s.fileName);
+        if (s.fileName.endsWith(".gz") || !Files.exists(src)) return;
+        Path gz = dir.resolve(s.fileName + ".gz");
+        Path tmp = dir.resolve(s.fileName + ".gz.tmp");
+        try {
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp), 1 << 16)) {
+                Files.copy(src, out);
+            }
+            Files.move(tmp, gz, StandardCopyOption.REPLACE_EXISTING);
+            synchronized (this) {
+                s.fileName = s.fileName + ".gz";
+                saveManifest();
+            }
+            Files.deleteIfExists(src);
+        } catch (IOException e) {
+            System.err.println("compress log " + s.fileName + ": " + e.getMessage());
+            try { Files.deleteIfExists(tmp); } catch (IOException ignored) { }
+        }
+    }
+
+    /**
+     * Memuat manifest. Baris yang rusak atau file segmen yang hilang diabaikan.
+     */
+    private void loadManifest() {
+        if (!Files.exists(manifest)) return;
+        try (BufferedReader br = Files.newBufferedReader(manifest, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                String[] p = line.split(",", 5);
+                if (p.length < 5) continue;
+                try {
+                    Segment s = new Segment(Integer.parseInt(p[0]), p[1], Long.parseLong(p[2]), Long.parseLong(p[3]), Long.parseLong(p[4]));
+                    String plain = s.fileName.endsWith(".gz") ? s.fileName.substring(0, s.fileName.length() - 3) : s.fileName;
+                    if (Files.exists(dir.resolve(plain)) || Files.exists(dir.resolve(plain + ".gz"))) {
+                        if (Files.exists(dir.resolve(plain + ".gz")) && !Files.exists(dir.resolve(plain))) s.fileName = plain + ".gz";
+                        sealed.add(s);
+                    }
+                } catch (NumberFormatException e) { System.err.println("manifest " + manifest.getFileName() + ": " + line); }
+            }
+        } catch (IOException e) { System.err.println("read manifest: " + e.getMessage()); }
+        sealed.sort(Comparator.comparingInt(s -> s.seq));
+    }
+
+    /**
+     * Menulis manifest ke file sementara lalu memindahkannya ke tempatnya.
+     */
+    private void saveManifest() {
+        Path tmp = dir.resolve(base + ".segments.tmp");
+        try (BufferedWriter bw = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            for (Segment s : sealed) {
+                bw.write(s.seq + "," + s.fileName + "," + s.minTime + "," + s.maxTime + "," + s.events);
+                bw.newLine();
+            }
+        } catch (IOException e) { System.err.println("write manifest: " + e.getMessage()); return; }
+        try {
+            Files.move(tmp, manifest, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            try { Files.move(tmp, manifest, StandardCopyOption.REPLACE_EXISTING); } catch (IOException ex) { System.err.println("write manifest: " + ex.getMessage()); }
+        }
+    }
+
+    /**
+     * Menghitung rentang waktu segmen aktif dari isi file.
+     *
+     * <p>Hanya ekor yang terpotong (record terakhir yang belum selesai ditulis
+     * saat aplikasi berhenti) yang dibuang, agar record berikutnya tetap bisa
+     * dibaca. Record yang bingkainya utuh tetapi isinya rusak dilewati. Bila
+     * ada kerusakan lain di tengah file atau file gagal dibaca, file tidak
+     * diubah sama sekali sehingga record sesudahnya tidak ikut hilang.</p>
+     */
+    private void scanActive() {
+        if (!Files.exists(active)) return;
+        long valid = 0;
+        boolean torn;
+        try (FileChannel ch = FileChannel.open(active, StandardOpenOption.READ);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(ch), 1 << 16))) {
+            byte[] payload;
+            while ((payload = LogEvent.readPayload(in)) != null) {
+                try { note(LogEvent.decode(payload).getTime()); }
+                catch (IOException e) { System.err.println("log " + active.getFileName() + ": record rusak pada byte " + valid + " dilewati"); }
+                valid += payload.length + 8;
+            }
+            long size = Files.size(active);
+            torn = valid < size && isTornTail(ch, valid, size);
+            if (valid < size && !torn) {
+                System.err.println("log " + active.getFileName() + ": record rusak pada byte " + valid + ", file tidak dipotong");
+                return;
+            }
+        } catch (IOException e) {
+            System.err.println("scan log " + active.getFileName() + ": " + e.getMessage());
+            return;
+        }
+        if (!torn) return;
+        try (FileChannel ch = FileChannel.open(active, StandardOpenOption.WRITE)) {
+            System.err.println("log " + active.getFileName() + ": record terakhir terpotong, dibuang mulai byte " + valid);
+            ch.truncate(valid);
+        } catch (IOException e) { System.err.println("scan log " + active.getFileName() + ": " + e.getMessage()); }
+    }
+
+    /**
+     * Mengecek apakah byte mulai posisi tertentu adalah record terakhir yang
+     * belum selesai ditulis: penanda panjangnya sendiri terpotong, atau
+     * panjangnya wajar tetapi record itu melewati akhir file.
+     *
+     * @param ch channel file log
+     * @param pos posisi awal record
+     * @param size ukuran file
+     * @return true jika hanya ekor file yang terpotong
+     * @throws IOException jika gagal membaca
+     */
+    private static boolean isTornTail(FileChannel ch, long pos, long size) throws IOException {
+        if (size - pos < 4) return true;
+        ByteBuffer buf = ByteBuffer.allocate(4);
+        while (buf.hasRemaining() && ch.read(buf, pos + buf.position()) > 0) { }
+        buf.flip();
+        int len = buf.getInt();
+        return len >= 0 && len <= LogEvent.MAX_RECORD && pos + 8 + len > size;
+    }
+
+    private void note(long time) {
+        activeEvents++;
+        if (time < activeMin) activeMin = time;
+        if (time > activeMax) activeMax = time;
+    }
+}
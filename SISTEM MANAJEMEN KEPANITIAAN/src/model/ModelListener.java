@@ -0,0 +1,70 @@
+package model;
+
+/**
+ * Callback internal yang dipanggil oleh objek model ({@link Anggota},
+ * {@link Divisi}, {@link Tugas}) setiap kali datanya berubah.
+ *
+ * <p>Interface ini diimplementasikan oleh {@link DataStorage} sehingga setiap
+ * perubahan dapat dicatat tanpa CLI perlu tahu detail penyimpanannya.</p>
+ *
+ * <p>Objek model memanggil {@link #beginChange()} sebelum mengubah datanya dan
+ * {@link #endChange()} sesudahnya, sehingga perubahan dan notifikasinya terjadi
+ * di dalam write lock DataStorage. Salinan isi objek model dibuat di antara
+ * {@link #beginRead()} dan {@link #endRead()}.</p>
+ */
+interface ModelListener {
+
+    /** Dipanggil sebelum objek model berubah (mengambil write lock). */
+    void beginChange();
+
+    /** Dipanggil setelah perubahan selesai, termasuk bila gagal (melepas write lock). */
+    void endChange();
+
+    /** Dipanggil sebelum isi objek model disalin (mengambil read lock). */
+    void beginRead();
+
+    /** Dipanggil setelah penyalinan selesai (melepas read lock). */
+    void endRead();
+
+    /**
+     * Dipanggil setelah salah satu field anggota diubah.
+     *
+     * @param a anggota yang berubah
+     */
+    void anggotaChanged(Anggota a);
+
+    /**
+     * Dipanggil sebelum tugas ditambahkan ke sebuah divisi untuk memastikan
+     * ID tugas belum dipakai di divisi mana pun.
+     *
+     * @param d divisi tujuan
+     * @param t tugas yang akan ditambahkan
+     * @throws IllegalArgumentException jika ID tugas sudah dipakai
+     */
+    void checkTugas(Divisi d, Tugas t);
+
+    /**
+     * Dipanggil setelah tugas ditambahkan ke sebuah divisi.
+     *
+     * @param d divisi pemilik
+     * @param t tugas yang ditambahkan
+     */
+    void tugasAdded(Divisi d, Tugas t);
+
+    /**
+     * Dipanggil setelah tugas dihapus dari sebuah divisi.
+     *
+     * @param d divisi pemilik
+     * @param t tugas yang dihapus
+     */
+    void tugasRemoved(Divisi d, Tugas t);
+
+    /**
+     * Dipanggil setelah deadline atau status tugas diubah.
+     *
+     * @param d divisi pemilik
+     * @param t tugas yang berubah
+     * @param status true jika yang berubah status, false jika deadline
+     */
+    void tugasChanged(Divisi d, Tugas t, boolean status);
+}
@@ -0,0 +1,160 @@
+package model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+
+/**
+ * Loader paralel untuk file data berukuran besar.
+ *
+ * <p>File di-<i>memory-map</i> lewat {@link FileChannel}, dibagi menjadi beberapa
+ * potongan (chunk) yang selalu berakhir di batas baris, lalu tiap potongan
+ * di-parse secara paralel pada {@link ForkJoinPool}. Hasil digabung kembali
+ * sesuai urutan aslinya di file.</p>
+ *
+ * <p>Untuk <code>divisi.txt</code>, potongan hanya dipotong tepat sebelum baris
+ * <code>DIV|</code> agar satu divisi beserta tugasnya tidak terbelah.</p>
+ *
+ * <p>Setiap baris dibaca langsung dari CharBuffer hasil decode dengan
+ * {@link RecordTokenizer}, tanpa membuat String per baris.</p>
+ */
+class ParallelLoader {
+    /** Ukuran target satu potongan */
+    private static final int CHUNK_SIZE = 8 << 20;
+
+    private static final byte[] DIV_MARKER = "\nDIV|".getBytes(StandardCharsets.US_ASCII);
+
+    private ParallelLoader() {}
+
+    /**
+     * Mem-parse file berbasis baris (pemisah field ',') secara paralel.
+     *
+     * @param file file sumber
+     * @param parser pengubah satu baris (lewat tokenizer) menjadi objek; null = baris dilewati
+     * @param <T> tipe hasil
+     * @return list objek sesuai urutan baris di file
+     * @throws IOException jika file gagal dibaca
+     */
+    static <T> List<T> parseLines(Path file, Function<RecordTokenizer, T> parser) throws IOException {
+        return parseChunks(file, false, text -> {
+            List<T> out = new ArrayList<>();
+            RecordTokenizer tok = new RecordTokenizer(',');
+            forEachLine(text, (start, end) -> { T v = parser.apply(tok.reset(text, start, end)); if (v != null) out.add(v); });
+            return out;
+        });
+    }
+
+    /**
+     * Mem-parse <code>divisi.txt</code> secara paralel.
+     * Divisi yang dihasilkan belum terpasang listener maupun terdaftar di registry.
+     *
+     * @param file file divisi
+     * @return list divisi beserta tugasnya, sesuai urutan di file
+     * @throws IOException jika file gagal dibaca
+     */
+    static List<Divisi> parseDivisi(Path file) throws IOException {
+        return parseChunks(file, true, text -> {
+            List<Divisi> out = new ArrayList<>();
+            Divisi[] current = new Divisi[1];
+            RecordTokenizer tok = new RecordTokenizer('|');
+            forEachLine(text, (start, end) -> {
+                tok.reset(text, start, end);
+                if (tok.startsWith("DIV|")) {
+                    current[0] = new Divisi(tok.reset(text, start + 4, end).restUnescaped());
+                    out.add(current[0]);
+                } else if (tok.startsWith("TASK|") && current[0] != null) {
+                    Tugas t = Tugas.fromTokens(tok.reset(text, start + 5, end));
+                    if (t != null) current[0].addTugas(t);
+                }
+            });
+            return out;
+        });
+    }
+
+    /**
+     * Membagi file menjadi potongan, mem-parse tiap potongan secara paralel,
+     * lalu menggabungkan hasilnya sesuai urutan.
+     *
+     * @param file file sumber
+     * @param divBlocks true jika potongan harus dimulai pada baris <code>DIV|</code>
+     * @param chunkParser parser untuk isi satu potongan
+     * @param <T> tipe hasil
+     * @return gabungan hasil semua potongan
+     * @throws IOException jika file gagal dibaca
+     */
+    private static <T> List<T> parseChunks(Path file, boolean divBlocks, Function<CharSequence, List<T>> chunkParser) throws IOException {
+        List<ForkJoinTask<List<T>>> tasks = new ArrayList<>();
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            long start = 0;
+            while (start < size) {
+                long end = nextBoundary(ch, Math.min(size, start + CHUNK_SIZE), size, divBlocks);
+                MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+                tasks.add(ForkJoinPool.commonPool().submit(() -> chunkParser.apply(StandardCharsets.UTF_8.decode(buf))));
+                start = end;
+            }
+        }
+        List<T> out = new ArrayList<>();
+        for (ForkJoinTask<List<T>> t : tasks) out.addAll(t.join());
+        return out;
+    }
+
+    /**
+     * Mencari batas potongan pertama pada atau setelah posisi tertentu.
+     * Batas berada tepat setelah karakter newline (atau sebelum <code>DIV|</code>).
+     *
+     * @param ch channel file
+     * @param from posisi awal pencarian
+     * @param size ukuran file
+     * @param divBlocks true jika batas harus tepat sebelum baris <code>DIV|</code>
+     * @return posisi batas, atau ukuran file jika tidak ditemukan
+     * @throws IOException jika gagal membaca
+     */
+    private static long nextBoundary(FileChannel ch, long from, long size, boolean divBlocks) throws IOException {
+        if (from >= size) return size;
+        byte[] marker = divBlocks ? DIV_MARKER : new byte[]{'\n'};
+        ByteBuffer buf = ByteBuffer.allocate(64 * 1024);
+        long pos = from - 1; // mulai dari byte sebelumnya agar newline tepat di "from" ikut terdeteksi
+        int matched = 0;
+        while (pos < size) {
+            buf.clear();
+            int n = ch.read(buf, pos);
+            if (n <= 0) break;
+            for (int i = 0; i < n; i++) {
+                byte b = buf.get(i);
+                if (b == marker[matched]) matched++;
+                else matched = b == marker[0] ? 1 : 0;
+                if (matched == marker.length) return pos + i + 1 - (marker.length - 1);
+            }
+            pos += n;
+        }
+        return size;
+    }
+
+    /** Penerima rentang satu baris di dalam potongan teks. */
+    private interface LineRange { void accept(int start, int end); }
+
+    /**
+     * Memanggil aksi untuk rentang setiap baris dalam teks (tanpa karakter newline/CR).
+     *
+     * @param text isi potongan
+     * @param action aksi per baris
+     */
+    private static void forEachLine(CharSequence text, LineRange action) {
+        int len = text.length(), start = 0;
+        for (int i = 0; i <= len; i++) {
+            if (i < len && text.charAt(i) != '\n') continue;
+            int end = i;
+            if (end > start && text.charAt(end - 1) == '\r') end--;
+            if (i < len || end > start) action.accept(start, end);
+            start = i + 1;
+        }
+    }
+}
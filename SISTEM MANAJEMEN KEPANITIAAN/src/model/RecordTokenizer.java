@@ -0,0 +1,194 @@
+package model;
+
+import java.nio.CharBuffer;
+
+/**
+ * Tokenizer field untuk format file data (baris berisi field yang dipisah
+ * satu karakter, misalnya <code>,</code> atau <code>|</code>).
+ *
+ * <p>Tokenizer membaca langsung dari {@link CharSequence} (String maupun
+ * CharBuffer hasil memory-map) tanpa regex dan tanpa membuat array hasil
+ * split. Satu objek bisa dipakai ulang untuk banyak baris lewat
+ * {@link #reset(CharSequence, int, int)}. Baris berupa String tanpa backslash
+ * dipotong dengan {@link String#indexOf(int, int)}, dan CharBuffer yang
+ * punya array dibaca langsung dari array-nya.</p>
+ *
+ * <p>Karakter khusus di dalam isi field di-escape dengan backslash:
+ * <code>\\</code>, <code>\,</code>, <code>\|</code>, <code>\n</code>, <code>\r</code>.
+ * Baris lama yang tidak mengandung backslash tetap terbaca sama seperti sebelumnya.</p>
+ */
+final class RecordTokenizer {
+    private final char delim;
+    private StringBuilder buf;
+    private CharSequence src;
+    private int pos, end;
+    private boolean done = true;
+
+    /** Sumber bila berupa String tanpa backslash di rentang baris (jalur indexOf), selain itu null */
+    private String plain;
+
+    /** Array di balik CharBuffer sumber beserta offset posisi 0-nya, selain itu null */
+    private char[] arr;
+    private int off;
+
+    /**
+     * @param delim karakter pemisah field
+     */
+    RecordTokenizer(char delim) { this.delim = delim; }
+
+    /**
+     * Mulai membaca baris baru.
+     *
+     * @param s isi baris
+     * @return tokenizer ini
+     */
+    RecordTokenizer reset(CharSequence s) { return reset(s, 0, s.length()); }
+
+    /**
+     * Mulai membaca sebagian dari sebuah teks sebagai satu baris.
+     *
+     * @param s teks sumber
+     * @param start posisi awal (inklusif)
+     * @param end posisi akhir (eksklusif)
+     * @return tokenizer ini
+     */
+    RecordTokenizer reset(CharSequence s, int start, int end) {
+        this.src = s; this.pos = start; this.end = end; this.done = false;
+        plain = null;
+        arr = null;
+        if (s instanceof String) {
+            int b = ((String) s).indexOf('\\', start);
+            if (b < 0 || b >= end) plain = (String) s;
+        } else if (s instanceof CharBuffer && ((CharBuffer) s).hasArray()) {
+            CharBuffer cb = (CharBuffer) s;
+            arr = cb.array();
+            off = cb.arrayOffset() + cb.position();
+        }
+        return this;
+    }
+
+    /** @return true jika masih ada field yang belum dibaca */
+    boolean hasNext() { return !done; }
+
+    /**
+     * Mengecek apakah sisa baris diawali teks tertentu.
+     *
+     * @param prefix teks awalan
+     * @return true jika cocok
+     */
+    boolean startsWith(String prefix) {
+        if (done || end - pos < prefix.length()) return false;
+        for (int i = 0; i < prefix.length(); i++) if (src.charAt(pos + i) != prefix.charAt(i)) return false;
+        return true;
+    }
+
+    /**
+     * Membaca field berikutnya (escape sudah dibuka).
+     *
+     * @return isi field, atau null jika field sudah habis
+     */
+    String next() {
+        if (done) return null;
+        int start = pos;
+        boolean escaped = false;
+        int i = pos;
+        if (plain != null) {
+            i = plain.indexOf(delim, pos);
+            if (i < 0 || i > end) i = end;
+        } else if (arr != null) {
+            while (i < end) {
+                char c = arr[off + i];
+                if (c == '\\' && i + 1 < end) { escaped = true; i += 2; continue; }
+                if (c == delim) break;
+                i++;
+            }
+        } else {
+            while (i < end) {
+                char c = src.charAt(i);
+                if (c == '\\' && i + 1 < end) { escaped = true; i += 2; continue; }
+                if (c == delim) break;
+                i++;
+            }
+        }
+        String field = escaped ? unescape(start, i)
+                : plain != null ? plain.substring(start, i)
+                : arr != null ? new String(arr, off + start, i - start)
+                : src.subSequence(start, i).toString();
+        if (i >= end) done = true;
+        else pos = i + 1;
+        return field;
+    }
+
+    /**
+     * Mengambil sisa baris apa adanya (tanpa membuka escape), misalnya
+     * untuk diteruskan ke parser lain.
+     *
+     * @return sisa baris, atau null jika sudah habis
+     */
+    String rest() {
+        if (done) return null;
+        done = true;
+        return src.subSequence(pos, end).toString();
+    }
+
+    /**
+     * Mengambil sisa baris sebagai satu field (escape dibuka, pemisah dianggap isi).
+     *
+     * @return sisa baris, atau null jika sudah habis
+     */
+    String restUnescaped() {
+        if (done) return null;
+        done = true;
+        for (int i = pos; i < end; i++) if (src.charAt(i) == '\\') return unescape(pos, end);
+        return src.subSequence(pos, end).toString();
+    }
+
+    /**
+     * Membuka escape pada rentang teks.
+     *
+     * @param from posisi awal
+     * @param to posisi akhir (eksklusif)
+     * @return teks tanpa escape
+     */
+    private String unescape(int from, int to) {
+        if (buf == null) buf = new StringBuilder(to - from);
+        buf.setLength(0);
+        for (int i = from; i < to; i++) {
+            char c = src.charAt(i);
+            if (c == '\\' && i + 1 < to) {
+                char n = src.charAt(++i);
+                buf.append(n == 'n' ? '\n' : n == 'r' ? '\r' : n);
+            } else buf.append(c);
+        }
+        return buf.toString();
+    }
+
+    /**
+     * Meng-escape isi field agar aman ditulis di antara pemisah
+     * <code>,</code> maupun <code>|</code>.
+     *
+     * @param s isi field (null dianggap string kosong)
+     * @return isi field yang sudah di-escape
+     */
+    static String escape(String s) {
+        if (s == null) return "";
+        int i = 0, n = s.length();
+        while (i < n && !isSpecial(s.charAt(i))) i++;
+        if (i == n) return s;
+        StringBuilder sb = new StringBuilder(n + 8).append(s, 0, i);
+        for (; i < n; i++) {
+            char c = s.charAt(i);
+            if (c == '\n') sb.append("\\n");
+            else if (c == '\r') sb.append("\\r");
+            else if (isSpecial(c)) sb.append('\\').append(c);
+            else sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @param c karakter
+     * @return true jika karakter perlu di-escape
+     */
+    private static boolean isSpecial(char c) { return c == '\\' || c == ',' || c == '|' || c == '\n' || c == '\r'; }
+}
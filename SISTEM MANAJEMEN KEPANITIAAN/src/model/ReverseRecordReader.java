@@ -0,0 +1,107 @@
+package model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+
+/**
+ * Pembaca record {@link LogEvent} dari akhir file ke awal.
+ *
+ * <p>Setiap record menyimpan panjangnya di kedua sisi, sehingga dari posisi
+ * akhir sebuah record bisa langsung diketahui posisi awalnya. File dibaca per
+ * blok dari akhir menuju awal lewat {@link FileChannel}, sehingga mengambil
+ * beberapa event terakhir tidak perlu membaca seluruh file.</p>
+ */
+final class ReverseRecordReader implements Closeable {
+    private static final int BLOCK = 64 * 1024;
+
+    private final FileChannel ch;
+    /** Byte sebelum posisi ini belum dibaca */
+    private long pos;
+
+    /** Blok yang terakhir dibaca dari file */
+    private final ByteBuffer block = ByteBuffer.allocate(BLOCK);
+    private long blockStart = -1;
+
+    /**
+     * Membuka file dan mulai membaca dari posisi akhirnya saat ini.
+     * Record yang ditambahkan setelah pembuka ini tidak ikut terbaca.
+     *
+     * @param file file sumber
+     * @throws IOException jika file gagal dibuka
+     */
+    ReverseRecordReader(Path file) throws IOException {
+        this.ch = FileChannel.open(file, StandardOpenOption.READ);
+        this.pos = ch.size();
+    }
+
+    /**
+     * Mengambil event sebelumnya (lebih lama). Record yang bingkainya utuh
+     * tetapi isinya tidak bisa dibaca dilewati.
+     *
+     * @return event, atau null jika sudah mencapai awal file (atau bertemu bingkai record yang rusak)
+     * @throws IOException jika gagal membaca
+     */
+    LogEvent previous() throws IOException {
+        while (pos >= 8) {
+            int len = read(pos - 4, 4).getInt();
+            long start = pos - 8 - len;
+            if (len < 0 || len > LogEvent.MAX_RECORD || start < 0) { pos = 0; return null; }
+            ByteBuffer frame = read(start, len + 8);
+            if (frame.getInt(0) != len) {
+                System.err.println("riwayat: record rusak pada byte " + start);
+                pos = 0;
+                return null;
+            }
+            pos = start;
+            try { return LogEvent.decodeFrame(frame); }
+            catch (IOException ex) { System.err.println("riwayat: record rusak pada byte " + start + " dilewati"); }
+        }
+        return null;
+    }
+
+    /**
+     * Mengambil rentang byte dari file, memakai blok yang sudah dibaca bila memungkinkan.
+     *
+     * @param from posisi awal
+     * @param n jumlah byte
+     * @return buffer berisi tepat n byte
+     * @throws IOException jika gagal membaca
+     */
+    private ByteBuffer read(long from, int n) throws IOException {
+        if (blockStart < 0 || from < blockStart || from + n > blockStart + block.limit()) {
+            if (n > BLOCK) return readFully(from, n);
+            long end = from + n;
+            blockStart = Math.max(0, end - BLOCK);
+            block.clear();
+            block.limit((int) (end - blockStart));
+            fill(block, blockStart);
+            block.flip();
+        }
+        ByteBuffer view = block.duplicate();
+        view.position((int) (from - blockStart));
+        view.limit(view.position() + n);
+        return view.slice();
+    }
+
+    private ByteBuffer readFully(long from, int n) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(n);
+        fill(buf, from);
+        buf.flip();
+        return buf;
+    }
+
+    private void fill(ByteBuffer buf, long from) throws IOException {
+        long at = from;
+        while (buf.hasRemaining()) {
+            int r = ch.read(buf, at);
+            if (r < 0) throw new IOException("file terpotong saat dibaca");
+            at += r;
+        }
+    }
+
+    @Override
+    public void close() throws IOException { ch.close(); }
+}
@@ -3,69 +3,124 @@ package model;
 import java.io.*;
 import java.nio.file.*;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
 
 /**
  * Kelas RiwayatAdmin digunakan untuk mencatat dan membaca riwayat aktivitas admin.
- * Setiap aktivitas dicatat secara persisten dalam file <code>data/riwayat_admin.txt</code>
- * dengan format:
+ * Setiap aktivitas dicatat secara persisten dalam file <code>data/riwayat_admin.bin</code>
+ * sebagai record biner {@link LogEvent} (waktu, username admin, jenis event, argumen).
+ * Bentuk teks <code>timestamp|adminUsername|event</code> hanya dibuat saat ditampilkan.
+ * File teks lama <code>riwayat_admin.txt</code> dikonversi otomatis saat kelas ini dimuat.
  *
- * <pre>
- * timestamp|adminUsername|event
- * </pre>
+ * <p>Riwayat disimpan menggunakan metode append sehingga data lama tidak akan ditimpa.
+ * Penulisan dilakukan secara asinkron oleh {@link AsyncLogAppender}; gunakan
+ * {@link #flush()} untuk menunggu semua entri tertulis.</p>
  *
- * <p>Riwayat disimpan menggunakan metode append sehingga data lama tidak akan ditimpa.</p>
+ * <p>File dipecah menjadi segmen terkompresi oleh {@link LogSegments};
+ * {@link #getBetween(LocalDateTime, LocalDateTime)} hanya membuka segmen
+ * yang rentang waktunya beririsan dengan rentang yang diminta.</p>
  */
 public class RiwayatAdmin {
-    private final Path file = Paths.get("data","riwayat_admin.txt");
-    private final DateTimeFormatter fmt = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final Path file = Paths.get("data","riwayat_admin.bin");
+
+    /** Menghitung event ke {@link ActivityStats} setelah tertulis */
+    private static final AsyncLogAppender.WriteListener stats = ActivityStats.listener(ActivityStats.Source.ADMIN);
+
+    static { LegacyLogConverter.migrate(file); }
 
     /**
-     * Konstruktor yang memastikan folder <code>data/</code> dan file log tersedia.
-     * Jika belum ada, maka akan dibuat secara otomatis.
+     * Konstruktor yang memastikan folder <code>data/</code> tersedia.
+     * File log dibuat saat entri pertama ditulis.
      */
     public RiwayatAdmin() {
         try { 
             if (!Files.exists(file.getParent())) Files.createDirectories(file.getParent());
-            if (!Files.exists(file)) Files.createFile(file); 
         } catch (IOException e) { 
             System.err.println("init riwayat admin: " + e.getMessage()); 
         }
     }
 
+    /**
+     * Menambahkan event baru ke dalam riwayat admin dengan waktu saat ini,
+     * lalu memasukkannya ke antrean penulis log.
+     *
+     * @param adminUsername username admin yang melakukan aksi
+     * @param type jenis event
+     * @param args argumen event (misalnya ID dan nama anggota)
+     */
+    public void add(String adminUsername, LogEvent.Type type, Object... args) {
+        append(LogEvent.now(adminUsername, type, args));
+    }
+
      /**
-     * Menambahkan entri baru ke dalam riwayat admin.
-     * Entri dicatat dengan timestamp saat ini, username admin, dan deskripsi event.
+     * Menambahkan entri berupa deskripsi teks (misalnya <code>ADD_DIVISI,Acara</code>).
+     * Deskripsi diubah menjadi event bertipe bila jenisnya dikenal.
      *
      * @param adminUsername username admin yang melakukan aksi
      * @param event deskripsi aksi atau aktivitas
      */
-    public synchronized void add(String adminUsername, String event) {
-        String line = LocalDateTime.now().format(fmt) + "|" + adminUsername + "|" + event;
-        try (BufferedWriter bw = Files.newBufferedWriter(file, StandardOpenOption.APPEND)) {
-            bw.write(line); 
-            bw.newLine();
-        } catch (IOException e) { 
-            System.err.println("write riwayat admin: " + e.getMessage()); 
-        }
+    public void add(String adminUsername, String event) {
+        append(LogEvent.fromText(System.currentTimeMillis(), adminUsername, event));
+    }
+
+    /**
+     * Memasukkan event ke antrean penulis log; penghitung {@link ActivityStats}
+     * bertambah setelah event tertulis.
+     */
+    private void append(LogEvent e) {
+        AsyncLogAppender.forFile(file, stats).append(e);
+    }
+
+    /**
+     * Menunggu sampai semua event domain yang sudah dipublikasikan tercatat
+     * dan semua entri yang sudah ditambahkan tertulis ke file.
+     *
+     * @throws java.io.UncheckedIOException jika ada entri yang gagal ditulis
+     */
+    public void flush() {
+        EventBus.getInstance().drain();
+        AsyncLogAppender.forFile(file, stats).flush();
     }
 
     /**
-     * Mengambil seluruh baris riwayat admin dari file.
+     * Mengambil seluruh baris riwayat admin dari semua segmen.
      *
      * @return list string berisi baris riwayat; kosong jika file tidak ada atau gagal dibaca
      */
-    public List<String> getAll() {
+    public List<String> getAll() { return getBetween(null, null); }
+
+    /**
+     * Mengambil baris riwayat admin dalam rentang waktu tertentu.
+     *
+     * @param from batas bawah (inklusif), null berarti tanpa batas
+     * @param to batas atas (inklusif), null berarti tanpa batas
+     * @return list baris riwayat, urut dari yang terlama
+     */
+    public List<String> getBetween(LocalDateTime from, LocalDateTime to) {
+        flush();
         try { 
-            if (!Files.exists(file)) return Collections.emptyList();
-            return Files.readAllLines(file); 
+            List<String> out = new ArrayList<>();
+            for (LogEvent e : LogSegments.of(file).readRange(LogEvent.toMillis(from, Long.MIN_VALUE), LogEvent.toMillis(to, Long.MAX_VALUE)))
+                out.add(e.render());
+            return out;
         } catch (IOException e) { 
             System.err.println("read riwayat admin: " + e.getMessage()); 
             return Collections.emptyList(); 
         }
     }
 
+    /**
+     * Membuka pembaca riwayat per halaman yang dimulai dari entri terbaru.
+     * File tidak dibaca seluruhnya; hanya bagian akhir yang dibutuhkan.
+     *
+     * @param pageSize jumlah baris per halaman
+     * @return pager yang harus ditutup setelah selesai dipakai
+     */
+    public RiwayatPager openPager(int pageSize) {
+        flush();
+        return new RiwayatPager(LogSegments.of(file), pageSize);
+    }
+
 /**
      * Mencetak seluruh riwayat admin dalam format tabel ke console.
      * Tabel menggunakan border sederhana dan akan menyesuaikan lebar kolom
@@ -73,8 +128,15 @@ public class RiwayatAdmin {
      *
      * <p>Jika tidak ada riwayat, maka akan mencetak pesan penanda kosong.</p>
      */
-    public void printTable() {
-        List<String> lines = getAll();
+    public void printTable() { printTable(getAll()); }
+
+    /**
+     * Mencetak baris riwayat tertentu (misalnya satu halaman dari {@link RiwayatPager})
+     * dalam format tabel ke console.
+     *
+     * @param lines baris riwayat berformat <code>timestamp|adminUsername|event</code>
+     */
+    public void printTable(List<String> lines) {
         if (lines.isEmpty()) { 
             System.out.println("(tidak ada riwayat admin)"); 
             return; 
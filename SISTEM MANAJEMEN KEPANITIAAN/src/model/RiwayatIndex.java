@@ -0,0 +1,337 @@
+package model;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Indeks offset untuk file riwayat berisi record {@link LogEvent}.
+ *
+ * <p>Untuk setiap ID pelaku (huruf kecil) disimpan daftar posisi byte dan
+ * panjang record miliknya di segmen aktif, sehingga riwayat satu ID bisa dibaca
+ * dengan langsung melompat ke record-recordnya tanpa membaca seluruh file. Untuk segmen
+ * yang sudah ditutup ({@link LogSegments}, terkompresi gzip) yang disimpan
+ * adalah nomor segmen yang memuat ID tersebut, sehingga hanya segmen itu
+ * yang dibuka.</p>
+ *
+ * <p>Indeks juga disimpan sebagai file pendamping (misalnya
+ * <code>riwayat_member.idx</code>) dengan satu entri per baris:</p>
+ * <pre>
+ * N,nomorSegmenTerakhir
+ * S,nomorSegmen,id
+ * offset,panjang,id
+ * </pre>
+ *
+ * <p>Entri baru ditambahkan oleh thread penulis {@link AsyncLogAppender}
+ * setiap kali sebuah batch tertulis. Saat pertama dipakai, file pendamping
+ * dicocokkan dengan file log: bila log lebih pendek atau entri terakhir tidak
+ * cocok, indeks dibangun ulang; bila log lebih panjang, hanya bagian akhir
+ * log yang diindeks.</p>
+ */
+final class RiwayatIndex implements AsyncLogAppender.WriteListener {
+    private final Path logFile;
+    private final Path indexFile;
+    private final LogSegments segments;
+
+    /** ID huruf kecil -> nomor segmen tertutup yang memuat ID tersebut */
+    private final Map<String, List<Integer>> segmentsOf = new HashMap<>();
+
+    /** Nomor segmen tertutup terakhir yang sudah tercakup indeks */
+    private int sealedSeq;
+
+    /** ID huruf kecil -> pasangan {offset, panjang} */
+    private final Map<String, List<long[]>> entries = new HashMap<>();
+
+    /** Posisi byte log yang sudah tercakup indeks */
+    private long covered;
+
+    /** Entri terakhir yang diindeks (untuk validasi), {offset, panjang} */
+    private long[] last;
+    private String lastId;
+
+    private boolean loaded;
+    private BufferedWriter out;
+
+    /**
+     * @param logFile file log yang diindeks
+     * @param indexFile file pendamping indeks
+     */
+    RiwayatIndex(Path logFile, Path indexFile) {
+        this.logFile = logFile;
+        this.indexFile = indexFile;
+        this.segments = LogSegments.of(logFile);
+    }
+
+    @Override
+    public synchronized void written(List<LogEvent> events, long[] offsets) {
+        if (!loaded) return; // akan disusul saat indeks pertama kali dimuat
+        if (offsets[0] != covered) { loaded = false; return; } // ada record yang terlewat
+        for (int i = 0; i < events.size(); i++) add(events.get(i).getActor(), offsets[i], offsets[i + 1] - offsets[i], true);
+        flushOut();
+    }
+
+    @Override
+    public synchronized void sealed(int seq) {
+        if (!loaded) return;
+        if (seq != sealedSeq + 1) { loaded = false; return; }
+        for (String k : entries.keySet()) segmentsOf.computeIfAbsent(k, x -> new ArrayList<>()).add(seq);
+        entries.clear();
+        covered = 0;
+        last = null;
+        lastId = null;
+        sealedSeq = seq;
+        writeIndexFile();
+    }
+
+    /**
+     * Membaca seluruh event milik satu ID, sesuai urutan penulisan.
+     *
+     * @param id ID yang dicari (case-insensitive)
+     * @return list event
+     */
+    synchronized List<LogEvent> read(String id) { return read(id, Long.MIN_VALUE, Long.MAX_VALUE); }
+
+    /**
+     * Membaca event milik satu ID dalam rentang waktu tertentu.
+     * Segmen tertutup yang tidak memuat ID atau tidak beririsan dengan
+     * rentang tidak dibuka sama sekali.
+     *
+     * @param id ID yang dicari (case-insensitive)
+     * @param from batas bawah waktu (epoch millis, inklusif)
+     * @param to batas atas waktu (epoch millis, inklusif)
+     * @return list event, urut dari yang terlama
+     */
+    synchronized List<LogEvent> read(String id, long from, long to) {
+        ensureLoaded();
+        String k = key(id);
+        List<LogEvent> out = new ArrayList<>();
+        List<Integer> seqs = segmentsOf.get(k);
+        if (seqs != null) {
+            for (LogSegments.Segment s : segments.overlapping(from, to)) {
+                if (!seqs.contains(s.seq)) continue;
+                try (DataInputStream in = segments.open(s)) {
+                    LogEvent e;
+                    while ((e = LogEvent.readFrom(in)) != null)
+                        if (key(e.getActor()).equals(k) && inRange(e, from, to)) out.add(e);
+                } catch (IOException e) { System.err.println("read segmen riwayat: " + e.getMessage()); }
+            }
+        }
+        List<long[]> list = entries.get(k);
+        if (list == null || list.isEmpty()) return out;
+        try (FileChannel ch = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            for (long[] x : list) {
+                LogEvent e = readEvent(ch, x[0], (int) x[1]);
+                if (inRange(e, from, to)) out.add(e);
+            }
+        } catch (IOException e) {
+            System.err.println("read index riwayat: " + e.getMessage());
+            loaded = false;
+        }
+        return out;
+    }
+
+    /**
+     * Memastikan indeks di memori sesuai dengan file log: memuat file
+     * pendamping, memvalidasinya, lalu mengindeks bagian log yang belum tercakup.
+     */
+    private void ensureLoaded() {
+        long size;
+        try { size = Files.exists(logFile) ? Files.size(logFile) : 0; } catch (IOException e) { size = 0; }
+        if (loaded && size == covered && sealedSeq == segments.lastSeq()) return;
+        if (!loaded && !loadIndexFile()) rebuild();
+        else if (size < covered || sealedSeq != segments.lastSeq() || !lastMatches()) rebuild();
+        if (covered < size) indexTail();
+        loaded = true;
+    }
+
+    /**
+     * Memuat file pendamping ke memori.
+     *
+     * @return false jika file tidak ada atau rusak
+     */
+    private boolean loadIndexFile() {
+        clear();
+        if (!Files.exists(indexFile)) return false;
+        RecordTokenizer tok = new RecordTokenizer(',');
+        try (BufferedReader br = Files.newBufferedReader(indexFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                if (line.isEmpty()) continue;
+                tok.reset(line);
+                String first = tok.next();
+                if (first.equals("N")) { sealedSeq = Integer.parseInt(tok.next()); continue; }
+                if (first.equals("S")) {
+                    int seq = Integer.parseInt(tok.next());
+                    segmentsOf.computeIfAbsent(key(tok.restUnescaped()), x -> new ArrayList<>()).add(seq);
+                    continue;
+                }
+                long off = Long.parseLong(first), len = Long.parseLong(tok.next());
+                String id = tok.restUnescaped();
+                if (id == null || off != covered) return false;
+                add(id, off, len, false);
+            }
+        } catch (IOException | RuntimeException e) {
+            return false;
+        }
+        return sealedSeq == segments.lastSeq() && lastMatches();
+    }
+
+    /**
+     * Mengecek apakah record pada entri terakhir memang milik ID yang tercatat.
+     *
+     * @return true jika cocok (atau indeks masih kosong)
+     */
+    private boolean lastMatches() {
+        if (last == null) return covered == 0;
+        try (FileChannel ch = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            if (ch.size() < last[0] + last[1]) return false;
+            return lastId.equals(readEvent(ch, last[0], (int) last[1]).getActor());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Membangun ulang indeks: ID dari setiap segmen tertutup, lalu offset
+     * record di segmen aktif dari awal file.
+     */
+    private void rebuild() {
+        clear();
+        for (LogSegments.Segment s : segments.sealedSegments()) {
+            Set<String> ids = new HashSet<>();
+            try (DataInputStream in = segments.open(s)) {
+                LogEvent e;
+                while ((e = LogEvent.readFrom(in)) != null) ids.add(key(e.getActor()));
+            } catch (IOException e) { System.err.println("index segmen riwayat: " + e.getMessage()); }
+            for (String k : ids) segmentsOf.computeIfAbsent(k, x -> new ArrayList<>()).add(s.seq);
+            sealedSeq = s.seq;
+        }
+        writeIndexFile();
+        indexTail();
+    }
+
+    /**
+     * Menulis ulang file pendamping berisi daftar segmen per ID dan entri
+     * segmen aktif yang sudah ada di memori.
+     */
+    private void writeIndexFile() {
+        closeOut();
+        Path tmp = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        try (BufferedWriter bw = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            bw.write("N," + sealedSeq);
+            bw.newLine();
+            for (Map.Entry<String, List<Integer>> e : segmentsOf.entrySet())
+                for (int seq : e.getValue()) { bw.write("S," + seq + "," + RecordTokenizer.escape(e.getKey())); bw.newLine(); }
+            List<long[]> active = new ArrayList<>();
+            Map<long[], String> ids = new IdentityHashMap<>();
+            for (Map.Entry<String, List<long[]>> e : entries.entrySet()) for (long[] x : e.getValue()) { active.add(x); ids.put(x, e.getKey()); }
+            active.sort(Comparator.comparingLong(x -> x[0]));
+            for (long[] x : active) { bw.write(x[0] + "," + x[1] + "," + RecordTokenizer.escape(ids.get(x))); bw.newLine(); }
+        } catch (IOException e) { System.err.println("write index riwayat: " + e.getMessage()); return; }
+        try {
+            Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            try { Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING); } catch (IOException ex) { System.err.println("write index riwayat: " + ex.getMessage()); }
+        }
+    }
+
+    /**
+     * Mengindeks record mulai dari posisi {@link #covered} sampai akhir file.
+     * Record terakhir yang terpotong tidak diindeks.
+     */
+    private void indexTail() {
+        if (!Files.exists(logFile)) return;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(logFile), 1 << 16))) {
+            long skip = covered;
+            while (skip > 0) {
+                long n = in.skip(skip);
+                if (n <= 0) return;
+                skip -= n;
+            }
+            byte[] payload;
+            while ((payload = LogEvent.readPayload(in)) != null) {
+                String actor;
+                try { actor = LogEvent.decode(payload).getActor(); }
+                catch (IOException e) {
+                    // record rusak tidak diindeks, tetapi record sesudahnya tetap diindeks
+                    System.err.println("index riwayat: record rusak pada byte " + covered + " dilewati");
+                    covered += payload.length + 8;
+                    continue;
+                }
+                add(actor, covered, payload.length + 8, true);
+            }
+        } catch (IOException e) {
+            System.err.println("index riwayat: " + e.getMessage());
+        }
+        flushOut();
+    }
+
+    /**
+     * Menambahkan satu entri ke indeks di memori (dan ke file pendamping).
+     *
+     * @param id ID pelaku event
+     * @param off posisi byte awal record
+     * @param len panjang record termasuk kedua penanda panjang
+     * @param persist true untuk ikut menulis ke file pendamping
+     */
+    private void add(String id, long off, long len, boolean persist) {
+        String k = key(id);
+        long[] e = {off, len};
+        entries.computeIfAbsent(k, x -> new ArrayList<>()).add(e);
+        covered = off + len;
+        last = e;
+        lastId = id;
+        if (!persist) return;
+        try {
+            if (out == null) out = Files.newBufferedWriter(indexFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            out.write(off + "," + len + "," + RecordTokenizer.escape(id));
+            out.newLine();
+        } catch (IOException ex) { System.err.println("write index riwayat: " + ex.getMessage()); }
+    }
+
+    /**
+     * Membaca satu record dari posisi tertentu.
+     *
+     * @param ch channel file log
+     * @param off posisi byte awal record
+     * @param len panjang record
+     * @return event
+     * @throws IOException jika gagal membaca atau record rusak
+     */
+    private static LogEvent readEvent(FileChannel ch, long off, int len) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(len);
+        while (buf.hasRemaining() && ch.read(buf, off + buf.position()) > 0) { }
+        buf.flip();
+        return LogEvent.decodeFrame(buf);
+    }
+
+    private static boolean inRange(LogEvent e, long from, long to) {
+        return e.getTime() >= from && e.getTime() <= to;
+    }
+
+    private static String key(String id) { return id == null ? "" : id.toLowerCase(Locale.ROOT); }
+
+    private void clear() {
+        entries.clear();
+        segmentsOf.clear();
+        sealedSeq = 0;
+        covered = 0;
+        last = null;
+        lastId = null;
+    }
+
+    private void flushOut() {
+        if (out == null) return;
+        try { out.flush(); } catch (IOException e) { System.err.println("flush index riwayat: " + e.getMessage()); }
+    }
+
+    private void closeOut() {
+        if (out == null) return;
+        try { out.close(); } catch (IOException e) { System.err.println("close index riwayat: " + e.getMessage()); }
+        out = null;
+    }
+}
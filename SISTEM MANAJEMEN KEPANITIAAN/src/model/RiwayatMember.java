@@ -3,44 +3,91 @@ package model;
 import java.io.*;
 import java.nio.file.*;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
 
 /**
  * Kelas yang menangani pencatatan riwayat aktivitas member.
- * Setiap aktivitas disimpan dalam berkas teks dengan format:
- * <pre>timestamp|anggotaId|event</pre>
+ * Setiap aktivitas disimpan sebagai record biner {@link LogEvent}
+ * (waktu, ID anggota, jenis event, argumen) di <code>riwayat_member.bin</code>.
+ * Berkas teks lama <code>riwayat_member.txt</code> dikonversi otomatis
+ * saat kelas ini dimuat.
  *
  * Berkas riwayat disimpan pada direktori <code>data</code>
  * dan akan dibuat secara otomatis apabila belum ada.
+ * Penulisan dilakukan secara asinkron oleh {@link AsyncLogAppender}.
+ *
+ * Posisi setiap record per anggota dicatat di {@link RiwayatIndex}
+ * (berkas <code>riwayat_member.idx</code>), sehingga riwayat satu anggota
+ * dibaca langsung dari posisinya tanpa membaca seluruh berkas.
+ * Berkas lama dipecah menjadi segmen terkompresi oleh {@link LogSegments}.
  */
 public class RiwayatMember {
-    private final Path file = Paths.get("data","riwayat_member.txt");
-    private final DateTimeFormatter fmt = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final Path file = Paths.get("data","riwayat_member.bin");
+
+    static { LegacyLogConverter.migrate(file); }
+
+    private static final RiwayatIndex index = new RiwayatIndex(file, Paths.get("data","riwayat_member.idx"));
+
+    /** Meneruskan notifikasi penulisan ke indeks offset dan ke {@link ActivityStats} */
+    private static final AsyncLogAppender.WriteListener listener = new AsyncLogAppender.WriteListener() {
+        private final AsyncLogAppender.WriteListener stats = ActivityStats.listener(ActivityStats.Source.MEMBER);
+
+        @Override public void written(List<LogEvent> events, long[] offsets) {
+            index.written(events, offsets);
+            stats.written(events, offsets);
+        }
+
+        @Override public void sealed(int seq) { index.sealed(seq); }
+    };
 
     /**
-     * Konstruktor yang memastikan direktori dan berkas riwayat tersedia.
-     * Jika belum ada, akan dibuat secara otomatis.
+     * Konstruktor yang memastikan direktori riwayat tersedia.
+     * Berkas riwayat dibuat saat entri pertama ditulis.
      */
     public RiwayatMember() {
-        try { if (!Files.exists(file.getParent())) Files.createDirectories(file.getParent());
-              if (!Files.exists(file)) Files.createFile(file); } catch (IOException e) { System.err.println("init riwayat member: " + e.getMessage()); }
+        try { if (!Files.exists(file.getParent())) Files.createDirectories(file.getParent()); }
+        catch (IOException e) { System.err.println("init riwayat member: " + e.getMessage()); }
     }
 
     /**
-     * Menambahkan entri riwayat baru secara synchronized.
+     * Menambahkan event riwayat baru (waktu saat ini) ke antrean penulis log.
+     *
+     * @param anggotaId ID anggota yang melakukan aktivitas.
+     * @param type Jenis event.
+     * @param args Argumen event (misalnya ID tugas).
+     */
+    public void add(String anggotaId, LogEvent.Type type, Object... args) {
+        append(LogEvent.now(anggotaId, type, args));
+    }
+
+    /**
+     * Menambahkan entri riwayat berupa deskripsi teks
+     * (misalnya <code>UPDATE_TUGAS,T1,budi</code>).
      *
      * @param anggotaId ID anggota yang melakukan aktivitas.
      * @param event Deskripsi aktivitas yang dicatat.
+     */
+    public void add(String anggotaId, String event) {
+        append(LogEvent.fromText(System.currentTimeMillis(), anggotaId, event));
+    }
+
+    /**
+     * Memasukkan event ke antrean penulis log; indeks offset dan penghitung
+     * {@link ActivityStats} diperbarui setelah event tertulis.
+     */
+    private void append(LogEvent e) {
+        AsyncLogAppender.forFile(file, listener).append(e);
+    }
+
+    /**
+     * Menunggu sampai semua event domain yang sudah dipublikasikan tercatat
+     * dan semua entri yang sudah ditambahkan tertulis ke berkas.
      *
-     * Format baris yang ditulis ke berkas adalah:
-     * <pre>timestamp|anggotaId|event</pre>
+     * @throws java.io.UncheckedIOException jika ada entri yang gagal ditulis
      */
-    public synchronized void add(String anggotaId, String event) {
-        String line = LocalDateTime.now().format(fmt) + "|" + anggotaId + "|" + event;
-        try (BufferedWriter bw = Files.newBufferedWriter(file, StandardOpenOption.APPEND)) {
-            bw.write(line); bw.newLine();
-        } catch (IOException e) { System.err.println("write riwayat member: " + e.getMessage()); }
+    public void flush() {
+        EventBus.getInstance().drain();
+        AsyncLogAppender.forFile(file, listener).flush();
     }
 
     /**
@@ -49,18 +96,24 @@ public class RiwayatMember {
      * @param anggotaId ID anggota yang ingin diambil riwayatnya.
      * @return Daftar string yang berisi waktu dan deskripsi aktivitas.
      */
-    public List<String> getFor(String anggotaId) {
-        try {
-            if (!Files.exists(file)) return Collections.emptyList();
-            List<String> all = Files.readAllLines(file);
-            List<String> out = new ArrayList<>();
-            for (String l : all) {
-                String[] p = l.split("\\|",3);
-                if (p.length<3) continue;
-                if (p[1].equalsIgnoreCase(anggotaId)) out.add(p[0] + " | " + p[2]);
-            }
-            return out;
-        } catch (IOException e) { System.err.println("read riwayat member: " + e.getMessage()); return Collections.emptyList(); }
+    public List<String> getFor(String anggotaId) { return getFor(anggotaId, null, null); }
+
+    /**
+     * Mengambil riwayat aktivitas anggota dalam rentang waktu tertentu.
+     * Hanya segmen yang memuat anggota tersebut dan beririsan dengan
+     * rentang waktu yang dibuka.
+     *
+     * @param anggotaId ID anggota yang ingin diambil riwayatnya.
+     * @param from Batas bawah (inklusif), null berarti tanpa batas.
+     * @param to Batas atas (inklusif), null berarti tanpa batas.
+     * @return Daftar string yang berisi waktu dan deskripsi aktivitas.
+     */
+    public List<String> getFor(String anggotaId, LocalDateTime from, LocalDateTime to) {
+        flush();
+        List<String> out = new ArrayList<>();
+        for (LogEvent e : index.read(anggotaId, LogEvent.toMillis(from, Long.MIN_VALUE), LogEvent.toMillis(to, Long.MAX_VALUE)))
+            if (e.getActor().equalsIgnoreCase(anggotaId)) out.add(e.getTimestampText() + " | " + e.getEventText());
+        return out;
     }
 
     /**
@@ -0,0 +1,151 @@
+package model;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Pembaca riwayat per halaman, dimulai dari entri terbaru.
+ *
+ * <p>Event dibaca dari akhir segmen aktif ke awal ({@link ReverseRecordReader}),
+ * lalu berlanjut ke segmen tertutup dari yang terbaru. Hanya event yang
+ * diperlukan untuk halaman yang diminta yang dibaca; halaman yang sudah
+ * dilihat disimpan sehingga kembali ke halaman lebih baru tidak membaca ulang.
+ * Halaman dikembalikan dalam bentuk teks ({@link LogEvent#render()}).</p>
+ *
+ * <p>Isi yang dibaca adalah keadaan log saat pager dibuka; entri baru
+ * terlihat setelah pager dibuka ulang. Tutup pager setelah selesai.</p>
+ */
+public final class RiwayatPager implements AutoCloseable {
+    private final LogSegments segments;
+    private final int pageSize;
+
+    /** Segmen tertutup yang belum dibaca, dari yang terbaru */
+    private final Deque<LogSegments.Segment> pendingSegments = new ArrayDeque<>();
+
+    /** Sumber event yang sedang dibaca (salah satu terisi) */
+    private ReverseRecordReader reader;
+    private List<LogEvent> segmentEvents;
+    private int segmentPos;
+
+    /** Event yang sudah dibaca, dari yang terbaru */
+    private final List<LogEvent> loaded = new ArrayList<>();
+    private boolean exhausted;
+    private int page;
+
+    /**
+     * @param segments segmen log sumber
+     * @param pageSize jumlah baris per halaman
+     */
+    RiwayatPager(LogSegments segments, int pageSize) {
+        this.segments = segments;
+        this.pageSize = Math.max(1, pageSize);
+        List<LogSegments.Segment> sealed;
+        // dikunci bersama agar segmen aktif tidak ditutup di antara keduanya
+        synchronized (segments) {
+            sealed = segments.sealedSegments();
+            Path active = segments.activeFile();
+            try {
+                if (Files.exists(active)) reader = new ReverseRecordReader(active);
+            } catch (IOException e) { System.err.println("read riwayat: " + e.getMessage()); }
+        }
+        for (LogSegments.Segment s : sealed) pendingSegments.addFirst(s);
+    }
+
+    /** @return halaman pertama (entri terbaru) */
+    public List<String> latest() {
+        page = 0;
+        return current();
+    }
+
+    /** @return halaman berikutnya yang berisi entri lebih lama (tetap di halaman terakhir jika sudah habis) */
+    public List<String> older() {
+        if (hasOlder()) page++;
+        return current();
+    }
+
+    /** @return halaman sebelumnya yang berisi entri lebih baru */
+    public List<String> newer() {
+        if (page > 0) page--;
+        return current();
+    }
+
+    /** @return true jika masih ada entri yang lebih lama dari halaman ini */
+    public boolean hasOlder() {
+        fill((page + 1) * pageSize + 1);
+        return loaded.size() > (page + 1) * pageSize;
+    }
+
+    /** @return true jika ada halaman yang lebih baru */
+    public boolean hasNewer() { return page > 0; }
+
+    /** @return nomor halaman saat ini (mulai dari 1) */
+    public int getPage() { return page + 1; }
+
+    /**
+     * @return baris teks pada halaman saat ini, dari yang terbaru
+     */
+    private List<String> current() {
+        int from = page * pageSize;
+        fill(from + pageSize);
+        List<String> out = new ArrayList<>(pageSize);
+        for (int i = from; i < Math.min(loaded.size(), from + pageSize); i++) out.add(loaded.get(i).render());
+        return out;
+    }
+
+    /**
+     * Membaca event lebih lama sampai jumlah event yang dimuat mencapai n
+     * atau seluruh log habis.
+     *
+     * @param n jumlah event yang dibutuhkan
+     */
+    private void fill(int n) {
+        while (loaded.size() < n && !exhausted) {
+            LogEvent e = nextOlder();
+            if (e == null) { exhausted = true; close(); }
+            else loaded.add(e);
+        }
+    }
+
+    /**
+     * @return event berikutnya yang lebih lama, atau null jika habis
+     */
+    private LogEvent nextOlder() {
+        while (true) {
+            try {
+                if (reader != null) {
+                    LogEvent e = reader.previous();
+                    if (e != null) return e;
+                    reader.close();
+                    reader = null;
+                }
+                if (segmentEvents != null) {
+                    if (segmentPos > 0) return segmentEvents.get(--segmentPos);
+                    segmentEvents = null;
+                }
+                LogSegments.Segment s = pendingSegments.pollFirst();
+                if (s == null) return null;
+                Path plain = segments.plainFile(s);
+                if (plain != null) reader = new ReverseRecordReader(plain);
+                else {
+                    segmentEvents = segments.readSegment(s);
+                    segmentPos = segmentEvents.size();
+                }
+            } catch (IOException e) {
+                System.err.println("read riwayat: " + e.getMessage());
+                reader = null;
+                segmentEvents = null;
+            }
+        }
+    }
+
+    /**
+     * Menutup file yang masih terbuka.
+     */
+    @Override
+    public void close() {
+        if (reader == null) return;
+        try { reader.close(); } catch (IOException e) { System.err.println("close riwayat: " + e.getMessage()); }
+        reader = null;
+    }
+}
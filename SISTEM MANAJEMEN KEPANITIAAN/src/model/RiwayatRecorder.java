@@ -0,0 +1,56 @@
+package model;
+
+import java.util.List;
+
+/**
+ * Subscriber {@link EventBus} yang mencatat event domain ke riwayat aktivitas.
+ *
+ * <p>Perubahan oleh admin dicatat di {@link RiwayatAdmin} atas nama username
+ * admin, perubahan oleh member di {@link RiwayatMember} atas nama ID anggota
+ * yang terhubung. Event tanpa pelaku (perubahan oleh sistem, misalnya data
+ * awal) dan perubahan deadline tidak dicatat.</p>
+ */
+final class RiwayatRecorder implements EventBus.Subscriber {
+    private RiwayatAdmin admin;
+    private RiwayatMember member;
+
+    @Override
+    public void onEvents(List<DomainEvent> batch) {
+        for (DomainEvent e : batch) record(e);
+    }
+
+    private void record(DomainEvent e) {
+        Account actor = e.getActor();
+        if (actor == null) return;
+        LogEvent.Type type;
+        Object[] args;
+        if (e instanceof DomainEvent.AnggotaAdded) {
+            DomainEvent.AnggotaAdded x = (DomainEvent.AnggotaAdded) e;
+            type = LogEvent.Type.ADD_ANGGOTA; args = new Object[]{x.getId(), x.getNama()};
+        } else if (e instanceof DomainEvent.AnggotaEdited) {
+            type = LogEvent.Type.EDIT_ANGGOTA; args = new Object[]{((DomainEvent.AnggotaEdited) e).getId()};
+        } else if (e instanceof DomainEvent.AnggotaRemoved) {
+            type = LogEvent.Type.DELETE_ANGGOTA; args = new Object[]{((DomainEvent.AnggotaRemoved) e).getId()};
+        } else if (e instanceof DomainEvent.DivisiAdded) {
+            type = LogEvent.Type.ADD_DIVISI; args = new Object[]{((DomainEvent.DivisiAdded) e).getNama()};
+        } else if (e instanceof DomainEvent.TugasAdded) {
+            DomainEvent.TugasAdded x = (DomainEvent.TugasAdded) e;
+            type = LogEvent.Type.ADD_TUGAS; args = new Object[]{x.getTugasId(), x.getDivisi()};
+        } else if (e instanceof DomainEvent.TugasRemoved) {
+            DomainEvent.TugasRemoved x = (DomainEvent.TugasRemoved) e;
+            type = LogEvent.Type.DELETE_TUGAS; args = new Object[]{x.getTugasId(), x.getDivisi()};
+        } else if (e instanceof DomainEvent.TugasStatusChanged) {
+            type = LogEvent.Type.UPDATE_TUGAS; args = new Object[]{((DomainEvent.TugasStatusChanged) e).getTugasId(), actor.getUsername()};
+        } else if (e instanceof DomainEvent.AccountRegistered) {
+            type = LogEvent.Type.ADD_ACCOUNT; args = new Object[]{((DomainEvent.AccountRegistered) e).getUsername()};
+        } else return;
+
+        if (actor instanceof Member) {
+            if (member == null) member = new RiwayatMember();
+            member.add(((Member) actor).getIdAnggota(), type, args);
+        } else {
+            if (admin == null) admin = new RiwayatAdmin();
+            admin.add(actor.getUsername(), type, args);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package model;
+
+import java.text.Normalizer;
+import java.util.*;
+
+/**
+ * Indeks teks terbalik (inverted index) sederhana untuk pencarian divisi dan tugas.
+ *
+ * <p>Teks setiap dokumen dipecah menjadi kata lalu dinormalisasi:</p>
+ * <ul>
+ *     <li>huruf kecil dan tanpa tanda aksen;</li>
+ *     <li>kata ulang ditulis dengan tanda hubung (<code>rapat-rapat</code>) atau angka 2
+ *         (<code>rapat2</code>) menjadi satu kata <code>rapat</code>;</li>
+ *     <li>partikel <code>-lah</code>, <code>-kah</code>, <code>-tah</code>, <code>-pun</code> dan kata ganti
+ *         <code>-nya</code>, <code>-ku</code>, <code>-mu</code> dilepas (bentuk aslinya tetap ikut diindeks).</li>
+ * </ul>
+ *
+ * <p>Setiap kata disimpan di {@link TreeMap} bersama dokumen dan bobot field-nya,
+ * sehingga kata kunci cukup dicocokkan sebagai awalan (<code>rund</code> menemukan
+ * <code>rundown</code>) dengan membaca rentang TreeMap. Semua kata kunci harus
+ * cocok; skor dokumen adalah jumlah bobot field yang cocok, dikali dua bila
+ * katanya sama persis. Waktu pencarian sebanding dengan jumlah kata dan
+ * dokumen yang cocok, bukan jumlah seluruh dokumen.</p>
+ *
+ * @param <T> jenis dokumen (misalnya {@link Tugas} atau {@link Divisi})
+ */
+final class TextIndex<T> {
+    private static final String[] PARTICLES = {"lah", "kah", "tah", "pun"};
+    private static final String[] POSSESSIVES = {"nya", "ku", "mu"};
+
+    /** kata -> dokumen -> bobot */
+    private final TreeMap<String, Map<T, Integer>> postings = new TreeMap<>();
+
+    /** dokumen -> kata yang dimilikinya (untuk penghapusan) */
+    private final Map<T, Set<String>> termsOf = new IdentityHashMap<>();
+
+    /** dokumen -> urutan penambahan (untuk hasil yang stabil) */
+    private final Map<T, Long> seqOf = new IdentityHashMap<>();
+    private long seq;
+
+    /**
+     * Menambahkan teks satu field dokumen ke indeks. Bila kata yang sama
+     * muncul di beberapa field, bobotnya dijumlahkan.
+     *
+     * @param doc dokumen
+     * @param text isi field (boleh null)
+     * @param weight bobot field
+     */
+    void add(T doc, String text, int weight) {
+        if (text == null) return;
+        seqOf.putIfAbsent(doc, seq++);
+        Set<String> terms = termsOf.computeIfAbsent(doc, k -> new HashSet<>());
+        for (String term : indexTerms(text)) {
+            postings.computeIfAbsent(term, k -> new IdentityHashMap<>()).merge(doc, weight, Integer::sum);
+            terms.add(term);
+        }
+    }
+
+    /**
+     * Menghapus dokumen beserta seluruh katanya dari indeks.
+     *
+     * @param doc dokumen
+     */
+    void remove(T doc) {
+        Set<String> terms = termsOf.remove(doc);
+        seqOf.remove(doc);
+        if (terms == null) return;
+        for (String term : terms) {
+            Map<T, Integer> docs = postings.get(term);
+            if (docs == null) continue;
+            docs.remove(doc);
+            if (docs.isEmpty()) postings.remove(term);
+        }
+    }
+
+    /** Mengosongkan indeks. */
+    void clear() {
+        postings.clear();
+        termsOf.clear();
+        seqOf.clear();
+    }
+
+    /**
+     * Mencari dokumen yang cocok dengan semua kata kunci.
+     *
+     * @param query kata kunci
+     * @return dokumen, urut dari skor tertinggi (skor sama: urutan penambahan)
+     */
+    List<T> search(String query) {
+        List<String> words = words(query);
+        if (words.isEmpty()) return new ArrayList<>();
+        Map<T, Integer> total = null;
+        for (String w : words) {
+            Map<T, Integer> hits = new IdentityHashMap<>();
+            for (String v : variants(w)) match(v, hits);
+            if (total == null) total = hits;
+            else {
+                Map<T, Integer> next = new IdentityHashMap<>();
+                for (Map.Entry<T, Integer> e : hits.entrySet()) {
+                    Integer s = total.get(e.getKey());
+                    if (s != null) next.put(e.getKey(), s + e.getValue());
+                }
+                total = next;
+            }
+            if (total.isEmpty()) break;
+        }
+        List<Map.Entry<T, Integer>> ranked = new ArrayList<>(total.entrySet());
+        ranked.sort((a, b) -> a.getValue().equals(b.getValue())
+                ? Long.compare(seqOf.get(a.getKey()), seqOf.get(b.getKey()))
+                : Integer.compare(b.getValue(), a.getValue()));
+        List<T> out = new ArrayList<>(ranked.size());
+        for (Map.Entry<T, Integer> e : ranked) out.add(e.getKey());
+        return out;
+    }
+
+    /** @return jumlah kata berbeda di indeks */
+    int termCount() { return postings.size(); }
+
+    /**
+     * Mencatat skor terbaik tiap dokumen untuk kata yang berawalan <code>prefix</code>.
+     *
+     * @param prefix awalan kata
+     * @param hits dokumen -> skor (diperbarui)
+     */
+    private void match(String prefix, Map<T, Integer> hits) {
+        for (Map.Entry<String, Map<T, Integer>> e : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, true).entrySet()) {
+            int factor = e.getKey().equals(prefix) ? 2 : 1;
+            for (Map.Entry<T, Integer> d : e.getValue().entrySet())
+                hits.merge(d.getKey(), d.getValue() * factor, Math::max);
+        }
+    }
+
+    /**
+     * @param text teks dokumen
+     * @return bentuk asli dan bentuk dasar setiap kata (tanpa duplikat)
+     */
+    private static Set<String> indexTerms(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String w : words(text)) terms.addAll(variants(w));
+        return terms;
+    }
+
+    /**
+     * @param w kata yang sudah dinormalisasi
+     * @return kata itu sendiri dan bentuk dasarnya (bila berbeda)
+     */
+    private static List<String> variants(String w) {
+        String stem = stem(w);
+        return stem.equals(w) ? Collections.singletonList(w) : Arrays.asList(w, stem);
+    }
+
+    /**
+     * Memecah teks menjadi kata: huruf kecil, tanpa aksen, dipisah oleh
+     * karakter selain huruf/angka. Kata ulang dihitung sekali.
+     *
+     * @param text teks
+     * @return daftar kata tanpa duplikat, sesuai urutan kemunculan
+     */
+    static List<String> words(String text) {
+        if (text == null) return new ArrayList<>();
+        String s = Normalizer.normalize(text, Normalizer.Form.NFD).replaceAll("\\p{M}+", "").toLowerCase(Locale.ROOT);
+        Set<String> out = new LinkedHashSet<>();
+        int start = -1;
+        for (int i = 0; i <= s.length(); i++) {
+            boolean word = i < s.length() && Character.isLetterOrDigit(s.charAt(i));
+            if (word && start < 0) start = i;
+            else if (!word && start >= 0) {
+                out.add(unreduplicate(s.substring(start, i)));
+                start = -1;
+            }
+        }
+        return new ArrayList<>(out);
+    }
+
+    /**
+     * @param w kata
+     * @return kata tanpa penanda ulang angka 2 (<code>buku2</code> menjadi <code>buku</code>)
+     */
+    private static String unreduplicate(String w) {
+        int n = w.length();
+        if (n > 3 && w.charAt(n - 1) == '2' && Character.isLetter(w.charAt(n - 2))) return w.substring(0, n - 1);
+        return w;
+    }
+
+    /**
+     * Melepas partikel lalu kata ganti kepunyaan dari akhir kata,
+     * selama sisa kata minimal tiga huruf.
+     *
+     * @param w kata
+     * @return bentuk dasar
+     */
+    static String stem(String w) {
+        w = strip(w, PARTICLES);
+        return strip(w, POSSESSIVES);
+    }
+
+    private static String strip(String w, String[] suffixes) {
+        for (String s : suffixes)
+            if (w.length() - s.length() >= 3 && w.endsWith(s)) return w.substring(0, w.length() - s.length());
+        return w;
+    }
+}
@@ -0,0 +1,117 @@
+package model;
+
+import java.util.*;
+
+/**
+ * Indeks trigram untuk pencarian sebagian teks (infix) tanpa membedakan
+ * huruf besar/kecil, misalnya ID dan nama anggota.
+ *
+ * <p>Setiap field dokumen (huruf kecil) dipecah menjadi semua potongan tiga
+ * karakter berurutan; untuk setiap trigram disimpan himpunan dokumen yang
+ * memilikinya. Query sepanjang minimal {@link #GRAM} karakter dijawab dengan
+ * mengiris himpunan trigram query (mulai dari yang terkecil), lalu setiap
+ * kandidat diperiksa ulang dengan <code>contains</code> untuk membuang
+ * kecocokan semu. Query yang lebih pendek tidak bisa dijawab indeks
+ * ({@link #search(String)} mengembalikan null) sehingga pemanggil perlu
+ * menelusuri datanya sendiri.</p>
+ *
+ * @param <T> jenis dokumen
+ */
+final class TrigramIndex<T> {
+    /** Panjang gram */
+    static final int GRAM = 3;
+
+    /** trigram -> dokumen yang memilikinya */
+    private final Map<String, Set<T>> postings = new HashMap<>();
+
+    /** dokumen -> field yang diindeks (huruf kecil) */
+    private final Map<T, String[]> fieldsOf = new IdentityHashMap<>();
+
+    /** dokumen -> urutan penambahan (hasil mengikuti urutan ini) */
+    private final Map<T, Long> seqOf = new IdentityHashMap<>();
+    private long seq;
+
+    /**
+     * Menambahkan dokumen, atau memperbarui field-nya bila sudah ada.
+     *
+     * @param doc dokumen
+     * @param fields teks yang diindeks (null diabaikan)
+     */
+    void put(T doc, String... fields) {
+        String[] lower = new String[fields.length];
+        for (int i = 0; i < fields.length; i++) lower[i] = fields[i] == null ? "" : fields[i].toLowerCase(Locale.ROOT);
+        String[] old = fieldsOf.get(doc);
+        if (old != null && Arrays.equals(old, lower)) return;
+        if (old != null) unlink(doc, old);
+        fieldsOf.put(doc, lower);
+        seqOf.putIfAbsent(doc, seq++);
+        for (String g : grams(lower)) postings.computeIfAbsent(g, k -> newSet()).add(doc);
+    }
+
+    /**
+     * Menghapus dokumen dari indeks.
+     *
+     * @param doc dokumen
+     */
+    void remove(T doc) {
+        String[] old = fieldsOf.remove(doc);
+        seqOf.remove(doc);
+        if (old != null) unlink(doc, old);
+    }
+
+    /** Mengosongkan indeks. */
+    void clear() {
+        postings.clear();
+        fieldsOf.clear();
+        seqOf.clear();
+    }
+
+    /**
+     * Mencari dokumen yang salah satu field-nya memuat query.
+     *
+     * @param query potongan teks
+     * @return dokumen yang cocok sesuai urutan penambahan, atau null bila
+     *         query lebih pendek dari {@link #GRAM} (pemanggil perlu menelusuri sendiri)
+     */
+    List<T> search(String query) {
+        String q = query == null ? "" : query.toLowerCase(Locale.ROOT);
+        if (q.length() < GRAM) return null;
+        List<Set<T>> sets = new ArrayList<>();
+        for (String g : grams(new String[]{q})) {
+            Set<T> s = postings.get(g);
+            if (s == null) return new ArrayList<>();
+            sets.add(s);
+        }
+        sets.sort(Comparator.comparingInt(Set::size));
+        List<T> out = new ArrayList<>();
+        candidates:
+        for (T doc : sets.get(0)) {
+            for (int i = 1; i < sets.size(); i++) if (!sets.get(i).contains(doc)) continue candidates;
+            for (String f : fieldsOf.get(doc)) if (f.contains(q)) { out.add(doc); break; }
+        }
+        out.sort(Comparator.comparingLong(seqOf::get));
+        return out;
+    }
+
+    private void unlink(T doc, String[] fields) {
+        for (String g : grams(fields)) {
+            Set<T> s = postings.get(g);
+            if (s == null) continue;
+            s.remove(doc);
+            if (s.isEmpty()) postings.remove(g);
+        }
+    }
+
+    /**
+     * @param fields teks huruf kecil
+     * @return semua trigram dari setiap field (tanpa duplikat, tidak melintasi batas field)
+     */
+    private static Set<String> grams(String[] fields) {
+        Set<String> out = new HashSet<>();
+        for (String f : fields)
+            for (int i = 0; i + GRAM <= f.length(); i++) out.add(f.substring(i, i + GRAM));
+        return out;
+    }
+
+    private Set<T> newSet() { return Collections.newSetFromMap(new IdentityHashMap<>()); }
+}
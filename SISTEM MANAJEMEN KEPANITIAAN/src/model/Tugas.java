@@ -22,6 +22,9 @@ public class Tugas {
     private LocalDate deadline;
     private Status status = Status.TODO;
 
+    /** Divisi pemilik tugas (diisi oleh Divisi.addTugas). */
+    private Divisi owner;
+
     /**
      * Membuat objek tugas baru.
      *
@@ -53,25 +56,51 @@ public class Tugas {
      *
      * @param d Tanggal deadline.
      */
-    public void setDeadline(LocalDate d) { this.deadline = d; }
+    public void setDeadline(LocalDate d) {
+        Divisi o = owner;
+        ModelListener l = o==null ? null : o.beginChange();
+        try { this.deadline = d; fireChanged(false); } finally { Divisi.endChange(l); }
+    }
 
     /**
      * Mengatur status pengerjaan tugas.
      *
      * @param s Status baru.
      */
-    public void setStatus(Status s) { this.status = s; }
+    public void setStatus(Status s) {
+        Divisi o = owner;
+        ModelListener l = o==null ? null : o.beginChange();
+        try { this.status = s; fireChanged(true); } finally { Divisi.endChange(l); }
+    }
+
+    /** @return Divisi pemilik tugas, atau null jika belum masuk divisi. */
+    Divisi getOwner() { return owner; }
+
+    /**
+     * Mengatur divisi pemilik tugas.
+     * @param d divisi pemilik, atau null jika dilepas
+     */
+    void setOwner(Divisi d) { this.owner = d; }
+
+    /**
+     * Memberi tahu divisi pemilik bahwa tugas berubah.
+     *
+     * @param status true jika yang berubah status, false jika deadline
+     */
+    private void fireChanged(boolean status) { if (owner!=null) owner.tugasChanged(this, status); }
 
     /**
      * Menghasilkan representasi string dari tugas,
      * digunakan untuk penyimpanan ke berkas dengan format:
      * id|judul|deskripsi|deadline|status
+     * (karakter khusus di-escape dengan backslash)
      *
      * @return Representasi string tugas.
      */
     @Override
     public String toString() {
-        return id + "|" + judul + "|" + (deskripsi==null?"":deskripsi) + "|" + (deadline==null?"":deadline.toString()) + "|" + status.name();
+        return RecordTokenizer.escape(id) + "|" + RecordTokenizer.escape(judul) + "|" + RecordTokenizer.escape(deskripsi)
+                + "|" + (deadline==null?"":deadline.toString()) + "|" + status.name();
     }
 
     /**
@@ -82,14 +111,22 @@ public class Tugas {
      * @param s String sumber.
      * @return Objek Tugas, atau null jika format tidak valid.
      */
-    public static Tugas fromString(String s) {
-        String[] p = s.split("\\|", -1);
-        if (p.length < 5) return null;
-        Tugas t = new Tugas(p[0], p[1], p[2]);
-        if (!p[3].isEmpty()) {
-            try { t.setDeadline(LocalDate.parse(p[3])); } catch (Exception ignored) {}
+    public static Tugas fromString(String s) { return fromTokens(new RecordTokenizer('|').reset(s)); }
+
+    /**
+     * Membuat objek tugas dari tokenizer yang sudah diarahkan ke satu baris.
+     *
+     * @param tok tokenizer dengan pemisah '|'
+     * @return Objek Tugas, atau null jika format tidak valid.
+     */
+    static Tugas fromTokens(RecordTokenizer tok) {
+        String id = tok.next(), judul = tok.next(), deskripsi = tok.next(), deadline = tok.next(), status = tok.next();
+        if (status == null) return null;
+        Tugas t = new Tugas(id, judul, deskripsi);
+        if (!deadline.isEmpty()) {
+            try { t.setDeadline(LocalDate.parse(deadline)); } catch (Exception ignored) {}
         }
-        try { t.setStatus(Status.valueOf(p[4])); } catch (Exception ex) { t.setStatus(Status.TODO); }
+        try { t.setStatus(Status.valueOf(status)); } catch (Exception ex) { t.setStatus(Status.TODO); }
         return t;
     }
 }
@@ -0,0 +1,207 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Kriteria pencarian tugas yang bisa digabung, dijalankan lewat
+ * {@link DataStorage#queryTugas(TugasQuery)}.
+ *
+ * <pre>
+ * new TugasQuery().status(Tugas.Status.TODO, Tugas.Status.IN_PROGRESS)
+ *                 .divisiContains("acara")
+ *                 .deadlineBetween(from, to)
+ *                 .text("rundown")
+ *                 .orderBy(TugasQuery.Order.JUDUL)
+ *                 .limit(20);
+ * </pre>
+ *
+ * <p>Semua kriteria yang diisi harus terpenuhi (AND); kriteria yang tidak
+ * diisi berarti "apa saja". Saat dijalankan, DataStorage memilih sumber
+ * kandidat terkecil di antara indeks yang tersedia (status, divisi, rentang
+ * deadline, kata kunci) lalu memeriksa sisa kriteria pada kandidat tersebut;
+ * bila tidak ada kriteria yang terindeks, seluruh tugas ditelusuri.</p>
+ */
+public final class TugasQuery {
+    /** Urutan hasil. Nilai yang sama diurutkan lagi berdasarkan divisi lalu ID tugas. */
+    public enum Order {
+        /** Nama divisi (A-Z) */
+        DIVISI,
+        /** Judul tugas (A-Z) */
+        JUDUL,
+        /** Status: TODO, IN_PROGRESS, DONE */
+        STATUS,
+        /** Deadline terdekat lebih dulu; tugas tanpa deadline di akhir */
+        DEADLINE,
+        /** ID tugas */
+        ID
+    }
+
+    private EnumSet<Tugas.Status> statuses;
+    private String divisi;
+    private String divisiKeyword;
+    private LocalDate from, to;
+    private String text;
+    private Order order = Order.DIVISI;
+    private int offset;
+    private int limit = Integer.MAX_VALUE;
+
+    /**
+     * Tugas yang belum selesai dan deadline-nya sudah lewat, urut dari yang paling lama.
+     *
+     * @param today tanggal hari ini
+     * @return query baru
+     */
+    public static TugasQuery overdue(LocalDate today) {
+        return new TugasQuery().status(Tugas.Status.TODO, Tugas.Status.IN_PROGRESS)
+                .deadlineBetween(null, today.minusDays(1)).orderBy(Order.DEADLINE);
+    }
+
+    /**
+     * Tugas yang belum selesai dengan deadline hari ini sampai <code>days</code> hari ke depan.
+     *
+     * @param today tanggal hari ini
+     * @param days jumlah hari ke depan
+     * @return query baru
+     */
+    public static TugasQuery dueWithin(LocalDate today, int days) {
+        return new TugasQuery().status(Tugas.Status.TODO, Tugas.Status.IN_PROGRESS)
+                .deadlineBetween(today, today.plusDays(Math.max(0, days))).orderBy(Order.DEADLINE);
+    }
+
+    /**
+     * Membatasi status tugas.
+     *
+     * @param s status yang diterima (minimal satu)
+     * @return query ini
+     */
+    public TugasQuery status(Tugas.Status... s) {
+        statuses = s.length == 0 ? null : EnumSet.copyOf(Arrays.asList(s));
+        return this;
+    }
+
+    /**
+     * Membatasi ke satu divisi (nama persis, tanpa membedakan huruf besar/kecil).
+     *
+     * @param nama nama divisi
+     * @return query ini
+     */
+    public TugasQuery divisi(String nama) { divisi = blankToNull(nama); return this; }
+
+    /**
+     * Membatasi ke divisi yang namanya memuat kata kunci.
+     *
+     * @param keyword potongan nama divisi
+     * @return query ini
+     */
+    public TugasQuery divisiContains(String keyword) {
+        keyword = blankToNull(keyword);
+        divisiKeyword = keyword == null ? null : keyword.toLowerCase(Locale.ROOT);
+        return this;
+    }
+
+    /**
+     * Membatasi deadline dalam rentang tanggal (inklusif). Tugas tanpa
+     * deadline tidak ikut bila salah satu batas diisi.
+     *
+     * @param from tanggal awal, atau null jika tanpa batas bawah
+     * @param to tanggal akhir, atau null jika tanpa batas atas
+     * @return query ini
+     */
+    public TugasQuery deadlineBetween(LocalDate from, LocalDate to) { this.from = from; this.to = to; return this; }
+
+    /**
+     * Membatasi ke tugas yang cocok dengan kata kunci (ID, judul, deskripsi),
+     * dengan aturan yang sama seperti {@link DataStorage#searchTugas(String)}.
+     *
+     * @param q kata kunci
+     * @return query ini
+     */
+    public TugasQuery text(String q) { text = blankToNull(q); return this; }
+
+    /**
+     * @param o urutan hasil
+     * @return query ini
+     */
+    public TugasQuery orderBy(Order o) { order = o == null ? Order.DIVISI : o; return this; }
+
+    /**
+     * @param n jumlah hasil yang dilewati dari awal
+     * @return query ini
+     */
+    public TugasQuery offset(int n) { offset = Math.max(0, n); return this; }
+
+    /**
+     * @param n jumlah hasil maksimum
+     * @return query ini
+     */
+    public TugasQuery limit(int n) { limit = Math.max(0, n); return this; }
+
+    Set<Tugas.Status> getStatuses() { return statuses; }
+    String getDivisi() { return divisi; }
+    String getDivisiKeyword() { return divisiKeyword; }
+    String getText() { return text; }
+    LocalDate getFrom() { return from; }
+    LocalDate getTo() { return to; }
+    Order getOrder() { return order; }
+    int getOffset() { return offset; }
+    int getLimit() { return limit; }
+
+    /** @return true jika ada batas deadline */
+    boolean hasDeadlineRange() { return from != null || to != null; }
+
+    /**
+     * @param d divisi
+     * @return true jika divisi memenuhi kriteria divisi
+     */
+    boolean matchesDivisi(Divisi d) {
+        String n = d == null || d.getNama() == null ? "" : d.getNama();
+        if (divisi != null && !n.equalsIgnoreCase(divisi)) return false;
+        return divisiKeyword == null || n.toLowerCase(Locale.ROOT).contains(divisiKeyword);
+    }
+
+    /**
+     * Memeriksa kriteria status, divisi, dan deadline (kata kunci diperiksa
+     * terpisah lewat indeks teks).
+     *
+     * @param t tugas
+     * @return true jika tugas memenuhi kriteria
+     */
+    boolean matches(Tugas t) {
+        if (statuses != null && !statuses.contains(t.getStatus())) return false;
+        if ((divisi != null || divisiKeyword != null) && !matchesDivisi(t.getOwner())) return false;
+        if (hasDeadlineRange()) {
+            LocalDate d = t.getDeadline();
+            if (d == null) return false;
+            if (from != null && d.isBefore(from)) return false;
+            if (to != null && d.isAfter(to)) return false;
+        }
+        return true;
+    }
+
+    /** @return pembanding sesuai {@link #orderBy(Order)} */
+    Comparator<Tugas> comparator() {
+        Comparator<Tugas> byDivisi = Comparator.comparing(TugasQuery::divisiName, String.CASE_INSENSITIVE_ORDER);
+        Comparator<Tugas> tie = byDivisi.thenComparing(TugasQuery::idOf);
+        switch (order) {
+            case JUDUL: return Comparator.comparing((Tugas t) -> t.getJudul() == null ? "" : t.getJudul(), String.CASE_INSENSITIVE_ORDER).thenComparing(tie);
+            case STATUS: return Comparator.comparing(Tugas::getStatus).thenComparing(tie);
+            case DEADLINE: return Comparator.comparing(Tugas::getDeadline, Comparator.nullsLast(Comparator.naturalOrder())).thenComparing(tie);
+            case ID: return Comparator.comparing(TugasQuery::idOf).thenComparing(byDivisi);
+            default: return tie;
+        }
+    }
+
+    private static String divisiName(Tugas t) {
+        Divisi d = t.getOwner();
+        return d == null || d.getNama() == null ? "" : d.getNama();
+    }
+
+    private static String idOf(Tugas t) { return t.getId() == null ? "" : t.getId(); }
+
+    private static String blankToNull(String s) {
+        if (s == null) return null;
+        s = s.trim();
+        return s.isEmpty() ? null : s;
+    }
+}
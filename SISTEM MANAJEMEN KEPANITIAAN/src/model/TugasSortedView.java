@@ -0,0 +1,89 @@
+package model;
+
+import java.util.*;
+
+/**
+ * Daftar tugas yang selalu terurut menurut satu {@link TugasQuery.Order},
+ * disimpan di pohon seimbang ({@link TreeMap}).
+ *
+ * <p>Setiap tugas disimpan dengan kunci urut yang dibentuk saat tugas
+ * dimasukkan (nilai utama, nama divisi, ID), dan kunci itu diingat per tugas.
+ * Dengan begitu tugas tetap bisa dikeluarkan walaupun status atau divisi
+ * pemiliknya sudah berubah, dan perubahan status cukup memindahkan satu
+ * entri (O(log n)) tanpa mengurutkan ulang seluruh tugas.</p>
+ */
+final class TugasSortedView {
+    private final TugasQuery.Order order;
+    private final TreeMap<Key, Tugas> tree = new TreeMap<>();
+    private final Map<Tugas, Key> keyOf = new IdentityHashMap<>();
+    private final Collection<Tugas> readOnly = Collections.unmodifiableCollection(tree.values());
+
+    /**
+     * @param order urutan view (DIVISI, JUDUL, atau STATUS)
+     */
+    TugasSortedView(TugasQuery.Order order) { this.order = order; }
+
+    /**
+     * Memasukkan tugas, atau memindahkannya bila kunci urutnya berubah.
+     *
+     * @param t tugas
+     * @param divisi nama divisi pemilik
+     */
+    void put(Tugas t, String divisi) {
+        Key k = new Key(order == TugasQuery.Order.STATUS ? t.getStatus().ordinal() : 0,
+                order == TugasQuery.Order.JUDUL ? t.getJudul() : null, divisi, t.getId());
+        Key old = keyOf.put(t, k);
+        if (old != null) {
+            if (old.compareTo(k) == 0) return;
+            tree.remove(old);
+        }
+        tree.put(k, t);
+    }
+
+    /**
+     * Memindahkan tugas sesuai nilainya saat ini, dengan nama divisi yang sama.
+     *
+     * @param t tugas yang sudah ada di view
+     */
+    void update(Tugas t) {
+        Key old = keyOf.get(t);
+        if (old != null) put(t, old.divisi);
+    }
+
+    /**
+     * @param t tugas yang dikeluarkan
+     */
+    void remove(Tugas t) {
+        Key old = keyOf.remove(t);
+        if (old != null) tree.remove(old);
+    }
+
+    void clear() {
+        tree.clear();
+        keyOf.clear();
+    }
+
+    /** @return tugas terurut (read-only, mengikuti perubahan) */
+    Collection<Tugas> values() { return readOnly; }
+
+    /** Kunci urut: peringkat, nilai utama, nama divisi, lalu ID (unik). */
+    private static final class Key implements Comparable<Key> {
+        final int rank;
+        final String primary, divisi, id;
+
+        Key(int rank, String primary, String divisi, String id) {
+            this.rank = rank;
+            this.primary = primary == null ? "" : primary;
+            this.divisi = divisi == null ? "" : divisi;
+            this.id = id == null ? "" : id;
+        }
+
+        @Override public int compareTo(Key o) {
+            int c = Integer.compare(rank, o.rank);
+            if (c == 0) c = String.CASE_INSENSITIVE_ORDER.compare(primary, o.primary);
+            if (c == 0) c = String.CASE_INSENSITIVE_ORDER.compare(divisi, o.divisi);
+            if (c == 0) c = id.compareTo(o.id);
+            return c;
+        }
+    }
+}
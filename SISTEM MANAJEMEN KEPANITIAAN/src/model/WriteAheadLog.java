@@ -0,0 +1,164 @@
+package model;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * Write-ahead log (WAL) sederhana untuk {@link DataStorage}.
+ *
+ * <p>Setiap perubahan data ditambahkan sebagai satu baris ke akhir file
+ * <code>data/wal.log</code> dengan format:</p>
+ * <pre>
+ * crc32|record
+ * </pre>
+ *
+ * <p>Checksum dipakai untuk mendeteksi baris terakhir yang terpotong
+ * (misalnya aplikasi berhenti saat menulis). Isi WAL dibaca ulang saat
+ * <code>loadAll()</code> dan dikosongkan setelah checkpoint.</p>
+ *
+ * <p>{@link #flush()} menulis buffer lalu memanggil {@link FileChannel#force(boolean)},
+ * sehingga record yang sudah di-flush benar-benar ada di disk. Pada mode sync
+ * ({@link #setSync(boolean)}) hal yang sama dilakukan di setiap append. Kesalahan
+ * tulis disimpan dan dilaporkan oleh setiap flush berikutnya sampai WAL
+ * dikosongkan lewat {@link #reset()}.</p>
+ *
+ * <p>Semua method synchronized karena WAL dapat di-flush oleh thread
+ * flusher sementara thread CLI menambahkan record.</p>
+ */
+class WriteAheadLog {
+    private final Path file;
+    private FileChannel channel;
+    private BufferedWriter out;
+    private int records;
+    private boolean pending;
+    private boolean sync;
+
+    /** Kesalahan tulis pertama sejak reset terakhir; null jika tidak ada */
+    private IOException error;
+
+    /**
+     * Membuat WAL pada file yang diberikan.
+     *
+     * @param file lokasi file WAL
+     */
+    WriteAheadLog(Path file) { this.file = file; }
+
+    /**
+     * @param sync true agar setiap append langsung ditulis dan di-force ke disk
+     */
+    synchronized void setSync(boolean sync) { this.sync = sync; }
+
+    /**
+     * Menambahkan satu record ke buffer WAL.
+     * Record baru benar-benar tertulis ke disk setelah {@link #flush()},
+     * atau langsung bila mode sync aktif.
+     *
+     * @param record isi record (tanpa newline)
+     */
+    synchronized void append(String record) {
+        try {
+            if (out == null) {
+                channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                out = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8));
+            }
+            out.write(Long.toHexString(crc(record)) + "|" + record);
+            out.newLine();
+            records++;
+            pending = true;
+            if (sync) force();
+        } catch (IOException e) {
+            System.err.println("write wal: " + e.getMessage());
+            if (error == null) error = e;
+        }
+    }
+
+    /**
+     * Menulis isi buffer WAL ke disk dan menunggu sampai tersimpan (fsync).
+     *
+     * @return true jika ada record baru yang ditulis
+     * @throws IOException jika penulisan gagal, sekarang atau sejak reset terakhir
+     */
+    synchronized boolean flush() throws IOException {
+        if (error != null) throw error;
+        if (out == null || !pending) return false;
+        try { force(); }
+        catch (IOException e) { error = e; throw e; }
+        pending = false;
+        return true;
+    }
+
+    private void force() throws IOException {
+        out.flush();
+        channel.force(false);
+    }
+
+    /**
+     * Membaca seluruh record yang valid dari file WAL.
+     * Pembacaan berhenti pada record pertama yang checksum-nya tidak cocok.
+     *
+     * @return list record sesuai urutan penulisan
+     */
+    synchronized List<String> readRecords() {
+        try { flush(); } catch (IOException e) { System.err.println("flush wal: " + e.getMessage()); }
+        List<String> list = new ArrayList<>();
+        if (!Files.exists(file)) return list;
+        try (BufferedReader br = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line=br.readLine())!=null) {
+                int sep = line.indexOf('|');
+                if (sep < 0) break;
+                String record = line.substring(sep+1);
+                if (!line.substring(0, sep).equals(Long.toHexString(crc(record)))) {
+                    System.err.println("wal: record rusak diabaikan mulai baris " + (list.size()+1));
+                    break;
+                }
+                list.add(record);
+            }
+        } catch (IOException e) { System.err.println("read wal: " + e.getMessage()); }
+        records = list.size();
+        return list;
+    }
+
+    /**
+     * Mengosongkan WAL. Dipanggil setelah checkpoint berhasil.
+     */
+    synchronized void reset() {
+        close();
+        try { Files.deleteIfExists(file); } catch (IOException e) { System.err.println("reset wal: " + e.getMessage()); }
+        records = 0;
+        error = null;
+    }
+
+    /**
+     * Menutup writer WAL (buffer ditulis terlebih dahulu).
+     */
+    synchronized void close() {
+        if (out == null) return;
+        try { out.close(); } catch (IOException e) { System.err.println("close wal: " + e.getMessage()); }
+        out = null;
+        channel = null;
+        pending = false;
+    }
+
+    /**
+     * @return jumlah record di WAL sejak checkpoint terakhir
+     */
+    synchronized int size() { return records; }
+
+    /**
+     * Menghitung CRC32 dari isi record.
+     *
+     * @param record isi record
+     * @return nilai CRC32
+     */
+    private static long crc(String record) {
+        CRC32 c = new CRC32();
+        c.update(record.getBytes(StandardCharsets.UTF_8));
+        return c.getValue();
+    }
+}